@@ -0,0 +1,157 @@
+package io.github.devops.exporter;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.devops.exporter.common.CheckExecutor;
+import io.github.devops.exporter.common.DnsCache;
+import io.github.devops.exporter.config.DnsCacheProperties;
+import io.github.devops.exporter.config.HttpMonitorProperties;
+import io.github.devops.exporter.config.PortMonitorProperties;
+import io.github.devops.exporter.http.HttpCheckService;
+import io.github.devops.exporter.http.HttpClientEngine;
+import io.github.devops.exporter.http.HttpInfo;
+import io.github.devops.exporter.http.TracedHttpEngine;
+import io.github.devops.exporter.port.NioConnectEngine;
+import io.github.devops.exporter.port.PortCheckService;
+import io.github.devops.exporter.port.PortInfo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// 在本机回环地址上启动替身服务，衡量一次完整检查（解析、连接、请求、更新状态）的开销
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoopbackCheckBenchmark {
+
+    private ServerSocket tcpServer;
+    private ExecutorService acceptor;
+    private HttpServer httpServer;
+    private CheckExecutor portExecutor;
+    private CheckExecutor httpExecutor;
+    private DnsCache dnsCache;
+    private NioConnectEngine connectEngine;
+    private PortCheckService nioPortCheckService;
+    private PortCheckService blockingPortCheckService;
+    private HttpClientEngine httpClientEngine;
+    private HttpCheckService httpCheckService;
+    private HttpCheckService pooledHttpCheckService;
+    private HttpCheckService tracedHttpCheckService;
+    private String portTarget;
+    private String httpUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+
+        // 端口检查替身：接受连接后立即关闭
+        tcpServer = new ServerSocket(0, 1024, loopback);
+        acceptor = Executors.newSingleThreadExecutor();
+        acceptor.execute(() -> {
+            while (!tcpServer.isClosed()) {
+                try (Socket ignored = tcpServer.accept()) {
+                    // 只需要完成握手
+                } catch (IOException e) {
+                    // 关闭时退出
+                }
+            }
+        });
+        portTarget = loopback.getHostAddress() + ":" + tcpServer.getLocalPort();
+
+        // HTTP 检查替身：固定返回 200
+        byte[] body = "{\"status\":\"UP\"}".getBytes(StandardCharsets.UTF_8);
+        httpServer = HttpServer.create(new InetSocketAddress(loopback, 0), 1024);
+        httpServer.createContext("/health", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        httpServer.setExecutor(Executors.newFixedThreadPool(4));
+        httpServer.start();
+        httpUrl = "http://" + loopback.getHostAddress() + ":" + httpServer.getAddress().getPort() + "/health";
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        dnsCache = new DnsCache(new DnsCacheProperties(), meterRegistry);
+
+        PortMonitorProperties nioProperties = new PortMonitorProperties();
+        portExecutor = new CheckExecutor("port", nioProperties.getExecutor());
+        connectEngine = new NioConnectEngine(nioProperties, portExecutor, meterRegistry);
+        nioPortCheckService = new PortCheckService(nioProperties, connectEngine, portExecutor, dnsCache, meterRegistry);
+
+        PortMonitorProperties blockingProperties = new PortMonitorProperties();
+        blockingProperties.setEngine("blocking");
+        blockingPortCheckService = new PortCheckService(blockingProperties, connectEngine, portExecutor, dnsCache, meterRegistry);
+
+        HttpMonitorProperties httpProperties = new HttpMonitorProperties();
+        httpExecutor = new CheckExecutor("http", httpProperties.getExecutor());
+        httpClientEngine = new HttpClientEngine(httpProperties);
+        TracedHttpEngine tracedEngine = new TracedHttpEngine(httpProperties, dnsCache);
+        httpCheckService = new HttpCheckService(httpProperties, httpExecutor, dnsCache, httpClientEngine, tracedEngine, meterRegistry);
+
+        HttpMonitorProperties pooledProperties = new HttpMonitorProperties();
+        pooledProperties.setEngine("httpclient");
+        pooledHttpCheckService = new HttpCheckService(pooledProperties, httpExecutor, dnsCache, httpClientEngine, tracedEngine, meterRegistry);
+
+        HttpMonitorProperties tracedProperties = new HttpMonitorProperties();
+        tracedProperties.setEngine("traced");
+        tracedHttpCheckService = new HttpCheckService(tracedProperties, httpExecutor, dnsCache, httpClientEngine, tracedEngine, meterRegistry);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        tcpServer.close();
+        acceptor.shutdownNow();
+        httpServer.stop(0);
+        ((ExecutorService) httpServer.getExecutor()).shutdownNow();
+        connectEngine.shutdown();
+        portExecutor.shutdown();
+        httpExecutor.shutdown();
+        httpClientEngine.shutdown();
+        dnsCache.shutdown();
+    }
+
+    @Benchmark
+    public PortInfo portCheckBlocking() {
+        return blockingPortCheckService.checkPort(portTarget);
+    }
+
+    @Benchmark
+    public PortInfo portCheckNio() {
+        return nioPortCheckService.checkPortAsync(portTarget).join();
+    }
+
+    @Benchmark
+    public HttpInfo httpCheck() {
+        return httpCheckService.checkHttp(httpUrl);
+    }
+
+    // 连接池复用的 keep-alive 连接
+    @Benchmark
+    public HttpInfo httpCheckPooled() {
+        return pooledHttpCheckService.checkHttpAsync(httpUrl).join();
+    }
+
+    @Benchmark
+    public HttpInfo httpCheckTraced() {
+        return tracedHttpCheckService.checkHttpAsync(httpUrl).join();
+    }
+}
@@ -0,0 +1,122 @@
+package io.github.devops.exporter;
+
+import io.github.devops.exporter.config.DomainMonitorProperties;
+import io.github.devops.exporter.config.HttpMonitorProperties;
+import io.github.devops.exporter.config.PortMonitorProperties;
+import io.github.devops.exporter.config.SslMonitorProperties;
+import io.github.devops.exporter.domain.DomainInfo;
+import io.github.devops.exporter.domain.DomainMetricsService;
+import io.github.devops.exporter.http.HttpInfo;
+import io.github.devops.exporter.http.HttpMetricsService;
+import io.github.devops.exporter.port.PortInfo;
+import io.github.devops.exporter.port.PortMetricsService;
+import io.github.devops.exporter.ssl.SslCertificateInfo;
+import io.github.devops.exporter.ssl.SslMetricsService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MetricsPipelineBenchmark {
+
+    // 目标总数，按 端口 1/2、HTTP 1/4、SSL 1/8、域名 1/8 分配
+    @Param({"1000", "10000", "100000"})
+    public int targets;
+
+    private PrometheusMeterRegistry registry;
+    private PortMetricsService portMetrics;
+    private List<Meter> gauges;
+    private PortInfo hotPortInfo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        portMetrics = new PortMetricsService(registry, new PortMonitorProperties());
+        HttpMetricsService httpMetrics = new HttpMetricsService(registry, new HttpMonitorProperties());
+        SslMetricsService sslMetrics = new SslMetricsService(registry, new SslMonitorProperties());
+        DomainMetricsService domainMetrics = new DomainMetricsService(registry, new DomainMonitorProperties());
+
+        // 检查耗时为 0 时不会创建 Timer，这里只衡量每个目标的 Gauge 开销
+        for (int i = 0; i < targets / 2; i++) {
+            PortInfo portInfo = new PortInfo(address(i) + ":" + (1 + i % 65535));
+            portInfo.setOpen(i % 3 != 0);
+            portInfo.setStatus(portInfo.isOpen() ? "OPEN" : "CLOSED");
+            portInfo.setResponseTimeMs(i % 100);
+            portMetrics.updatePortMetrics(portInfo);
+            hotPortInfo = portInfo;
+        }
+        for (int i = 0; i < targets / 4; i++) {
+            HttpInfo httpInfo = new HttpInfo("https://svc-" + i + ".example.com/health");
+            httpInfo.setStatusCode(200);
+            httpInfo.setAvailable(true);
+            httpInfo.setStatus("AVAILABLE");
+            httpInfo.setResponseTimeMs(i % 500);
+            httpMetrics.updateHttpMetrics(httpInfo);
+        }
+        for (int i = 0; i < targets / 8; i++) {
+            SslCertificateInfo sslInfo = new SslCertificateInfo("tls-" + i + ".example.com");
+            LocalDateTime sslExpiry = LocalDateTime.now().plusDays(i % 365);
+            sslInfo.setExpirationDate(sslExpiry);
+            sslInfo.setWarningDays(30);
+            sslInfo.setNotAfterEpochSecond(sslExpiry.atZone(ZoneId.systemDefault()).toEpochSecond());
+            sslMetrics.updateSslMetrics(sslInfo);
+
+            DomainInfo domainInfo = new DomainInfo("domain-" + i + ".example.com");
+            LocalDateTime domainExpiry = LocalDateTime.now().plusDays(i % 730);
+            domainInfo.setExpirationDate(domainExpiry);
+            domainInfo.setWarningDays(30);
+            domainInfo.setNotAfterEpochSecond(domainExpiry.atZone(ZoneId.systemDefault()).toEpochSecond());
+            domainMetrics.updateDomainMetrics(domainInfo);
+        }
+
+        gauges = registry.getMeters().stream().filter(meter -> meter instanceof Gauge).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        registry.close();
+    }
+
+    private static String address(int i) {
+        return "10." + ((i >> 16) & 0xFF) + "." + ((i >> 8) & 0xFF) + "." + (i & 0xFF);
+    }
+
+    @Benchmark
+    public String scrape() {
+        return registry.scrape();
+    }
+
+    @Benchmark
+    public double evaluateGauges() {
+        double sum = 0;
+        for (Meter meter : gauges) {
+            sum += ((Gauge) meter).value();
+        }
+        return sum;
+    }
+
+    // 已注册目标的更新路径，每轮检查对每个目标都会调用一次
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void updateRegisteredPortMetrics() {
+        portMetrics.updatePortMetrics(hotPortInfo);
+    }
+}
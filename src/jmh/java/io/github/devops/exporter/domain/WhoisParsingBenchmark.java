@@ -0,0 +1,113 @@
+package io.github.devops.exporter.domain;
+
+import io.github.devops.exporter.common.CheckExecutor;
+import io.github.devops.exporter.common.DnsCache;
+import io.github.devops.exporter.config.DnsCacheProperties;
+import io.github.devops.exporter.config.DomainMonitorProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WhoisParsingBenchmark {
+
+    // verisign 风格：第一个模式就能命中
+    private static final String VERISIGN = """
+        Domain Name: EXAMPLE.COM
+        Registry Domain ID: 2336799_DOMAIN_COM-VRSN
+        Registrar WHOIS Server: whois.iana.org
+        Registrar URL: http://res-dom.iana.org
+        Updated Date: 2024-08-14T07:01:34Z
+        Creation Date: 1995-08-14T04:00:00Z
+        Registry Expiry Date: 2025-08-13T04:00:00Z
+        Registrar: RESERVED-Internet Assigned Numbers Authority
+        Registrar IANA ID: 376
+        Domain Status: clientDeleteProhibited https://icann.org/epp#clientDeleteProhibited
+        Domain Status: clientTransferProhibited https://icann.org/epp#clientTransferProhibited
+        Name Server: A.IANA-SERVERS.NET
+        Name Server: B.IANA-SERVERS.NET
+        DNSSEC: signedDelegation
+        >>> Last update of whois database: 2024-09-01T12:00:00Z <<<
+        """;
+
+    // CNNIC 风格：要依次尝试到最后几个模式
+    private static final String CNNIC = """
+        Domain Name: example.cn
+        ROID: 20030310s10001s00012345-cn
+        Domain Status: ok
+        Registrant: Example Ltd.
+        Sponsoring Registrar: Alibaba Cloud Computing Co., Ltd.
+        Name Server: ns1.example.cn
+        Name Server: ns2.example.cn
+        Registration Time: 2003-03-10 19:04:37
+        Expiration Time: 2026-03-10 19:04:37
+        DNSSEC: unsigned
+        """;
+
+    // 没有过期字段，所有模式都不命中
+    private static final String UNPARSEABLE = """
+        % This query returned 1 object.
+        domain:      example.invalid
+        status:      ACTIVE
+        nserver:     ns1.example.invalid
+        changed:     2024-01-01
+        source:      TEST
+        """.repeat(8);
+
+    @Param({"verisign", "cnnic", "unparseable"})
+    public String format;
+
+    private DomainCheckService service;
+    private DnsCache dnsCache;
+    private CheckExecutor executor;
+    private String whoisData;
+    private String dateString;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DomainMonitorProperties properties = new DomainMonitorProperties();
+        executor = new CheckExecutor("domain", properties.getExecutor());
+        dnsCache = new DnsCache(new DnsCacheProperties(), new SimpleMeterRegistry());
+        service = new DomainCheckService(properties, executor, dnsCache);
+        whoisData = switch (format) {
+            case "cnnic" -> CNNIC;
+            case "unparseable" -> UNPARSEABLE;
+            default -> VERISIGN;
+        };
+        // 不可解析的日期会把所有格式都尝试一遍
+        dateString = switch (format) {
+            case "cnnic" -> "2026-03-10 19:04:37";
+            case "unparseable" -> "10.03.2026";
+            default -> "2025-08-13T04:00:00Z";
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+        dnsCache.shutdown();
+    }
+
+    @Benchmark
+    public LocalDateTime extractExpirationDate() {
+        return service.extractExpirationDate(whoisData);
+    }
+
+    @Benchmark
+    public LocalDateTime parseDate() {
+        return service.parseDate(dateString);
+    }
+}
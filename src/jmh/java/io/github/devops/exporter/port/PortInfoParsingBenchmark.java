@@ -0,0 +1,48 @@
+package io.github.devops.exporter.port;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PortInfoParsingBenchmark {
+
+    @Benchmark
+    public PortInfo parseIpTarget() {
+        return new PortInfo("10.20.30.40:8080");
+    }
+
+    @Benchmark
+    public PortInfo parseHostTarget() {
+        return new PortInfo("api.example.com:443");
+    }
+
+    @Benchmark
+    public PortInfo parseInvalidTarget() {
+        return new PortInfo("api.example.com");
+    }
+
+    @Benchmark
+    public PortTargetSpec parseRangeSpec() {
+        return PortTargetSpec.parse("10.20.0.0/16:22,80,8000-8100");
+    }
+
+    // 展开一个 /24 网段 x 4 个端口，衡量惰性迭代器每个目标的开销
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void expandRange(Blackhole blackhole) {
+        Iterator<String> targets = PortTargetSpec.parse("10.20.30.0/24:22,80,443,8080").iterator();
+        while (targets.hasNext()) {
+            blackhole.consume(targets.next());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.devops.exporter.ssl;
+
+import io.github.devops.exporter.common.CheckExecutor;
+import io.github.devops.exporter.common.DnsCache;
+import io.github.devops.exporter.config.DnsCacheProperties;
+import io.github.devops.exporter.config.SslMonitorProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CertificateProcessingBenchmark {
+
+    private SslCheckService service;
+    private DnsCache dnsCache;
+    private CheckExecutor executor;
+    private CertificateFactory certificateFactory;
+    private byte[] pem;
+    private X509Certificate certificate;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        SslMonitorProperties properties = new SslMonitorProperties();
+        executor = new CheckExecutor("ssl", properties.getExecutor());
+        dnsCache = new DnsCache(new DnsCacheProperties(), new SimpleMeterRegistry());
+        service = new SslCheckService(properties, executor, dnsCache,
+            new TlsProbeEngine(properties, executor, new SimpleMeterRegistry()));
+
+        // 自签名 EC 证书，CN=bench.example.com
+        try (InputStream in = getClass().getResourceAsStream("/bench-cert.pem")) {
+            pem = in.readAllBytes();
+        }
+        certificateFactory = CertificateFactory.getInstance("X.509");
+        certificate = parse();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+        dnsCache.shutdown();
+    }
+
+    @Benchmark
+    public X509Certificate parse() throws Exception {
+        return (X509Certificate) certificateFactory.generateCertificate(new ByteArrayInputStream(pem));
+    }
+
+    @Benchmark
+    public SslCertificateInfo processCertificate() {
+        SslCertificateInfo sslInfo = new SslCertificateInfo("bench.example.com");
+        service.processCertificate(sslInfo, certificate);
+        return sslInfo;
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.devops.exporter;
 
+import io.github.devops.exporter.http.HttpClientEngine;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -9,6 +10,12 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 public class DevopsExporterApplication {
 
     public static void main(String[] args) {
+        // httpclient 引擎的连接池空闲超时默认 20 分钟，应大于检查间隔才能复用连接。该属性对整个 JVM 生效，
+        // 且只在 HttpClient 相关类第一次加载时读取，必须在 Spring 启动前设置；需要其他值时用 -D 指定
+        if (System.getProperty(HttpClientEngine.KEEP_ALIVE_PROPERTY) == null) {
+            System.setProperty(HttpClientEngine.KEEP_ALIVE_PROPERTY,
+                String.valueOf(HttpClientEngine.DEFAULT_KEEP_ALIVE_SECONDS));
+        }
         SpringApplication.run(DevopsExporterApplication.class, args);
     }
 
@@ -0,0 +1,111 @@
+package io.github.devops.exporter.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+public class CheckCycleTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckCycleTracker.class);
+
+    private final String monitor;
+    private final Map<String, CompletableFuture<Void>> targetFlights = new ConcurrentHashMap<>();
+    private final AtomicReference<CompletableFuture<Void>> cycleFlight = new AtomicReference<>();
+    private final Timer cycleDuration;
+    private final Counter skippedCycles;
+    private final Counter skippedTargets;
+    private final Counter overruns;
+
+    public CheckCycleTracker(String monitor, MeterRegistry meterRegistry) {
+        this.monitor = monitor;
+        this.cycleDuration = Timer.builder("check_cycle_duration")
+            .description("Duration of a full check cycle over all configured targets")
+            .tag("monitor", monitor)
+            .serviceLevelObjectives(Duration.ofMillis(100), Duration.ofMillis(500), Duration.ofSeconds(1),
+                Duration.ofSeconds(5), Duration.ofSeconds(10), Duration.ofSeconds(30), Duration.ofSeconds(60),
+                Duration.ofMinutes(5))
+            .register(meterRegistry);
+        this.skippedCycles = skippedCounter(meterRegistry, monitor, "cycle");
+        this.skippedTargets = skippedCounter(meterRegistry, monitor, "target");
+        this.overruns = Counter.builder("check_cycle_overruns")
+            .description("Scheduled checks that were still running when their next run was due")
+            .tag("monitor", monitor)
+            .register(meterRegistry);
+    }
+
+    private static Counter skippedCounter(MeterRegistry meterRegistry, String monitor, String scope) {
+        return Counter.builder("check_cycle_skipped")
+            .description("Check triggers that joined an in-flight check instead of starting a new one")
+            .tag("monitor", monitor)
+            .tag("scope", scope)
+            .register(meterRegistry);
+    }
+
+    // 同一目标同一时间只有一个检查在途，重复触发直接复用在途的 future
+    public CompletableFuture<Void> runTarget(String target, boolean scheduled, Supplier<CompletableFuture<Void>> check) {
+        CompletableFuture<Void> promise = new CompletableFuture<>();
+        CompletableFuture<Void> existing = targetFlights.putIfAbsent(target, promise);
+        if (existing != null) {
+            skippedTargets.increment();
+            if (scheduled) {
+                // 到了下一次调度时间上一次检查还没结束，说明检查耗时超过了间隔
+                overruns.increment();
+                logger.warn("Previous {} check for {} is still running, skipping this run", monitor, target);
+            }
+            return existing;
+        }
+
+        start(check, promise, () -> targetFlights.remove(target, promise));
+        return promise;
+    }
+
+    // 全量检查周期同样只允许一个在途，手动触发会加入正在进行的周期
+    public CompletableFuture<Void> runCycle(Supplier<CompletableFuture<Void>> cycle) {
+        CompletableFuture<Void> promise = new CompletableFuture<>();
+        if (!cycleFlight.compareAndSet(null, promise)) {
+            CompletableFuture<Void> existing = cycleFlight.get();
+            if (existing != null) {
+                skippedCycles.increment();
+                logger.info("A {} check cycle is already running, joining it", monitor);
+                return existing;
+            }
+            return runCycle(cycle);
+        }
+
+        long startNanos = System.nanoTime();
+        start(cycle, promise, () -> {
+            cycleDuration.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            cycleFlight.compareAndSet(promise, null);
+        });
+        return promise;
+    }
+
+    private static void start(Supplier<CompletableFuture<Void>> work, CompletableFuture<Void> promise, Runnable release) {
+        CompletableFuture<Void> future;
+        try {
+            future = work.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        // 先释放占位再完成 promise，回调里再次触发时可以正常开始新的检查
+        future.whenComplete((result, throwable) -> {
+            release.run();
+            if (throwable != null) {
+                promise.completeExceptionally(throwable);
+            } else {
+                promise.complete(result);
+            }
+        });
+    }
+}
@@ -0,0 +1,186 @@
+package io.github.devops.exporter.common;
+
+import io.github.devops.exporter.config.ExecutorProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+public class CheckExecutor implements Executor {
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckExecutor.class);
+
+    private final String name;
+    private final int maxConcurrency;
+    private final int queueCapacity;
+    private final ExecutorService delegate;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public CheckExecutor(String name, ExecutorProperties properties) {
+        this.name = name;
+        this.maxConcurrency = Math.max(1, properties.getMaxConcurrency());
+        this.queueCapacity = Math.max(1, properties.getQueueCapacity());
+        this.delegate = createDelegate(name, properties.isVirtualThreads());
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (delegate.isShutdown()) {
+            throw new RejectedExecutionException(name + " executor is shut down");
+        }
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            rejected.incrementAndGet();
+            throw new RejectedExecutionException(name + " check queue is full (" + queueCapacity + ")");
+        }
+        queue.add(task);
+        drain();
+    }
+
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        // 队列已满时返回失败的 future，而不是把异常抛给调用方
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            execute(new CheckTask(future, () -> {
+                try {
+                    future.complete(supplier.get());
+                } catch (Throwable throwable) {
+                    future.completeExceptionally(throwable);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private void drain() {
+        // 并发上限由 inFlight 控制，底层线程池本身不限量（虚拟线程模式下每个任务一个线程）
+        while (true) {
+            int current = inFlight.get();
+            if (current >= maxConcurrency || queue.isEmpty()) {
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+
+            Runnable task = queue.poll();
+            if (task == null) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            queued.decrementAndGet();
+
+            try {
+                delegate.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        inFlight.decrementAndGet();
+                        drain();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                inFlight.decrementAndGet();
+                reject(task, e);
+            }
+        }
+    }
+
+    private void reject(Runnable task, RejectedExecutionException e) {
+        rejected.incrementAndGet();
+        logger.warn("{} executor rejected a check task: {}", name, e.getMessage());
+        // 已经排队的检查被拒绝时让它的 future 失败，否则等待它的调用方（如单飞的在途检查）永远不会结束
+        if (task instanceof CheckTask checkTask) {
+            checkTask.future.completeExceptionally(e);
+        }
+    }
+
+    public void shutdown() {
+        delegate.shutdown();
+        // 还在排队的检查不会再执行
+        RejectedExecutionException e = new RejectedExecutionException(name + " executor is shut down");
+        Runnable task;
+        while ((task = queue.poll()) != null) {
+            queued.decrementAndGet();
+            reject(task, e);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    private static ExecutorService createDelegate(String name, boolean virtualThreads) {
+        if (virtualThreads) {
+            // 虚拟线程需要 Java 21+，项目仍以 Java 17 编译，因此通过反射创建
+            try {
+                Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                logger.info("{} checks run on virtual threads", name);
+                return (ExecutorService) factory.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                logger.warn("Virtual threads are not available on Java {}, {} checks fall back to platform threads",
+                    Runtime.version().feature(), name);
+            }
+        }
+        return Executors.newCachedThreadPool(new NamedThreadFactory(name + "-check-"));
+    }
+
+    private static final class CheckTask implements Runnable {
+        private final CompletableFuture<?> future;
+        private final Runnable body;
+
+        private CheckTask(CompletableFuture<?> future, Runnable body) {
+            this.future = future;
+            this.body = body;
+        }
+
+        @Override
+        public void run() {
+            body.run();
+        }
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        private NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package io.github.devops.exporter.common;
+
+import io.github.devops.exporter.config.DnsCacheProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class DnsCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DnsCache.class);
+
+    private final DnsCacheProperties properties;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Entry>> loading = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService refresher;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final Timer successTimer;
+    private final Timer failureTimer;
+
+    public DnsCache(DnsCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dns-cache-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // 按 TTL 的十分之一扫描需要提前刷新的热点条目，限制在 1~30 秒
+        long scanMillis = Math.min(30000, Math.max(1000, properties.getTtl().toMillis() / 10));
+        if (properties.isEnabled()) {
+            refresher.scheduleWithFixedDelay(this::refreshPopularEntries, scanMillis, scanMillis, TimeUnit.MILLISECONDS);
+        }
+
+        this.successTimer = resolveTimer(meterRegistry, "success");
+        this.failureTimer = resolveTimer(meterRegistry, "failure");
+        registerCounter(meterRegistry, "hit", hits);
+        registerCounter(meterRegistry, "negative_hit", negativeHits);
+        registerCounter(meterRegistry, "miss", misses);
+
+        FunctionCounter.builder("dns_cache_refreshes", refreshes, AtomicLong::get)
+            .description("Number of background refreshes of popular DNS cache entries")
+            .register(meterRegistry);
+
+        Gauge.builder("dns_cache_entries", entries, Map::size)
+            .description("Number of hostnames held in the DNS cache (including negative entries)")
+            .register(meterRegistry);
+    }
+
+    private static Timer resolveTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("dns_resolve_duration")
+            .description("Latency of DNS lookups that missed the cache")
+            .tag("outcome", outcome)
+            .serviceLevelObjectives(Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(10),
+                Duration.ofMillis(25), Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250),
+                Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(5))
+            .register(meterRegistry);
+    }
+
+    private static void registerCounter(MeterRegistry meterRegistry, String result, AtomicLong counter) {
+        FunctionCounter.builder("dns_cache_requests", counter, AtomicLong::get)
+            .description("DNS cache lookups by result")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    public InetAddress resolve(String host) throws UnknownHostException {
+        return resolveAll(host)[0];
+    }
+
+    public InetAddress[] resolveAll(String host) throws UnknownHostException {
+        // IP 字面量不需要查询 DNS，也不进入缓存（网段扫描会产生大量 IP）
+        if (!properties.isEnabled() || isIpLiteral(host)) {
+            return InetAddress.getAllByName(host);
+        }
+
+        String key = host.toLowerCase(Locale.ROOT);
+        Entry entry = entries.get(key);
+        long now = System.nanoTime();
+        if (entry != null && entry.expiresAtNanos - now > 0) {
+            entry.hits.incrementAndGet();
+            if (entry.error != null) {
+                negativeHits.incrementAndGet();
+                throw new UnknownHostException(entry.error);
+            }
+            hits.incrementAndGet();
+            return entry.addresses;
+        }
+
+        misses.incrementAndGet();
+        Entry loaded = load(key);
+        if (loaded.error != null) {
+            throw new UnknownHostException(loaded.error);
+        }
+        return loaded.addresses;
+    }
+
+    private Entry load(String host) throws UnknownHostException {
+        // 同一主机名的并发未命中只发起一次查询
+        CompletableFuture<Entry> pending = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = loading.putIfAbsent(host, pending);
+        if (existing != null) {
+            try {
+                return existing.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UnknownHostException("Interrupted while resolving " + host);
+            } catch (ExecutionException e) {
+                throw new UnknownHostException(host + ": " + e.getCause().getMessage());
+            }
+        }
+
+        try {
+            Entry entry = lookup(host);
+            store(host, entry);
+            pending.complete(entry);
+            return entry;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(host, pending);
+        }
+    }
+
+    private Entry lookup(String host) {
+        long start = System.nanoTime();
+        try {
+            InetAddress[] addresses = InetAddress.getAllByName(host);
+            successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return new Entry(addresses, null, properties.getTtl().toNanos(), properties.getRefreshAhead());
+        } catch (UnknownHostException e) {
+            // NXDOMAIN 等解析失败也缓存，使用较短的负缓存 TTL
+            failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            String message = e.getMessage() != null ? e.getMessage() : host;
+            return new Entry(null, message, properties.getNegativeTtl().toNanos(), 0);
+        }
+    }
+
+    private void store(String host, Entry entry) {
+        if (entries.size() >= properties.getMaxEntries() && !entries.containsKey(host)) {
+            evict();
+        }
+        entries.put(host, entry);
+    }
+
+    private void evict() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.expiresAtNanos - now <= 0);
+
+        // 仍然超过上限时随机淘汰一个条目
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() >= properties.getMaxEntries() && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private void refreshPopularEntries() {
+        long now = System.nanoTime();
+        try {
+            for (Map.Entry<String, Entry> cached : entries.entrySet()) {
+                Entry entry = cached.getValue();
+                if (entry.expiresAtNanos - now <= 0) {
+                    entries.remove(cached.getKey(), entry);
+                    continue;
+                }
+                if (entry.error == null
+                    && entry.refreshAtNanos - now <= 0
+                    && entry.hits.get() >= properties.getPrefetchMinHits()
+                    && entry.refreshing.compareAndSet(false, true)) {
+                    refresh(cached.getKey(), entry);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Error refreshing DNS cache: {}", e.getMessage());
+        }
+    }
+
+    private void refresh(String host, Entry current) {
+        boolean refreshed = false;
+        try {
+            Entry entry = lookup(host);
+            if (entry.error != null) {
+                // 刷新失败时保留旧结果直到过期，避免短暂故障清空缓存
+                logger.debug("Background refresh for {} failed: {}", host, entry.error);
+                return;
+            }
+            refreshes.incrementAndGet();
+            entries.put(host, entry);
+            refreshed = true;
+        } finally {
+            if (!refreshed) {
+                // 旧结果仍在缓存中，清除标记后下一轮刷新会重试
+                current.refreshing.set(false);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    static boolean isIpLiteral(String host) {
+        if (host.isEmpty()) {
+            return false;
+        }
+        if (host.indexOf(':') >= 0 || host.charAt(0) == '[') {
+            return true;
+        }
+        int dots = 0;
+        for (int i = 0; i < host.length(); i++) {
+            char c = host.charAt(i);
+            if (c == '.') {
+                dots++;
+            } else if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return dots == 3;
+    }
+
+    private static final class Entry {
+        private final InetAddress[] addresses;
+        private final String error;
+        private final long expiresAtNanos;
+        private final long refreshAtNanos;
+        private final AtomicInteger hits = new AtomicInteger();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(InetAddress[] addresses, String error, long ttlNanos, double refreshAhead) {
+            long now = System.nanoTime();
+            this.addresses = addresses;
+            this.error = error;
+            this.expiresAtNanos = now + ttlNanos;
+            this.refreshAtNanos = now + (long) (ttlNanos * (1 - refreshAhead));
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package io.github.devops.exporter.common;
+
+import io.github.devops.exporter.config.HostLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class HostThrottle {
+
+    // 令牌不足时的唤醒在这个线程上触发；放行只是完成 future，检查本身仍提交到各自的线程池
+    private static final ScheduledExecutorService WAKEUPS = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "host-throttle-wakeup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Limiter hostLimiter;
+    private final Limiter ipLimiter;
+    private final DnsCache dnsCache;
+    private final CheckExecutor checkExecutor;
+
+    public HostThrottle(String monitor, HostLimitProperties hostLimit, HostLimitProperties ipLimit,
+                        DnsCache dnsCache, CheckExecutor checkExecutor, MeterRegistry meterRegistry) {
+        this.hostLimiter = hostLimit.isEnabled() ? new Limiter(monitor, "host", hostLimit, meterRegistry) : null;
+        this.ipLimiter = ipLimit.isEnabled() ? new Limiter(monitor, "ip", ipLimit, meterRegistry) : null;
+        this.dnsCache = dnsCache;
+        this.checkExecutor = checkExecutor;
+    }
+
+    // 先按主机名、再按解析出的 IP 取得许可后才开始检查；等待期间不占用线程，检查结束后释放许可
+    public <T> CompletableFuture<T> run(String host, Supplier<CompletableFuture<T>> check) {
+        // URI.getHost() 对带下划线等非法主机名返回 null，这类检查不限流，由检查本身报错
+        if (host == null || (hostLimiter == null && ipLimiter == null)) {
+            return check.get();
+        }
+        if (hostLimiter == null) {
+            return runPerIp(host, check);
+        }
+        return hostLimiter.run(host, () -> runPerIp(host, check));
+    }
+
+    private <T> CompletableFuture<T> runPerIp(String host, Supplier<CompletableFuture<T>> check) {
+        if (ipLimiter == null) {
+            return check.get();
+        }
+        // 多个域名可能指向同一个 IP（CDN、虚拟主机），解析失败时不限流，由检查本身报错
+        return checkExecutor.supplyAsync(() -> resolve(host))
+            .thenCompose(ip -> ip == null ? check.get() : ipLimiter.run(ip, check));
+    }
+
+    private String resolve(String host) {
+        try {
+            InetAddress address = dnsCache.resolve(host);
+            return address.getHostAddress();
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    static final class Limiter {
+
+        static final int PURGE_THRESHOLD = 4096;
+
+        private final int maxConcurrency;
+        private final double ratePerNano;
+        private final double burst;
+        private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final Timer waitTimer;
+        private final Counter concurrencyThrottled;
+        private final Counter rateThrottled;
+        private volatile int purgeAt = PURGE_THRESHOLD;
+
+        Limiter(String monitor, String scope, HostLimitProperties properties, MeterRegistry meterRegistry) {
+            this.maxConcurrency = properties.getMaxConcurrency();
+            this.ratePerNano = properties.getRate() / TimeUnit.SECONDS.toNanos(1);
+            this.burst = Math.max(1, properties.getBurst());
+            this.waitTimer = Timer.builder("check_throttle_wait")
+                .description("Time checks waited for a per-host or per-IP permit")
+                .tag("monitor", monitor)
+                .tag("scope", scope)
+                .serviceLevelObjectives(Duration.ofMillis(10), Duration.ofMillis(100), Duration.ofMillis(500),
+                    Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(10), Duration.ofSeconds(30))
+                .register(meterRegistry);
+            this.concurrencyThrottled = throttledCounter(meterRegistry, monitor, scope, "concurrency");
+            this.rateThrottled = throttledCounter(meterRegistry, monitor, scope, "rate");
+            Gauge.builder("check_throttle_waiting", waiting, AtomicInteger::get)
+                .description("Checks currently waiting for a per-host or per-IP permit")
+                .tag("monitor", monitor)
+                .tag("scope", scope)
+                .register(meterRegistry);
+        }
+
+        private static Counter throttledCounter(MeterRegistry meterRegistry, String monitor, String scope, String reason) {
+            return Counter.builder("check_throttled")
+                .description("Checks delayed by a per-host or per-IP limit")
+                .tag("monitor", monitor)
+                .tag("scope", scope)
+                .tag("reason", reason)
+                .register(meterRegistry);
+        }
+
+        <T> CompletableFuture<T> run(String key, Supplier<CompletableFuture<T>> check) {
+            return acquire(key).thenCompose(bucket -> {
+                CompletableFuture<T> future;
+                try {
+                    future = check.get();
+                } catch (RuntimeException e) {
+                    future = CompletableFuture.failedFuture(e);
+                }
+                return future.whenComplete((result, throwable) -> release(bucket));
+            });
+        }
+
+        CompletableFuture<Bucket> acquire(String key) {
+            // 不管是否需要排队都检查：没有争用时桶也会不断增加（网段扫描），同样需要清理
+            if (buckets.size() > purgeAt) {
+                purgeIdle();
+            }
+            while (true) {
+                Bucket bucket = buckets.computeIfAbsent(key, Bucket::new);
+                Waiter waiter;
+                synchronized (bucket) {
+                    if (bucket.retired) {
+                        continue; // 刚被清理掉，重新取一个
+                    }
+                    long now = System.nanoTime();
+                    bucket.refill(now);
+                    boolean concurrencyFull = maxConcurrency > 0 && bucket.inFlight >= maxConcurrency;
+                    boolean rateEmpty = ratePerNano > 0 && bucket.tokens < 1;
+                    if (bucket.waiters.isEmpty() && !concurrencyFull && !rateEmpty) {
+                        bucket.take();
+                        return CompletableFuture.completedFuture(bucket);
+                    }
+
+                    // 需要排队：FIFO，令牌不足时在令牌补满的时间点唤醒
+                    (concurrencyFull ? concurrencyThrottled : rateThrottled).increment();
+                    waiter = new Waiter(now);
+                    bucket.waiters.add(waiter);
+                    waiting.incrementAndGet();
+                }
+                dispatch(bucket);
+                return waiter.future;
+            }
+        }
+
+        void release(Bucket bucket) {
+            synchronized (bucket) {
+                bucket.inFlight--;
+            }
+            dispatch(bucket);
+        }
+
+        private void dispatch(Bucket bucket) {
+            // 同一个桶同一时间只有一个线程在放行：完成 waiter 会在当前线程上提交下一个检查，检查立即结束（例如线程池
+            // 拒绝后返回失败的 future）时又会 release -> dispatch；这里只标记重新检查，由外层循环处理，不会随排队数递归
+            synchronized (bucket) {
+                if (bucket.dispatching) {
+                    bucket.redispatch = true;
+                    return;
+                }
+                bucket.dispatching = true;
+            }
+            while (true) {
+                List<Waiter> ready = new ArrayList<>();
+                synchronized (bucket) {
+                    bucket.redispatch = false;
+                    long now = System.nanoTime();
+                    bucket.refill(now);
+                    while (!bucket.waiters.isEmpty()) {
+                        if (maxConcurrency > 0 && bucket.inFlight >= maxConcurrency) {
+                            break; // 等正在进行的检查释放
+                        }
+                        if (ratePerNano > 0 && bucket.tokens < 1) {
+                            scheduleWakeup(bucket, (long) Math.ceil((1 - bucket.tokens) / ratePerNano));
+                            break;
+                        }
+                        bucket.take();
+                        ready.add(bucket.waiters.poll());
+                    }
+                    if (ready.isEmpty()) {
+                        bucket.dispatching = false;
+                        return;
+                    }
+                }
+
+                // 在锁外完成 future，后续检查的提交不会持有桶的锁
+                long now = System.nanoTime();
+                for (Waiter waiter : ready) {
+                    waiting.decrementAndGet();
+                    waitTimer.record(now - waiter.enqueuedNanos, TimeUnit.NANOSECONDS);
+                    waiter.future.complete(bucket);
+                }
+                synchronized (bucket) {
+                    if (!bucket.redispatch) {
+                        bucket.dispatching = false;
+                        return;
+                    }
+                }
+            }
+        }
+
+        private void scheduleWakeup(Bucket bucket, long delayNanos) {
+            // 调用方持有桶的锁；每个桶同一时间只挂一个唤醒，由专用的定时线程触发，不占用检查线程池和公共线程池
+            if (bucket.wakeupScheduled) {
+                return;
+            }
+            bucket.wakeupScheduled = true;
+            WAKEUPS.schedule(() -> {
+                synchronized (bucket) {
+                    bucket.wakeupScheduled = false;
+                }
+                dispatch(bucket);
+            }, Math.max(1, delayNanos), TimeUnit.NANOSECONDS);
+        }
+
+        private void purgeIdle() {
+            // 网段扫描会产生大量 IP，空闲且令牌已补满的桶可以安全删除
+            long now = System.nanoTime();
+            for (Bucket bucket : buckets.values()) {
+                synchronized (bucket) {
+                    bucket.refill(now);
+                    if (bucket.inFlight == 0 && bucket.waiters.isEmpty() && bucket.tokens >= burst) {
+                        bucket.retired = true;
+                        buckets.remove(bucket.key, bucket);
+                    }
+                }
+            }
+            purgeAt = Math.max(PURGE_THRESHOLD, buckets.size() * 2);
+        }
+
+        int bucketCount() {
+            return buckets.size();
+        }
+
+        final class Bucket {
+            private final String key;
+            private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+            private int inFlight;
+            private double tokens = burst;
+            private long refilledAt = System.nanoTime();
+            private boolean wakeupScheduled;
+            private boolean dispatching;
+            private boolean redispatch;
+            private boolean retired;
+
+            private Bucket(String key) {
+                this.key = key;
+            }
+
+            private void refill(long now) {
+                if (ratePerNano > 0) {
+                    tokens = Math.min(burst, tokens + (now - refilledAt) * ratePerNano);
+                }
+                refilledAt = now;
+            }
+
+            private void take() {
+                inFlight++;
+                if (ratePerNano > 0) {
+                    tokens -= 1;
+                }
+            }
+        }
+    }
+
+    private static final class Waiter {
+        private final long enqueuedNanos;
+        private final CompletableFuture<Limiter.Bucket> future = new CompletableFuture<>();
+
+        private Waiter(long enqueuedNanos) {
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package io.github.devops.exporter.common;
+
+import io.github.devops.exporter.config.LatencyProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+public class LatencyRecorder {
+
+    private final MeterRegistry meterRegistry;
+    private final String name;
+    private final String description;
+    private final LatencyProperties latency;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, List<Meter>> quantiles = new ConcurrentHashMap<>();
+
+    public LatencyRecorder(MeterRegistry meterRegistry, String name, String description, LatencyProperties latency) {
+        this.meterRegistry = meterRegistry;
+        this.name = name;
+        this.description = description;
+        this.latency = latency;
+    }
+
+    public void record(String key, Function<String, Tags> tagsFactory, long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+
+        // Timer 按 key 缓存，热路径上只有一次 map 查找和一次 record
+        Timer timer = timers.get(key);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(key, k -> register(k, tagsFactory.apply(k)));
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // 目标不再存在时移除它的 Timer 和分位数
+    public void remove(String key) {
+        Timer timer = timers.remove(key);
+        if (timer != null) {
+            meterRegistry.remove(timer);
+        }
+        List<Meter> meters = quantiles.remove(key);
+        if (meters != null) {
+            meters.forEach(meterRegistry::remove);
+        }
+    }
+
+    private Timer register(String key, Tags tags) {
+        double[] percentiles = latency.percentileArray();
+        Timer timer = Timer.builder(name)
+            .description(description)
+            .tags(tags)
+            .serviceLevelObjectives(latency.sloBucketArray())
+            .publishPercentiles(percentiles)
+            .register(meterRegistry);
+
+        // Prometheus 的直方图格式不输出客户端分位数，配置了 SLO 桶时单独导出分位数
+        if (percentiles.length > 0 && latency.sloBucketArray().length > 0) {
+            List<Meter> meters = new ArrayList<>();
+            for (double percentile : percentiles) {
+                meters.add(Gauge.builder(name + "_quantile", timer, t -> percentileSeconds(t, percentile))
+                    .description(description + " (client-side percentile)")
+                    .tags(tags)
+                    .tag("quantile", String.valueOf(percentile))
+                    .baseUnit("seconds")
+                    .register(meterRegistry));
+            }
+            quantiles.put(key, meters);
+        }
+        return timer;
+    }
+
+    private static double percentileSeconds(Timer timer, double percentile) {
+        for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.SECONDS);
+            }
+        }
+        return Double.NaN;
+    }
+}
@@ -0,0 +1,313 @@
+package io.github.devops.exporter.common;
+
+import io.github.devops.exporter.config.SchedulerProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+@Component
+public class TimingWheelScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimingWheelScheduler.class);
+
+    // 三层时间轮：默认 100ms x 512 槽，覆盖约 51 秒 / 7 小时 / 155 天
+    private static final int LEVELS = 3;
+
+    private final SchedulerProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final long tickNanos;
+    private final int wheelSize;
+    private final long[] levelTicks = new long[LEVELS];
+    private final List<List<ScheduledCheck>>[] wheels;
+    private final Queue<ScheduledCheck> pending = new ConcurrentLinkedQueue<>();
+    private final Map<String, Timer> lagTimers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> scheduledCounts = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    private final LongSupplier wallClock;
+    private final long startNanos;
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long currentTick = 0;
+
+    @Autowired
+    public TimingWheelScheduler(SchedulerProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime, System::currentTimeMillis, true);
+    }
+
+    // 测试用假时钟构造，不启动工作线程，由测试逐个调用 tick
+    @SuppressWarnings("unchecked")
+    TimingWheelScheduler(SchedulerProperties properties, MeterRegistry meterRegistry,
+                         LongSupplier nanoClock, LongSupplier wallClock, boolean startWorker) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        this.wallClock = wallClock;
+        this.startNanos = nanoClock.getAsLong();
+        this.tickNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), properties.getTickDuration().toNanos());
+        this.wheelSize = Math.max(16, properties.getWheelSize());
+
+        this.wheels = new List[LEVELS];
+        long ticks = 1;
+        for (int level = 0; level < LEVELS; level++) {
+            levelTicks[level] = ticks;
+            ticks *= wheelSize;
+            wheels[level] = new ArrayList<>(wheelSize);
+            for (int slot = 0; slot < wheelSize; slot++) {
+                wheels[level].add(new ArrayList<>());
+            }
+        }
+
+        this.worker = startWorker ? new Thread(this::run, "check-scheduler") : null;
+        if (worker != null) {
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    // 按目标周期调度：相位由 key 的哈希决定并对齐到墙钟，重启后每个目标仍落在同一相位
+    public ScheduledCheck schedule(String monitor, String key, Duration interval, Runnable action) {
+        long intervalMillis = Math.max(1000, interval.toMillis());
+        long phaseMillis = phase(key, intervalMillis);
+        long nowMillis = wallClock.getAsLong();
+        long nowNanos = nanoClock.getAsLong();
+
+        // 首轮检查按相位等比例压缩到启动窗口内，避免服务启动后长时间没有数据
+        long spreadMillis = Math.min(intervalMillis, properties.getInitialSpread().toMillis());
+        long firstDelayMillis = spreadMillis > 0 ? phaseMillis * spreadMillis / intervalMillis : 0;
+
+        ScheduledCheck check = new ScheduledCheck(monitor, key, intervalMillis, phaseMillis, action);
+        check.deadlineNanos = nowNanos + TimeUnit.MILLISECONDS.toNanos(firstDelayMillis);
+        check.deadlineWallMillis = nowMillis + firstDelayMillis;
+        check.firstRun = true;
+
+        scheduledCounts.computeIfAbsent(monitor, this::registerScheduledGauge).incrementAndGet();
+        pending.add(check);
+        return check;
+    }
+
+    static long phase(String key, long intervalMillis) {
+        // 乘以黄金分割常数打散 hashCode，使相近的目标名也分布均匀
+        long hash = key.hashCode() * 0x9E3779B97F4A7C15L;
+        return Math.floorMod(hash ^ (hash >>> 32), intervalMillis);
+    }
+
+    private void run() {
+        long nextTickNanos = startNanos + tickNanos;
+        while (running) {
+            long waitNanos = nextTickNanos - nanoClock.getAsLong();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(this, waitNanos);
+                continue;
+            }
+
+            // 线程被拖慢时逐个补齐落下的刻度，不会丢失任务
+            try {
+                tick();
+            } catch (RuntimeException e) {
+                logger.error("Error advancing check scheduler: {}", e.getMessage(), e);
+            }
+            nextTickNanos += tickNanos;
+        }
+    }
+
+    // 推进一个刻度：新任务入轮、高层时间轮降级、执行当前槽中到期的任务
+    void tick() {
+        currentTick++;
+        transferPending();
+        cascade();
+        expire(wheels[0].get((int) (currentTick % wheelSize)));
+    }
+
+    private void transferPending() {
+        ScheduledCheck check;
+        while ((check = pending.poll()) != null) {
+            if (!check.cancelled) {
+                place(check, false);
+            }
+        }
+    }
+
+    private void cascade() {
+        // 高层时间轮转到新的槽时，把该槽中的任务重新放入更低层
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if (currentTick % levelTicks[level] != 0) {
+                continue;
+            }
+            int slot = (int) ((currentTick / levelTicks[level]) % wheelSize);
+            List<ScheduledCheck> bucket = wheels[level].get(slot);
+            if (bucket.isEmpty()) {
+                continue;
+            }
+            List<ScheduledCheck> moved = new ArrayList<>(bucket);
+            bucket.clear();
+            for (ScheduledCheck check : moved) {
+                if (!check.cancelled) {
+                    place(check, false);
+                }
+            }
+        }
+    }
+
+    // currentSlotDone 表示当前刻度的槽已经处理过：新任务入轮和降级发生在处理当前槽之前，当前刻度到期的任务仍放进当前槽
+    private void place(ScheduledCheck check, boolean currentSlotDone) {
+        long deadlineTick = Math.max(currentTick, deadlineTick(check.deadlineNanos));
+        long delta = deadlineTick - currentTick;
+
+        for (int level = 0; level < LEVELS; level++) {
+            long span = levelTicks[level] * wheelSize;
+            if (delta < span || level == LEVELS - 1) {
+                // 超出最高层范围的任务先放在最远的槽里，转到时再重新计算
+                long target = level == LEVELS - 1 ? Math.min(deadlineTick, currentTick + span - levelTicks[level]) : deadlineTick;
+                if (level == 0 && currentSlotDone && target <= currentTick) {
+                    // 当前刻度已经处理过，放到下一个刻度
+                    target = currentTick + 1;
+                }
+                int slot = (int) ((target / levelTicks[level]) % wheelSize);
+                wheels[level].get(slot).add(check);
+                return;
+            }
+        }
+    }
+
+    private long deadlineTick(long deadlineNanos) {
+        long elapsed = deadlineNanos - startNanos;
+        return elapsed <= 0 ? 0 : (elapsed + tickNanos - 1) / tickNanos;
+    }
+
+    private void expire(List<ScheduledCheck> bucket) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+
+        List<ScheduledCheck> due = new ArrayList<>(bucket);
+        bucket.clear();
+        long nowNanos = nanoClock.getAsLong();
+        for (ScheduledCheck check : due) {
+            if (check.cancelled) {
+                continue;
+            }
+            if (deadlineTick(check.deadlineNanos) > currentTick) {
+                place(check, true);
+                continue;
+            }
+
+            lagTimer(check.monitor).record(Math.max(0, nowNanos - check.deadlineNanos), TimeUnit.NANOSECONDS);
+            fire(check);
+            advance(check);
+            place(check, true);
+        }
+    }
+
+    private void fire(ScheduledCheck check) {
+        // 回调只负责把检查提交到各自的执行器，不能阻塞时间轮线程
+        try {
+            check.action.run();
+        } catch (RuntimeException e) {
+            logger.error("Error dispatching scheduled {} check for {}: {}", check.monitor, check.key, e.getMessage());
+        }
+    }
+
+    private void advance(ScheduledCheck check) {
+        long intervalMillis = check.intervalMillis;
+        long nextWallMillis = alignedAfter(check.deadlineWallMillis, intervalMillis, check.phaseMillis);
+
+        if (check.firstRun) {
+            // 首轮之后回到对齐的相位，离首轮太近时跳过一个对齐点
+            if (nextWallMillis - check.deadlineWallMillis < intervalMillis / 2) {
+                nextWallMillis += intervalMillis;
+            }
+            check.firstRun = false;
+        }
+
+        check.deadlineNanos += TimeUnit.MILLISECONDS.toNanos(nextWallMillis - check.deadlineWallMillis);
+        check.deadlineWallMillis = nextWallMillis;
+    }
+
+    private static long alignedAfter(long wallMillis, long intervalMillis, long phaseMillis) {
+        long base = wallMillis - Math.floorMod(wallMillis - phaseMillis, intervalMillis);
+        return base + intervalMillis;
+    }
+
+    private Timer lagTimer(String monitor) {
+        return lagTimers.computeIfAbsent(monitor, m -> Timer.builder("check_scheduler_lag")
+            .description("Delay between a check's scheduled time and when it was dispatched")
+            .tag("monitor", m)
+            .serviceLevelObjectives(Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofMillis(100),
+                Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(5))
+            .register(meterRegistry));
+    }
+
+    private AtomicInteger registerScheduledGauge(String monitor) {
+        AtomicInteger count = new AtomicInteger();
+        Gauge.builder("check_scheduler_targets", count, AtomicInteger::get)
+            .description("Number of targets registered with the check scheduler")
+            .tag("monitor", monitor)
+            .register(meterRegistry);
+        return count;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (worker != null) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    public final class ScheduledCheck {
+        private final String monitor;
+        private final String key;
+        private final long intervalMillis;
+        private final long phaseMillis;
+        private final Runnable action;
+        private volatile boolean cancelled;
+        // 以下字段只在时间轮线程内读写
+        private long deadlineNanos;
+        private long deadlineWallMillis;
+        private boolean firstRun;
+
+        private ScheduledCheck(String monitor, String key, long intervalMillis, long phaseMillis, Runnable action) {
+            this.monitor = monitor;
+            this.key = key;
+            this.intervalMillis = intervalMillis;
+            this.phaseMillis = phaseMillis;
+            this.action = action;
+        }
+
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                scheduledCounts.get(monitor).decrementAndGet();
+            }
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getIntervalMillis() {
+            return intervalMillis;
+        }
+
+        public long getPhaseMillis() {
+            return phaseMillis;
+        }
+    }
+}
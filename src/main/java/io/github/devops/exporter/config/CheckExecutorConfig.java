@@ -0,0 +1,70 @@
+package io.github.devops.exporter.config;
+
+import io.github.devops.exporter.common.CheckExecutor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CheckExecutorConfig {
+    
+    private final MeterRegistry meterRegistry;
+    
+    public CheckExecutorConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Bean(destroyMethod = "shutdown")
+    public CheckExecutor domainCheckExecutor(DomainMonitorProperties properties) {
+        return createExecutor("domain", properties.getExecutor());
+    }
+    
+    @Bean(destroyMethod = "shutdown")
+    public CheckExecutor sslCheckExecutor(SslMonitorProperties properties) {
+        return createExecutor("ssl", properties.getExecutor());
+    }
+    
+    @Bean(destroyMethod = "shutdown")
+    public CheckExecutor portCheckExecutor(PortMonitorProperties properties) {
+        return createExecutor("port", properties.getExecutor());
+    }
+    
+    @Bean(destroyMethod = "shutdown")
+    public CheckExecutor httpCheckExecutor(HttpMonitorProperties properties) {
+        return createExecutor("http", properties.getExecutor());
+    }
+    
+    private CheckExecutor createExecutor(String checker, ExecutorProperties properties) {
+        CheckExecutor executor = new CheckExecutor(checker, properties);
+        Tags tags = Tags.of("checker", checker);
+        
+        // 排队等待执行的检查数
+        Gauge.builder("check_executor_queue_depth", executor, CheckExecutor::getQueueDepth)
+            .description("Number of checks waiting for a free executor slot")
+            .tags(tags)
+            .register(meterRegistry);
+        
+        // 正在执行的检查数
+        Gauge.builder("check_executor_in_flight", executor, CheckExecutor::getInFlight)
+            .description("Number of checks currently running")
+            .tags(tags)
+            .register(meterRegistry);
+        
+        // 并发上限
+        Gauge.builder("check_executor_max_concurrency", properties, ExecutorProperties::getMaxConcurrency)
+            .description("Configured maximum number of concurrent checks")
+            .tags(tags)
+            .register(meterRegistry);
+        
+        // 因队列已满被拒绝的检查数
+        FunctionCounter.builder("check_executor_rejected", executor, CheckExecutor::getRejectedCount)
+            .description("Number of checks rejected because the queue was full")
+            .tags(tags)
+            .register(meterRegistry);
+        
+        return executor;
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.devops.exporter.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "dns.cache")
+public class DnsCacheProperties {
+    
+    private boolean enabled = true;
+    private Duration ttl = Duration.ofSeconds(60);
+    private Duration negativeTtl = Duration.ofSeconds(10);
+    private double refreshAhead = 0.2; // 剩余 TTL 低于该比例时后台刷新
+    private int prefetchMinHits = 2; // 一个 TTL 周期内命中次数达到该值才提前刷新
+    private int maxEntries = 10000;
+    
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public Duration getTtl() {
+        return ttl;
+    }
+    
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+    
+    public Duration getNegativeTtl() {
+        return negativeTtl;
+    }
+    
+    public void setNegativeTtl(Duration negativeTtl) {
+        this.negativeTtl = negativeTtl;
+    }
+    
+    public double getRefreshAhead() {
+        return refreshAhead;
+    }
+    
+    public void setRefreshAhead(double refreshAhead) {
+        this.refreshAhead = refreshAhead;
+    }
+    
+    public int getPrefetchMinHits() {
+        return prefetchMinHits;
+    }
+    
+    public void setPrefetchMinHits(int prefetchMinHits) {
+        this.prefetchMinHits = prefetchMinHits;
+    }
+    
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+    
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+}
@@ -3,7 +3,10 @@ package io.github.devops.exporter.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @ConfigurationProperties(prefix = "domain.monitor")
@@ -11,10 +14,16 @@ public class DomainMonitorProperties {
     
     private boolean enabled = true;
     private int checkInterval = 3600; // 秒
+    private Map<String, Integer> targetIntervals = new HashMap<>(); // 单个目标的检查间隔（秒），覆盖 checkInterval
     private int warningDays = 30;
     private List<String> domains;
     private int connectionTimeout = 5000; // 毫秒
     private int readTimeout = 10000; // 毫秒
+    private WhoisProperties whois = new WhoisProperties();
+    private ExecutorProperties executor = new ExecutorProperties(8);
+    private LatencyProperties latency = new LatencyProperties(
+        Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500),
+        Duration.ofSeconds(1), Duration.ofMillis(2500), Duration.ofSeconds(5), Duration.ofSeconds(10));
     
     // Getters and Setters
     public boolean isEnabled() {
@@ -33,6 +42,19 @@ public class DomainMonitorProperties {
         this.checkInterval = checkInterval;
     }
     
+    public Map<String, Integer> getTargetIntervals() {
+        return targetIntervals;
+    }
+    
+    public void setTargetIntervals(Map<String, Integer> targetIntervals) {
+        this.targetIntervals = targetIntervals;
+    }
+    
+    public int getIntervalFor(String target) {
+        Integer interval = targetIntervals.get(target);
+        return interval != null ? interval : checkInterval;
+    }
+    
     public int getWarningDays() {
         return warningDays;
     }
@@ -64,4 +86,28 @@ public class DomainMonitorProperties {
     public void setReadTimeout(int readTimeout) {
         this.readTimeout = readTimeout;
     }
+    
+    public WhoisProperties getWhois() {
+        return whois;
+    }
+    
+    public void setWhois(WhoisProperties whois) {
+        this.whois = whois;
+    }
+    
+    public ExecutorProperties getExecutor() {
+        return executor;
+    }
+    
+    public void setExecutor(ExecutorProperties executor) {
+        this.executor = executor;
+    }
+    
+    public LatencyProperties getLatency() {
+        return latency;
+    }
+    
+    public void setLatency(LatencyProperties latency) {
+        this.latency = latency;
+    }
 }
\ No newline at end of file
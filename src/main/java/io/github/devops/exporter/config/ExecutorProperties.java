@@ -0,0 +1,41 @@
+package io.github.devops.exporter.config;
+
+public class ExecutorProperties {
+    
+    private int maxConcurrency;
+    private int queueCapacity = 10000;
+    private boolean virtualThreads = false;
+    
+    public ExecutorProperties() {
+        this(16);
+    }
+    
+    public ExecutorProperties(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+    
+    // Getters and Setters
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+    
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+    
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+    
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+    
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+    
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.devops.exporter.config;
+
+public class HostLimitProperties {
+    
+    private int maxConcurrency = 0; // 同一主机同时在途的检查数，0 表示不限制
+    private double rate = 0; // 每秒允许发起的检查数（令牌桶），0 表示不限制
+    private int burst = 1; // 令牌桶容量，允许的瞬时突发数
+    
+    public boolean isEnabled() {
+        return maxConcurrency > 0 || rate > 0;
+    }
+    
+    // Getters and Setters
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+    
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+    
+    public double getRate() {
+        return rate;
+    }
+    
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+    
+    public int getBurst() {
+        return burst;
+    }
+    
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package io.github.devops.exporter.config;
+
+import org.springframework.util.unit.DataSize;
+
+public class HttpBodyCheckProperties {
+    
+    private String contains; // 响应体必须包含的字符串
+    private String regex; // 响应体中必须能找到的正则
+    private int regexWindow = 4096; // 正则滑动窗口（字符），跨窗口边界时只保证长度不超过窗口一半的匹配
+    private String jsonPointer; // JSON Pointer，如 /status
+    private String jsonEquals; // 指针处的值（标量按文本比较），为空时只要求指针存在
+    private DataSize maxSize; // 响应体大小上限
+    
+    public boolean isEmpty() {
+        return contains == null && regex == null && jsonPointer == null && maxSize == null;
+    }
+    
+    // Getters and Setters
+    public String getContains() {
+        return contains;
+    }
+    
+    public void setContains(String contains) {
+        this.contains = contains;
+    }
+    
+    public String getRegex() {
+        return regex;
+    }
+    
+    public void setRegex(String regex) {
+        this.regex = regex;
+    }
+    
+    public int getRegexWindow() {
+        return regexWindow;
+    }
+    
+    public void setRegexWindow(int regexWindow) {
+        this.regexWindow = regexWindow;
+    }
+    
+    public String getJsonPointer() {
+        return jsonPointer;
+    }
+    
+    public void setJsonPointer(String jsonPointer) {
+        this.jsonPointer = jsonPointer;
+    }
+    
+    public String getJsonEquals() {
+        return jsonEquals;
+    }
+    
+    public void setJsonEquals(String jsonEquals) {
+        this.jsonEquals = jsonEquals;
+    }
+    
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+    
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+}
\ No newline at end of file
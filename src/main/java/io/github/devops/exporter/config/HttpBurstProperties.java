@@ -0,0 +1,33 @@
+package io.github.devops.exporter.config;
+
+public class HttpBurstProperties {
+    
+    private int samples = 1; // 每个周期发出的请求数，大于 1 时启用突发采样
+    private boolean concurrent = false; // true 时同时发出，false 时依次发出并复用连接
+    private double minSuccessRatio = 1.0; // 成功比例达到该值才算可用
+    
+    // Getters and Setters
+    public int getSamples() {
+        return samples;
+    }
+    
+    public void setSamples(int samples) {
+        this.samples = samples;
+    }
+    
+    public boolean isConcurrent() {
+        return concurrent;
+    }
+    
+    public void setConcurrent(boolean concurrent) {
+        this.concurrent = concurrent;
+    }
+    
+    public double getMinSuccessRatio() {
+        return minSuccessRatio;
+    }
+    
+    public void setMinSuccessRatio(double minSuccessRatio) {
+        this.minSuccessRatio = minSuccessRatio;
+    }
+}
\ No newline at end of file
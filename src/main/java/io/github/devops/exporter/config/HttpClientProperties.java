@@ -0,0 +1,44 @@
+package io.github.devops.exporter.config;
+
+import java.time.Duration;
+
+public class HttpClientProperties {
+    
+    private boolean http2 = true; // 通过 ALPN 协商 HTTP/2，不支持时回落到 HTTP/1.1
+    private int threads = 4; // HttpClient 回调线程数，请求本身不占用线程
+    private int sessionCacheSize = 10000; // TLS 会话缓存条目数
+    private Duration sessionTimeout = Duration.ofHours(24); // TLS 会话缓存有效期
+    
+    // Getters and Setters
+    public boolean isHttp2() {
+        return http2;
+    }
+    
+    public void setHttp2(boolean http2) {
+        this.http2 = http2;
+    }
+    
+    public int getThreads() {
+        return threads;
+    }
+    
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+    
+    public int getSessionCacheSize() {
+        return sessionCacheSize;
+    }
+    
+    public void setSessionCacheSize(int sessionCacheSize) {
+        this.sessionCacheSize = sessionCacheSize;
+    }
+    
+    public Duration getSessionTimeout() {
+        return sessionTimeout;
+    }
+    
+    public void setSessionTimeout(Duration sessionTimeout) {
+        this.sessionTimeout = sessionTimeout;
+    }
+}
\ No newline at end of file
@@ -3,7 +3,13 @@ package io.github.devops.exporter.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Component
 @ConfigurationProperties(prefix = "http.monitor")
@@ -11,11 +17,28 @@ public class HttpMonitorProperties {
     
     private boolean enabled = true;
     private int checkInterval = 300; // 秒
+    private Map<String, Integer> targetIntervals = new HashMap<>(); // 单个目标的检查间隔（秒），覆盖 checkInterval
     private List<String> urls;
+    private List<HttpTargetProperties> targets = new ArrayList<>(); // 需要单独指定检查引擎的目标
+    private volatile Map<String, HttpTargetProperties> targetsByUrl; // 每次检查多次按 URL 查找，绑定完成后第一次查找时建立
+    private String engine = "urlconnection"; // urlconnection (HttpURLConnection) 或 httpclient (java.net.http 连接池)
+    private String probe = "GET"; // GET、HEAD、RANGE (只取第一个字节) 或 CONDITIONAL (带 ETag/Last-Modified 的条件请求)
+    private boolean compression = false; // 发送 Accept-Encoding: gzip, deflate，边读边解压
+    private HttpClientProperties httpClient = new HttpClientProperties();
     private int connectionTimeout = 10000; // 毫秒
     private int readTimeout = 15000; // 毫秒
+    private List<String> captureHeaders = new ArrayList<>(); // 保留到检查结果中的响应头白名单，默认不保留，"*" 表示全部
     private List<Integer> expectedStatusCodes = List.of(200, 201, 202, 204);
     private boolean followRedirects = true;
+    private HostLimitProperties hostLimit = new HostLimitProperties(); // 按主机名限制并发和速率
+    private HostLimitProperties ipLimit = new HostLimitProperties(); // 按解析出的 IP 限制并发和速率
+    private Duration redirectCacheTtl = Duration.ZERO; // 稳定的永久重定向 (301/308) 目标缓存时间，0 表示不缓存
+    private boolean groupByOrigin = false; // 同一 origin 的路径在同一连接上一起检查
+    private ExecutorProperties executor = new ExecutorProperties(64);
+    private LatencyProperties latency = new LatencyProperties(
+        Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250),
+        Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofMillis(2500), Duration.ofSeconds(5),
+        Duration.ofSeconds(10));
     
     // Getters and Setters
     public boolean isEnabled() {
@@ -34,6 +57,19 @@ public class HttpMonitorProperties {
         this.checkInterval = checkInterval;
     }
     
+    public Map<String, Integer> getTargetIntervals() {
+        return targetIntervals;
+    }
+    
+    public void setTargetIntervals(Map<String, Integer> targetIntervals) {
+        this.targetIntervals = targetIntervals;
+    }
+    
+    public int getIntervalFor(String target) {
+        Integer interval = targetIntervals.get(target);
+        return interval != null ? interval : checkInterval;
+    }
+    
     public List<String> getUrls() {
         return urls;
     }
@@ -42,6 +78,107 @@ public class HttpMonitorProperties {
         this.urls = urls;
     }
     
+    public List<HttpTargetProperties> getTargets() {
+        return targets;
+    }
+    
+    public void setTargets(List<HttpTargetProperties> targets) {
+        this.targets = targets;
+        this.targetsByUrl = null;
+    }
+    
+    private HttpTargetProperties targetFor(String url) {
+        Map<String, HttpTargetProperties> byUrl = targetsByUrl;
+        if (byUrl == null) {
+            // 同一 URL 配置了多次时以第一个为准
+            byUrl = new HashMap<>();
+            for (HttpTargetProperties target : targets) {
+                if (target.getUrl() != null) {
+                    byUrl.putIfAbsent(target.getUrl(), target);
+                }
+            }
+            targetsByUrl = byUrl;
+        }
+        return byUrl.get(url);
+    }
+    
+    // urls 和 targets 合并后的完整检查列表
+    public List<String> getTargetUrls() {
+        Set<String> all = new LinkedHashSet<>();
+        if (urls != null) {
+            all.addAll(urls);
+        }
+        for (HttpTargetProperties target : targets) {
+            if (target.getUrl() != null) {
+                all.add(target.getUrl());
+            }
+        }
+        return new ArrayList<>(all);
+    }
+    
+    public String getEngine() {
+        return engine;
+    }
+    
+    public void setEngine(String engine) {
+        this.engine = engine;
+    }
+    
+    public String getEngineFor(String url) {
+        HttpTargetProperties target = targetFor(url);
+        return target != null && target.getEngine() != null ? target.getEngine() : engine;
+    }
+    
+    public String getProbe() {
+        return probe;
+    }
+    
+    public void setProbe(String probe) {
+        this.probe = probe;
+    }
+    
+    public String getProbeFor(String url) {
+        HttpTargetProperties target = targetFor(url);
+        return target != null && target.getProbe() != null ? target.getProbe() : probe;
+    }
+    
+    public boolean isCompression() {
+        return compression;
+    }
+    
+    public void setCompression(boolean compression) {
+        this.compression = compression;
+    }
+    
+    public boolean isCompressionFor(String url) {
+        HttpTargetProperties target = targetFor(url);
+        return target != null && target.getCompression() != null ? target.getCompression() : compression;
+    }
+    
+    public HttpBodyCheckProperties getBodyCheckFor(String url) {
+        HttpTargetProperties target = targetFor(url);
+        if (target == null || target.getBody() == null || target.getBody().isEmpty()) {
+            return null;
+        }
+        return target.getBody();
+    }
+    
+    public HttpBurstProperties getBurstFor(String url) {
+        HttpTargetProperties target = targetFor(url);
+        if (target == null || target.getBurst() == null || target.getBurst().getSamples() <= 1) {
+            return null;
+        }
+        return target.getBurst();
+    }
+    
+    public HttpClientProperties getHttpClient() {
+        return httpClient;
+    }
+    
+    public void setHttpClient(HttpClientProperties httpClient) {
+        this.httpClient = httpClient;
+    }
+    
     public int getConnectionTimeout() {
         return connectionTimeout;
     }
@@ -66,6 +203,14 @@ public class HttpMonitorProperties {
         this.expectedStatusCodes = expectedStatusCodes;
     }
     
+    public List<String> getCaptureHeaders() {
+        return captureHeaders;
+    }
+    
+    public void setCaptureHeaders(List<String> captureHeaders) {
+        this.captureHeaders = captureHeaders;
+    }
+    
     public boolean isFollowRedirects() {
         return followRedirects;
     }
@@ -73,4 +218,52 @@ public class HttpMonitorProperties {
     public void setFollowRedirects(boolean followRedirects) {
         this.followRedirects = followRedirects;
     }
+    
+    public HostLimitProperties getHostLimit() {
+        return hostLimit;
+    }
+    
+    public void setHostLimit(HostLimitProperties hostLimit) {
+        this.hostLimit = hostLimit;
+    }
+    
+    public HostLimitProperties getIpLimit() {
+        return ipLimit;
+    }
+    
+    public void setIpLimit(HostLimitProperties ipLimit) {
+        this.ipLimit = ipLimit;
+    }
+    
+    public Duration getRedirectCacheTtl() {
+        return redirectCacheTtl;
+    }
+    
+    public void setRedirectCacheTtl(Duration redirectCacheTtl) {
+        this.redirectCacheTtl = redirectCacheTtl;
+    }
+    
+    public boolean isGroupByOrigin() {
+        return groupByOrigin;
+    }
+    
+    public void setGroupByOrigin(boolean groupByOrigin) {
+        this.groupByOrigin = groupByOrigin;
+    }
+    
+    public ExecutorProperties getExecutor() {
+        return executor;
+    }
+    
+    public void setExecutor(ExecutorProperties executor) {
+        this.executor = executor;
+    }
+    
+    public LatencyProperties getLatency() {
+        return latency;
+    }
+    
+    public void setLatency(LatencyProperties latency) {
+        this.latency = latency;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package io.github.devops.exporter.config;
+
+public class HttpTargetProperties {
+    
+    private String url;
+    private String engine; // 为空时使用 http.monitor.engine
+    private String probe; // 为空时使用 http.monitor.probe
+    private Boolean compression; // 为空时使用 http.monitor.compression
+    private HttpBodyCheckProperties body; // 响应体断言，可选
+    private HttpBurstProperties burst; // 每个周期多次采样，可选
+    
+    // Getters and Setters
+    public String getUrl() {
+        return url;
+    }
+    
+    public void setUrl(String url) {
+        this.url = url;
+    }
+    
+    public String getEngine() {
+        return engine;
+    }
+    
+    public void setEngine(String engine) {
+        this.engine = engine;
+    }
+    
+    public String getProbe() {
+        return probe;
+    }
+    
+    public void setProbe(String probe) {
+        this.probe = probe;
+    }
+    
+    public Boolean getCompression() {
+        return compression;
+    }
+    
+    public void setCompression(Boolean compression) {
+        this.compression = compression;
+    }
+    
+    public HttpBodyCheckProperties getBody() {
+        return body;
+    }
+    
+    public void setBody(HttpBodyCheckProperties body) {
+        this.body = body;
+    }
+    
+    public HttpBurstProperties getBurst() {
+        return burst;
+    }
+    
+    public void setBurst(HttpBurstProperties burst) {
+        this.burst = burst;
+    }
+}
\ No newline at end of file
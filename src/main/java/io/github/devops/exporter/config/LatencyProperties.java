@@ -0,0 +1,46 @@
+package io.github.devops.exporter.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+public class LatencyProperties {
+    
+    private List<Duration> sloBuckets = new ArrayList<>();
+    private List<Double> percentiles = new ArrayList<>(List.of(0.5, 0.95, 0.99));
+    
+    public LatencyProperties() {
+    }
+    
+    public LatencyProperties(Duration... sloBuckets) {
+        this.sloBuckets = new ArrayList<>(List.of(sloBuckets));
+    }
+    
+    public Duration[] sloBucketArray() {
+        return sloBuckets == null ? new Duration[0] : sloBuckets.toArray(new Duration[0]);
+    }
+    
+    public double[] percentileArray() {
+        if (percentiles == null) {
+            return new double[0];
+        }
+        return percentiles.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+    
+    // Getters and Setters
+    public List<Duration> getSloBuckets() {
+        return sloBuckets;
+    }
+    
+    public void setSloBuckets(List<Duration> sloBuckets) {
+        this.sloBuckets = sloBuckets;
+    }
+    
+    public List<Double> getPercentiles() {
+        return percentiles;
+    }
+    
+    public void setPercentiles(List<Double> percentiles) {
+        this.percentiles = percentiles;
+    }
+}
@@ -3,7 +3,10 @@ package io.github.devops.exporter.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @ConfigurationProperties(prefix = "port.monitor")
@@ -11,8 +14,21 @@ public class PortMonitorProperties {
     
     private boolean enabled = true;
     private int checkInterval = 300; // 秒
+    private Map<String, Integer> targetIntervals = new HashMap<>(); // 单个目标的检查间隔（秒），覆盖 checkInterval
     private List<String> ports;
     private int connectionTimeout = 5000; // 毫秒
+    private String engine = "nio"; // nio 或 blocking
+    private int selectorThreads = 1;
+    private int maxInFlight = 4096;
+    private int rangeMaxInFlight = 1024; // 单个网段扫描同时在途的检查数
+    private int rangeOpenTargetsLimit = 256; // 每个网段保留的开放端口样本数
+    private HostLimitProperties hostLimit = new HostLimitProperties(); // 按主机名限制并发和速率
+    private HostLimitProperties ipLimit = new HostLimitProperties(); // 按解析出的 IP 限制并发和速率
+    private ExecutorProperties executor = new ExecutorProperties(64);
+    private LatencyProperties latency = new LatencyProperties(
+        Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(25),
+        Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500),
+        Duration.ofSeconds(1), Duration.ofMillis(2500), Duration.ofSeconds(5));
     
     // Getters and Setters
     public boolean isEnabled() {
@@ -31,6 +47,19 @@ public class PortMonitorProperties {
         this.checkInterval = checkInterval;
     }
     
+    public Map<String, Integer> getTargetIntervals() {
+        return targetIntervals;
+    }
+    
+    public void setTargetIntervals(Map<String, Integer> targetIntervals) {
+        this.targetIntervals = targetIntervals;
+    }
+    
+    public int getIntervalFor(String target) {
+        Integer interval = targetIntervals.get(target);
+        return interval != null ? interval : checkInterval;
+    }
+    
     public List<String> getPorts() {
         return ports;
     }
@@ -46,4 +75,80 @@ public class PortMonitorProperties {
     public void setConnectionTimeout(int connectionTimeout) {
         this.connectionTimeout = connectionTimeout;
     }
+    
+    public String getEngine() {
+        return engine;
+    }
+    
+    public void setEngine(String engine) {
+        this.engine = engine;
+    }
+    
+    public boolean isNioEngine() {
+        return !"blocking".equalsIgnoreCase(engine);
+    }
+    
+    public int getSelectorThreads() {
+        return selectorThreads;
+    }
+    
+    public void setSelectorThreads(int selectorThreads) {
+        this.selectorThreads = selectorThreads;
+    }
+    
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+    
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+    
+    public HostLimitProperties getHostLimit() {
+        return hostLimit;
+    }
+    
+    public void setHostLimit(HostLimitProperties hostLimit) {
+        this.hostLimit = hostLimit;
+    }
+    
+    public HostLimitProperties getIpLimit() {
+        return ipLimit;
+    }
+    
+    public void setIpLimit(HostLimitProperties ipLimit) {
+        this.ipLimit = ipLimit;
+    }
+    
+    public ExecutorProperties getExecutor() {
+        return executor;
+    }
+    
+    public void setExecutor(ExecutorProperties executor) {
+        this.executor = executor;
+    }
+    
+    public LatencyProperties getLatency() {
+        return latency;
+    }
+    
+    public void setLatency(LatencyProperties latency) {
+        this.latency = latency;
+    }
+    
+    public int getRangeMaxInFlight() {
+        return rangeMaxInFlight;
+    }
+    
+    public void setRangeMaxInFlight(int rangeMaxInFlight) {
+        this.rangeMaxInFlight = rangeMaxInFlight;
+    }
+    
+    public int getRangeOpenTargetsLimit() {
+        return rangeOpenTargetsLimit;
+    }
+    
+    public void setRangeOpenTargetsLimit(int rangeOpenTargetsLimit) {
+        this.rangeOpenTargetsLimit = rangeOpenTargetsLimit;
+    }
 }
\ No newline at end of file
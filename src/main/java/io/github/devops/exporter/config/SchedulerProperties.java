@@ -0,0 +1,40 @@
+package io.github.devops.exporter.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "scheduler")
+public class SchedulerProperties {
+
+    private Duration tickDuration = Duration.ofMillis(100); // 时间轮最小刻度
+    private int wheelSize = 512; // 每层时间轮的槽数
+    private Duration initialSpread = Duration.ofSeconds(30); // 启动后首轮检查分散到这个窗口内
+
+    // Getters and Setters
+    public Duration getTickDuration() {
+        return tickDuration;
+    }
+
+    public void setTickDuration(Duration tickDuration) {
+        this.tickDuration = tickDuration;
+    }
+
+    public int getWheelSize() {
+        return wheelSize;
+    }
+
+    public void setWheelSize(int wheelSize) {
+        this.wheelSize = wheelSize;
+    }
+
+    public Duration getInitialSpread() {
+        return initialSpread;
+    }
+
+    public void setInitialSpread(Duration initialSpread) {
+        this.initialSpread = initialSpread;
+    }
+}
\ No newline at end of file
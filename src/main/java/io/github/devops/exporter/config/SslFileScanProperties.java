@@ -0,0 +1,64 @@
+package io.github.devops.exporter.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SslFileScanProperties {
+
+    private List<String> directories = new ArrayList<>(); // 扫描的目录，为空时不启用文件证书检查
+    private List<String> patterns = new ArrayList<>(List.of(
+        "*.pem", "*.crt", "*.cer", "*.der", "*.jks", "*.p12", "*.pfx")); // 文件名匹配规则 (glob)
+    private boolean recursive = true; // 是否扫描并监听子目录
+    private String keystorePassword = "changeit"; // JKS / PKCS12 密钥库的口令
+    private int rescanInterval = 3600; // 秒，兜底全量扫描的间隔；只比较修改时间和大小，不重新解析未变化的文件
+    private long maxFileSize = 1024 * 1024; // 字节，超过该大小的文件不解析
+
+    // Getters and Setters
+    public List<String> getDirectories() {
+        return directories;
+    }
+
+    public void setDirectories(List<String> directories) {
+        this.directories = directories;
+    }
+
+    public List<String> getPatterns() {
+        return patterns;
+    }
+
+    public void setPatterns(List<String> patterns) {
+        this.patterns = patterns;
+    }
+
+    public boolean isRecursive() {
+        return recursive;
+    }
+
+    public void setRecursive(boolean recursive) {
+        this.recursive = recursive;
+    }
+
+    public String getKeystorePassword() {
+        return keystorePassword;
+    }
+
+    public void setKeystorePassword(String keystorePassword) {
+        this.keystorePassword = keystorePassword;
+    }
+
+    public int getRescanInterval() {
+        return rescanInterval;
+    }
+
+    public void setRescanInterval(int rescanInterval) {
+        this.rescanInterval = rescanInterval;
+    }
+
+    public long getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    public void setMaxFileSize(long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+}
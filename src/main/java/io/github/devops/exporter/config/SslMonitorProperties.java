@@ -3,7 +3,10 @@ package io.github.devops.exporter.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @ConfigurationProperties(prefix = "ssl.monitor")
@@ -11,10 +14,22 @@ public class SslMonitorProperties {
     
     private boolean enabled = true;
     private int checkInterval = 3600; // 秒
+    private Map<String, Integer> targetIntervals = new HashMap<>(); // 单个目标的检查间隔（秒），覆盖 checkInterval
     private int warningDays = 30;
     private List<String> domains;
     private int connectionTimeout = 5000; // 毫秒
-    private int readTimeout = 10000; // 毫秒
+    private int readTimeout = 10000; // 毫秒，连接建立后 TLS 握手的截止时间
+    private boolean allAddresses = true; // 对域名解析出的每个 A/AAAA 地址都握手，false 时只检查第一个地址
+    private boolean resumption = false; // 完整握手后再做一次会话恢复握手，检查会话缓存 / 会话票据并计时
+    private int selectorThreads = 1; // TLS 探测的 NIO selector 线程数
+    private int maxInFlight = 1024; // 同时进行中的 TLS 探测数
+    private boolean certificateCache = true; // 按证书指纹缓存，远离过期时跳过大部分握手
+    private int maxRecheckInterval = 86400; // 秒，证书指纹稳定时两次握手之间的最长间隔
+    private SslFileScanProperties files = new SslFileScanProperties(); // 本地证书文件 / 密钥库扫描
+    private ExecutorProperties executor = new ExecutorProperties(32);
+    private LatencyProperties latency = new LatencyProperties(
+        Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250),
+        Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofMillis(2500), Duration.ofSeconds(5));
     
     // Getters and Setters
     public boolean isEnabled() {
@@ -33,6 +48,19 @@ public class SslMonitorProperties {
         this.checkInterval = checkInterval;
     }
     
+    public Map<String, Integer> getTargetIntervals() {
+        return targetIntervals;
+    }
+    
+    public void setTargetIntervals(Map<String, Integer> targetIntervals) {
+        this.targetIntervals = targetIntervals;
+    }
+    
+    public int getIntervalFor(String target) {
+        Integer interval = targetIntervals.get(target);
+        return interval != null ? interval : checkInterval;
+    }
+    
     public int getWarningDays() {
         return warningDays;
     }
@@ -64,4 +92,76 @@ public class SslMonitorProperties {
     public void setReadTimeout(int readTimeout) {
         this.readTimeout = readTimeout;
     }
+    
+    public boolean isAllAddresses() {
+        return allAddresses;
+    }
+    
+    public void setAllAddresses(boolean allAddresses) {
+        this.allAddresses = allAddresses;
+    }
+    
+    public boolean isResumption() {
+        return resumption;
+    }
+    
+    public void setResumption(boolean resumption) {
+        this.resumption = resumption;
+    }
+    
+    public int getSelectorThreads() {
+        return selectorThreads;
+    }
+    
+    public void setSelectorThreads(int selectorThreads) {
+        this.selectorThreads = selectorThreads;
+    }
+    
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+    
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+    
+    public boolean isCertificateCache() {
+        return certificateCache;
+    }
+    
+    public void setCertificateCache(boolean certificateCache) {
+        this.certificateCache = certificateCache;
+    }
+    
+    public int getMaxRecheckInterval() {
+        return maxRecheckInterval;
+    }
+    
+    public void setMaxRecheckInterval(int maxRecheckInterval) {
+        this.maxRecheckInterval = maxRecheckInterval;
+    }
+    
+    public SslFileScanProperties getFiles() {
+        return files;
+    }
+    
+    public void setFiles(SslFileScanProperties files) {
+        this.files = files;
+    }
+    
+    public ExecutorProperties getExecutor() {
+        return executor;
+    }
+    
+    public void setExecutor(ExecutorProperties executor) {
+        this.executor = executor;
+    }
+    
+    public LatencyProperties getLatency() {
+        return latency;
+    }
+    
+    public void setLatency(LatencyProperties latency) {
+        this.latency = latency;
+    }
 }
\ No newline at end of file
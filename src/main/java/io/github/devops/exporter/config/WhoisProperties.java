@@ -0,0 +1,53 @@
+package io.github.devops.exporter.config;
+
+import java.time.Duration;
+
+public class WhoisProperties {
+
+    private String ianaServer = "whois.iana.org"; // 按 TLD 查询 refer: 得到注册局的 WHOIS 服务器
+    private String cacheFile = "data/whois-servers.txt"; // TLD -> WHOIS 服务器映射的持久化文件，为空时只缓存在内存中
+    private Duration serverTtl = Duration.ofDays(7);
+    private boolean followRegistrarReferral = true; // 注册局没有返回过期时间时跟随 Registrar WHOIS Server 查询注册商
+    private Duration registrarTtl = Duration.ofDays(1);
+
+    // Getters and Setters
+    public String getIanaServer() {
+        return ianaServer;
+    }
+
+    public void setIanaServer(String ianaServer) {
+        this.ianaServer = ianaServer;
+    }
+
+    public String getCacheFile() {
+        return cacheFile;
+    }
+
+    public void setCacheFile(String cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    public Duration getServerTtl() {
+        return serverTtl;
+    }
+
+    public void setServerTtl(Duration serverTtl) {
+        this.serverTtl = serverTtl;
+    }
+
+    public boolean isFollowRegistrarReferral() {
+        return followRegistrarReferral;
+    }
+
+    public void setFollowRegistrarReferral(boolean followRegistrarReferral) {
+        this.followRegistrarReferral = followRegistrarReferral;
+    }
+
+    public Duration getRegistrarTtl() {
+        return registrarTtl;
+    }
+
+    public void setRegistrarTtl(Duration registrarTtl) {
+        this.registrarTtl = registrarTtl;
+    }
+}
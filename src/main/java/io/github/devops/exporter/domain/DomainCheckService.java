@@ -1,19 +1,25 @@
 package io.github.devops.exporter.domain;
 
+import io.github.devops.exporter.common.CheckExecutor;
+import io.github.devops.exporter.common.DnsCache;
 import io.github.devops.exporter.config.DomainMonitorProperties;
+import io.github.devops.exporter.config.WhoisProperties;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.time.temporal.ChronoUnit;
 import java.util.concurrent.CompletableFuture;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -24,9 +30,9 @@ public class DomainCheckService {
     private static final Logger logger = LoggerFactory.getLogger(DomainCheckService.class);
     
     private final DomainMonitorProperties properties;
-    
-    // WHOIS 服务器映射
-    private static final String DEFAULT_WHOIS_SERVER = "whois.internic.net";
+    private final CheckExecutor checkExecutor;
+    private final DnsCache dnsCache;
+    private final WhoisServerRegistry whoisServers;
     
     // 常见的过期时间字段模式
     private static final Pattern[] EXPIRY_PATTERNS = {
@@ -51,19 +57,29 @@ public class DomainCheckService {
         DateTimeFormatter.ofPattern("yyyy/MM/dd")
     };
     
-    public DomainCheckService(DomainMonitorProperties properties) {
+    public DomainCheckService(DomainMonitorProperties properties,
+                              @Qualifier("domainCheckExecutor") CheckExecutor checkExecutor,
+                              DnsCache dnsCache) {
         this.properties = properties;
+        this.checkExecutor = checkExecutor;
+        this.dnsCache = dnsCache;
+        WhoisProperties whois = properties.getWhois();
+        this.whoisServers = new WhoisServerRegistry(whois.getIanaServer(),
+            StringUtils.isNotBlank(whois.getCacheFile()) ? Path.of(whois.getCacheFile()) : null,
+            whois.getServerTtl(), whois.getRegistrarTtl(), this::query);
     }
     
     public CompletableFuture<DomainInfo> checkDomainAsync(String domain) {
-        return CompletableFuture.supplyAsync(() -> checkDomain(domain));
+        return checkExecutor.supplyAsync(() -> checkDomain(domain));
     }
     
     public DomainInfo checkDomain(String domain) {
         DomainInfo domainInfo = new DomainInfo(domain);
+        long startTime = System.nanoTime();
         
         try {
             String whoisData = queryWhois(domain);
+            domainInfo.setCheckDurationNanos(System.nanoTime() - startTime);
             if (StringUtils.isNotBlank(whoisData)) {
                 processWhoisData(domainInfo, whoisData);
             } else {
@@ -73,6 +89,7 @@ public class DomainCheckService {
             }
         } catch (Exception e) {
             logger.error("Error checking domain {}: {}", domain, e.getMessage());
+            domainInfo.setCheckDurationNanos(System.nanoTime() - startTime);
             domainInfo.setStatus("ERROR");
             domainInfo.setError(e.getMessage());
             domainInfo.setDaysUntilExpiration(-999); // 查询异常标记为 -999
@@ -82,13 +99,48 @@ public class DomainCheckService {
     }
     
     private String queryWhois(String domain) throws IOException {
-        String whoisServer = getWhoisServer(domain);
+        // 之前跟随过注册商引用的域名直接查询注册商，拿不到过期时间时再回到注册局
+        String registrar = whoisServers.registrarFor(domain);
+        if (registrar != null) {
+            try {
+                String registrarData = query(registrar, domain);
+                if (extractExpirationDate(registrarData) != null) {
+                    return registrarData;
+                }
+            } catch (IOException e) {
+                logger.debug("Cached registrar WHOIS server {} failed for {}: {}", registrar, domain, e.getMessage());
+            }
+            whoisServers.forgetRegistrar(domain);
+        }
         
-        try (Socket socket = new Socket(whoisServer, 43)) {
+        String whoisServer = whoisServers.serverFor(domain);
+        if (whoisServer == null) {
+            throw new IOException("No WHOIS server registered for ." + WhoisServerRegistry.tldOf(domain));
+        }
+        String whoisData = query(whoisServer, domain);
+        
+        // 薄注册局只返回注册商的 WHOIS 服务器，没有过期时间时跟随一次并缓存该引用
+        if (properties.getWhois().isFollowRegistrarReferral() && extractExpirationDate(whoisData) == null) {
+            String referral = WhoisServerRegistry.registrarReferral(whoisData);
+            if (referral != null && !referral.equalsIgnoreCase(whoisServer)) {
+                String registrarData = query(referral, domain);
+                if (extractExpirationDate(registrarData) != null) {
+                    whoisServers.rememberRegistrar(domain, referral);
+                    return registrarData;
+                }
+            }
+        }
+        return whoisData;
+    }
+    
+    private String query(String whoisServer, String text) throws IOException {
+        try (Socket socket = new Socket()) {
+            // 通过共享 DNS 缓存解析 WHOIS 服务器，并使用连接超时
+            socket.connect(new InetSocketAddress(dnsCache.resolve(whoisServer), 43), properties.getConnectionTimeout());
             socket.setSoTimeout(properties.getReadTimeout());
             
             // 发送查询
-            socket.getOutputStream().write((domain + "\r\n").getBytes());
+            socket.getOutputStream().write((text + "\r\n").getBytes());
             socket.getOutputStream().flush();
             
             // 读取响应
@@ -104,35 +156,6 @@ public class DomainCheckService {
         }
     }
     
-    private String getWhoisServer(String domain) {
-        // 根据域名后缀选择合适的 WHOIS 服务器
-        String tld = domain.substring(domain.lastIndexOf('.') + 1).toLowerCase();
-        
-        switch (tld) {
-            case "com":
-            case "net":
-                return "whois.verisign-grs.com";
-            case "org":
-                return "whois.pir.org";
-            case "info":
-                return "whois.afilias.net";
-            case "biz":
-                return "whois.neulevel.biz";
-            case "cn":
-                return "whois.cnnic.net.cn";
-            case "uk":
-                return "whois.nominet.uk";
-            case "de":
-                return "whois.denic.de";
-            case "fr":
-                return "whois.afnic.fr";
-            case "jp":
-                return "whois.jprs.jp";
-            default:
-                return DEFAULT_WHOIS_SERVER;
-        }
-    }
-    
     private void processWhoisData(DomainInfo domainInfo, String whoisData) {
         try {
             LocalDateTime expirationDate = extractExpirationDate(whoisData);
@@ -140,24 +163,12 @@ public class DomainCheckService {
             if (expirationDate != null) {
                 domainInfo.setExpirationDate(expirationDate);
                 
-                // 计算距离过期的天数
-                LocalDateTime now = LocalDateTime.now();
-                long daysUntilExpiration = ChronoUnit.DAYS.between(now, expirationDate);
-                domainInfo.setDaysUntilExpiration(daysUntilExpiration);
-                
-                // 判断状态
-                if (daysUntilExpiration < 0) {
-                    domainInfo.setExpired(true);
-                    domainInfo.setStatus("EXPIRED");
-                } else if (daysUntilExpiration <= properties.getWarningDays()) {
-                    domainInfo.setWarning(true);
-                    domainInfo.setStatus("WARNING");
-                } else {
-                    domainInfo.setStatus("VALID");
-                }
+                // WHOIS 时间去掉了时区，按本地时间解释；剩余天数和状态在读取时按当前时间计算
+                domainInfo.setWarningDays(properties.getWarningDays());
+                domainInfo.setNotAfterEpochSecond(expirationDate.atZone(ZoneId.systemDefault()).toEpochSecond());
                 
                 logger.info("Domain {} expires in {} days ({})", 
-                    domainInfo.getDomain(), daysUntilExpiration, expirationDate);
+                    domainInfo.getDomain(), domainInfo.getDaysUntilExpiration(), expirationDate);
             } else {
                 domainInfo.setStatus("PARSE_ERROR");
                 domainInfo.setError("Unable to parse expiration date from WHOIS data");
@@ -173,7 +184,7 @@ public class DomainCheckService {
         }
     }
     
-    private LocalDateTime extractExpirationDate(String whoisData) {
+    LocalDateTime extractExpirationDate(String whoisData) {
         for (Pattern pattern : EXPIRY_PATTERNS) {
             Matcher matcher = pattern.matcher(whoisData);
             if (matcher.find()) {
@@ -187,7 +198,7 @@ public class DomainCheckService {
         return null;
     }
     
-    private LocalDateTime parseDate(String dateStr) {
+    LocalDateTime parseDate(String dateStr) {
         // 清理日期字符串
         dateStr = dateStr.replaceAll("\\s+", " ").trim();
         
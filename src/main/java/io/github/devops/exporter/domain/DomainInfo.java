@@ -1,16 +1,20 @@
 package io.github.devops.exporter.domain;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 public class DomainInfo {
     private String domain;
     private LocalDateTime expirationDate;
-    private long daysUntilExpiration;
+    private long daysUntilExpiration; // 没有过期时间时的取值（-999 表示查询失败）
+    private long notAfterEpochSecond; // 域名注册过期时间（epoch 秒），0 表示未知；剩余天数和状态在读取时按当前时间计算
+    private int warningDays;
     private boolean isExpired;
     private boolean isWarning;
     private String status;
     private String error;
     private LocalDateTime lastChecked;
+    private long checkDurationNanos;
     
     public DomainInfo(String domain) {
         this.domain = domain;
@@ -35,7 +39,14 @@ public class DomainInfo {
     }
     
     public long getDaysUntilExpiration() {
-        return daysUntilExpiration;
+        if (notAfterEpochSecond == 0) {
+            return daysUntilExpiration;
+        }
+        return getSecondsUntilExpiration() / 86400;
+    }
+    
+    public long getSecondsUntilExpiration() {
+        return notAfterEpochSecond == 0 ? 0 : notAfterEpochSecond - Instant.now().getEpochSecond();
     }
     
     public void setDaysUntilExpiration(long daysUntilExpiration) {
@@ -43,7 +54,10 @@ public class DomainInfo {
     }
     
     public boolean isExpired() {
-        return isExpired;
+        if (notAfterEpochSecond == 0) {
+            return isExpired;
+        }
+        return getSecondsUntilExpiration() < 0;
     }
     
     public void setExpired(boolean expired) {
@@ -51,7 +65,10 @@ public class DomainInfo {
     }
     
     public boolean isWarning() {
-        return isWarning;
+        if (notAfterEpochSecond == 0) {
+            return isWarning;
+        }
+        return !isExpired() && getDaysUntilExpiration() <= warningDays;
     }
     
     public void setWarning(boolean warning) {
@@ -59,7 +76,10 @@ public class DomainInfo {
     }
     
     public String getStatus() {
-        return status;
+        if (notAfterEpochSecond == 0) {
+            return status;
+        }
+        return isExpired() ? "EXPIRED" : isWarning() ? "WARNING" : "VALID";
     }
     
     public void setStatus(String status) {
@@ -74,6 +94,22 @@ public class DomainInfo {
         this.error = error;
     }
     
+    public long getNotAfterEpochSecond() {
+        return notAfterEpochSecond;
+    }
+    
+    public void setNotAfterEpochSecond(long notAfterEpochSecond) {
+        this.notAfterEpochSecond = notAfterEpochSecond;
+    }
+    
+    public int getWarningDays() {
+        return warningDays;
+    }
+    
+    public void setWarningDays(int warningDays) {
+        this.warningDays = warningDays;
+    }
+    
     public LocalDateTime getLastChecked() {
         return lastChecked;
     }
@@ -81,4 +117,12 @@ public class DomainInfo {
     public void setLastChecked(LocalDateTime lastChecked) {
         this.lastChecked = lastChecked;
     }
+    
+    public long getCheckDurationNanos() {
+        return checkDurationNanos;
+    }
+    
+    public void setCheckDurationNanos(long checkDurationNanos) {
+        this.checkDurationNanos = checkDurationNanos;
+    }
 }
\ No newline at end of file
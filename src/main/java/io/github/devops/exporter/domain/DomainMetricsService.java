@@ -1,5 +1,7 @@
 package io.github.devops.exporter.domain;
 
+import io.github.devops.exporter.common.LatencyRecorder;
+import io.github.devops.exporter.config.DomainMonitorProperties;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
@@ -15,9 +17,12 @@ public class DomainMetricsService {
     private final MeterRegistry meterRegistry;
     private final Map<String, DomainInfo> domainInfoCache = new ConcurrentHashMap<>();
     private final Set<String> registeredMetrics = ConcurrentHashMap.newKeySet();
+    private final LatencyRecorder checkDurations;
     
-    public DomainMetricsService(MeterRegistry meterRegistry) {
+    public DomainMetricsService(MeterRegistry meterRegistry, DomainMonitorProperties properties) {
         this.meterRegistry = meterRegistry;
+        this.checkDurations = new LatencyRecorder(meterRegistry, "domain_whois_duration",
+            "WHOIS query latency", properties.getLatency());
     }
     
     public void updateDomainMetrics(DomainInfo domainInfo) {
@@ -26,6 +31,7 @@ public class DomainMetricsService {
         
         // 注册指标（只注册一次）
         registerDomainMetrics(domain);
+        recordCheckDuration(domainInfo);
     }
     
     private void registerDomainMetrics(String domain) {
@@ -38,7 +44,7 @@ public class DomainMetricsService {
         
         Tags tags = Tags.of("domain", domain);
         
-        // 域名过期剩余天数 (-999 表示查询失败)
+        // 域名过期剩余天数 (-999 表示查询失败)，按抓取时刻计算
         Gauge.builder("domain_expiration_days", domainInfoCache, cache -> {
             DomainInfo info = cache.get(domain);
             return info != null ? (double) info.getDaysUntilExpiration() : -999.0;
@@ -47,6 +53,16 @@ public class DomainMetricsService {
         .tags(tags)
         .register(meterRegistry);
         
+        // 域名注册过期时间 (epoch 秒，0 表示未知)
+        Gauge.builder("domain_expiry_timestamp_seconds", domainInfoCache, cache -> {
+            DomainInfo info = cache.get(domain);
+            return info != null ? (double) info.getNotAfterEpochSecond() : 0.0;
+        })
+        .description("Domain registration expiry as a Unix timestamp (0=unknown)")
+        .baseUnit("seconds")
+        .tags(tags)
+        .register(meterRegistry);
+        
         // 域名状态指标 (0=正常, 1=警告, 2=过期, 3=错误)
         Gauge.builder("domain_status", domainInfoCache, cache -> {
             DomainInfo info = cache.get(domain);
@@ -89,6 +105,12 @@ public class DomainMetricsService {
         registeredMetrics.add(metricKey);
     }
     
+    private void recordCheckDuration(DomainInfo domainInfo) {
+        checkDurations.record(domainInfo.getDomain(),
+            domain -> Tags.of("domain", domain),
+            domainInfo.getCheckDurationNanos());
+    }
+    
     private double getStatusValue(DomainInfo domainInfo) {
         if (domainInfo.getStatus() == null) {
             return 3.0; // ERROR
@@ -1,22 +1,20 @@
 package io.github.devops.exporter.domain;
 
+import io.github.devops.exporter.common.CheckCycleTracker;
+import io.github.devops.exporter.common.TimingWheelScheduler;
 import io.github.devops.exporter.config.DomainMonitorProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 @Component
-@EnableScheduling
-@EnableAsync
 public class DomainMonitorScheduler {
     
     private static final Logger logger = LoggerFactory.getLogger(DomainMonitorScheduler.class);
@@ -24,71 +22,88 @@ public class DomainMonitorScheduler {
     private final DomainMonitorProperties properties;
     private final DomainCheckService domainCheckService;
     private final DomainMetricsService metricsService;
+    private final TimingWheelScheduler timingWheel;
+    private final CheckCycleTracker cycleTracker;
     
     public DomainMonitorScheduler(DomainMonitorProperties properties,
                                  DomainCheckService domainCheckService,
-                                 DomainMetricsService metricsService) {
+                                 DomainMetricsService metricsService,
+                                 TimingWheelScheduler timingWheel,
+                                 MeterRegistry meterRegistry) {
         this.properties = properties;
         this.domainCheckService = domainCheckService;
         this.metricsService = metricsService;
+        this.timingWheel = timingWheel;
+        this.cycleTracker = new CheckCycleTracker("domain", meterRegistry);
     }
     
     @EventListener(ApplicationReadyEvent.class)
     public void onApplicationReady() {
         if (properties.isEnabled()) {
-            logger.info("Domain monitor is enabled, starting initial check...");
-            checkAllDomains();
+            logger.info("Domain monitor is enabled, scheduling checks...");
+            scheduleChecks();
         } else {
             logger.info("Domain monitor is disabled");
         }
     }
     
-    @Scheduled(fixedRateString = "#{${domain.monitor.check-interval} * 1000}")
-    public void scheduledCheck() {
-        if (properties.isEnabled()) {
-            logger.info("Starting scheduled domain check...");
-            checkAllDomains();
+    private void scheduleChecks() {
+        List<String> domains = properties.getDomains();
+        if (domains == null || domains.isEmpty()) {
+            logger.warn("No domains configured for monitoring");
+            return;
+        }
+        
+        // 每个目标按自己的间隔和相位独立调度，把检查均匀分散到整个周期内
+        for (String domain : domains) {
+            timingWheel.schedule("domain", domain, Duration.ofSeconds(properties.getIntervalFor(domain)),
+                () -> cycleTracker.runTarget(domain, true, () -> checkDomain(domain)));
         }
+        logger.info("Scheduled {} domains across their check intervals", domains.size());
     }
     
-    @Async
-    public void checkAllDomains() {
+    public CompletableFuture<Void> checkAllDomains() {
         List<String> domains = properties.getDomains();
         if (domains == null || domains.isEmpty()) {
             logger.warn("No domains configured for monitoring");
-            return;
+            return CompletableFuture.completedFuture(null);
         }
         
-        logger.info("Checking {} domains", domains.size());
-        
-        List<CompletableFuture<Void>> futures = domains.stream()
-            .map(domain -> 
-                domainCheckService.checkDomainAsync(domain)
-                    .thenAccept(domainInfo -> {
-                        metricsService.updateDomainMetrics(domainInfo);
-                        logDomainStatus(domainInfo);
-                    })
-                    .exceptionally(throwable -> {
-                        logger.error("Error checking domain {}: {}", 
-                            domain, throwable.getMessage());
-                        
-                        // 创建错误状态的 DomainInfo
-                        DomainInfo errorInfo = new DomainInfo(domain);
-                        errorInfo.setStatus("ERROR");
-                        errorInfo.setError(throwable.getMessage());
-                        errorInfo.setDaysUntilExpiration(-999);
-                        metricsService.updateDomainMetrics(errorInfo);
-                        
-                        return null;
-                    })
-            )
-            .toList();
-        
-        // 等待所有检查完成
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-            .thenRun(() -> logger.info("Domain check completed"))
+        // 定时检查、启动检查和手动触发共用一个在途周期，不会重复探测同一目标
+        return cycleTracker.runCycle(() -> {
+            logger.info("Checking {} domains", domains.size());
+            
+            List<CompletableFuture<Void>> futures = domains.stream()
+                .map(domain -> cycleTracker.runTarget(domain, false, () -> checkDomain(domain)))
+                .toList();
+            
+            // 等待所有检查完成
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenRun(() -> logger.info("Domain check completed"))
+                .exceptionally(throwable -> {
+                    logger.error("Error during domain check: {}", throwable.getMessage());
+                    return null;
+                });
+        });
+    }
+    
+    private CompletableFuture<Void> checkDomain(String domain) {
+        return domainCheckService.checkDomainAsync(domain)
+            .thenAccept(domainInfo -> {
+                metricsService.updateDomainMetrics(domainInfo);
+                logDomainStatus(domainInfo);
+            })
             .exceptionally(throwable -> {
-                logger.error("Error during domain check: {}", throwable.getMessage());
+                logger.error("Error checking domain {}: {}", 
+                    domain, throwable.getMessage());
+                
+                // 创建错误状态的 DomainInfo
+                DomainInfo errorInfo = new DomainInfo(domain);
+                errorInfo.setStatus("ERROR");
+                errorInfo.setError(throwable.getMessage());
+                errorInfo.setDaysUntilExpiration(-999);
+                metricsService.updateDomainMetrics(errorInfo);
+                
                 return null;
             });
     }
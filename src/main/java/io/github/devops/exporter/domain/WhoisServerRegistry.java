@@ -0,0 +1,233 @@
+package io.github.devops.exporter.domain;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// TLD -> WHOIS 服务器映射：第一次遇到的 TLD 向 IANA 查询 refer:，结果带 TTL 持久化到文件，重启后不用重新发现；
+// 另按域名缓存薄注册局（只返回注册商 WHOIS 服务器）指向的注册商服务器，之后直接查询注册商
+public class WhoisServerRegistry {
+
+    @FunctionalInterface
+    public interface WhoisQuery {
+        String query(String server, String text) throws IOException;
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(WhoisServerRegistry.class);
+    private static final Pattern REFER = Pattern.compile("^(?:refer|whois):\\s*(\\S+)",
+        Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+    private static final Pattern TLD_RECORD = Pattern.compile("^domain:\\s*\\S+",
+        Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+    private static final Pattern REGISTRAR_REFERRAL = Pattern.compile("^\\s*Registrar WHOIS Server:\\s*(\\S+)",
+        Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+    // IANA 暂时不可达时使用的内置映射，只在内存中保留一小段时间，之后重新向 IANA 查询
+    private static final Map<String, String> FALLBACK_SERVERS = Map.of(
+        "com", "whois.verisign-grs.com",
+        "net", "whois.verisign-grs.com",
+        "org", "whois.pir.org",
+        "info", "whois.afilias.net",
+        "biz", "whois.neulevel.biz",
+        "cn", "whois.cnnic.net.cn",
+        "uk", "whois.nominet.uk",
+        "de", "whois.denic.de",
+        "fr", "whois.afnic.fr",
+        "jp", "whois.jprs.jp");
+    private static final String DEFAULT_WHOIS_SERVER = "whois.internic.net";
+    private static final Duration FAILURE_RETRY = Duration.ofMinutes(10);
+    private static final String NO_SERVER = "-";
+
+    private final String ianaServer;
+    private final Path cacheFile;
+    private final Duration serverTtl;
+    private final Duration registrarTtl;
+    private final WhoisQuery whoisQuery;
+    private final Map<String, Entry> servers = new ConcurrentHashMap<>();
+    private final Map<String, Entry> registrars = new ConcurrentHashMap<>();
+    // 同一 TLD 的多个域名同时检查时只向 IANA 查询一次
+    private final Map<String, Object> discoveryLocks = new ConcurrentHashMap<>();
+
+    public WhoisServerRegistry(String ianaServer, Path cacheFile, Duration serverTtl, Duration registrarTtl,
+                               WhoisQuery whoisQuery) {
+        this.ianaServer = ianaServer;
+        this.cacheFile = cacheFile;
+        this.serverTtl = serverTtl;
+        this.registrarTtl = registrarTtl;
+        this.whoisQuery = whoisQuery;
+        load();
+    }
+
+    // 返回域名所在 TLD 的 WHOIS 服务器；IANA 登记该 TLD 没有 WHOIS 服务时返回 null
+    public String serverFor(String domain) {
+        String tld = tldOf(domain);
+        Entry entry = servers.get(tld);
+        if (entry != null && !entry.isExpired(Instant.now())) {
+            return entry.server;
+        }
+        synchronized (discoveryLocks.computeIfAbsent(tld, key -> new Object())) {
+            entry = servers.get(tld);
+            if (entry == null || entry.isExpired(Instant.now())) {
+                entry = discover(tld, entry);
+            }
+        }
+        return entry.server;
+    }
+
+    private Entry discover(String tld, Entry stale) {
+        Instant now = Instant.now();
+        Entry entry;
+        try {
+            String response = whoisQuery.query(ianaServer, tld);
+            String server = refer(response);
+            if (server != null || isTldRecord(response)) {
+                // 只有真正的 TLD 记录没有 refer: 时才认定该 TLD 没有 WHOIS 服务
+                entry = new Entry(server, now.plus(serverTtl), true);
+                logger.info("Discovered WHOIS server for .{}: {}", tld, server != null ? server : "none");
+            } else {
+                // 空响应、限流提示、"0 objects" 等不能说明 TLD 没有 WHOIS 服务
+                entry = fallback(tld, stale, now, "no TLD record in response");
+            }
+        } catch (IOException e) {
+            entry = fallback(tld, stale, now, e.getMessage());
+        }
+        servers.put(tld, entry);
+        if (entry.persistent) {
+            save();
+        }
+        return entry;
+    }
+
+    private Entry fallback(String tld, Entry stale, Instant now, String reason) {
+        // 过期的映射继续使用，没有映射时退回内置表；都不会写入文件，FAILURE_RETRY 后重新查询
+        String server = stale != null ? stale.server : FALLBACK_SERVERS.getOrDefault(tld, DEFAULT_WHOIS_SERVER);
+        logger.warn("Unable to discover WHOIS server for .{} from {}, using {}: {}", tld, ianaServer, server, reason);
+        return new Entry(server, now.plus(FAILURE_RETRY), false);
+    }
+
+    public String registrarFor(String domain) {
+        Entry entry = registrars.get(domain.toLowerCase(Locale.ROOT));
+        if (entry == null || entry.isExpired(Instant.now())) {
+            return null;
+        }
+        return entry.server;
+    }
+
+    public void rememberRegistrar(String domain, String server) {
+        registrars.put(domain.toLowerCase(Locale.ROOT), new Entry(server, Instant.now().plus(registrarTtl), false));
+    }
+
+    public void forgetRegistrar(String domain) {
+        registrars.remove(domain.toLowerCase(Locale.ROOT));
+    }
+
+    static boolean isTldRecord(String response) {
+        return TLD_RECORD.matcher(response).find();
+    }
+
+    // IANA 的 TLD 记录中 refer: 指向注册局的 WHOIS 服务器，部分记录只有 whois: 字段
+    static String refer(String response) {
+        Matcher matcher = REFER.matcher(response);
+        return matcher.find() ? hostOf(matcher.group(1)) : null;
+    }
+
+    // 薄注册局的响应中 Registrar WHOIS Server 指向注册商的 WHOIS 服务器
+    static String registrarReferral(String response) {
+        Matcher matcher = REGISTRAR_REFERRAL.matcher(response);
+        return matcher.find() ? hostOf(matcher.group(1)) : null;
+    }
+
+    private static String hostOf(String value) {
+        String host = value.replaceFirst("^[a-zA-Z]+://", "").replaceFirst("/.*$", "");
+        return host.isEmpty() ? null : host.toLowerCase(Locale.ROOT);
+    }
+
+    static String tldOf(String domain) {
+        String name = domain.endsWith(".") ? domain.substring(0, domain.length() - 1) : domain;
+        return name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    // 文件每行一个 TLD：tld 服务器 过期时间(epoch 秒)，没有 WHOIS 服务的 TLD 服务器记为 -
+    private void load() {
+        if (cacheFile == null) {
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            for (String line : Files.readAllLines(cacheFile, StandardCharsets.UTF_8)) {
+                String[] fields = line.trim().split("\\s+");
+                if (fields.length != 3) {
+                    continue;
+                }
+                Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(fields[2]));
+                if (expiresAt.isAfter(now)) {
+                    servers.put(fields[0], new Entry(NO_SERVER.equals(fields[1]) ? null : fields[1], expiresAt, true));
+                }
+            }
+            logger.info("Loaded {} WHOIS servers from {}", servers.size(), cacheFile);
+        } catch (NoSuchFileException e) {
+            logger.debug("WHOIS server cache {} does not exist yet", cacheFile);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Unable to load WHOIS server cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+
+    private synchronized void save() {
+        if (cacheFile == null) {
+            return;
+        }
+        List<String> lines = new ArrayList<>();
+        Instant now = Instant.now();
+        new TreeMap<>(servers).forEach((tld, entry) -> {
+            if (entry.persistent && !entry.isExpired(now)) {
+                lines.add(tld + " " + (entry.server != null ? entry.server : NO_SERVER)
+                    + " " + entry.expiresAt.getEpochSecond());
+            }
+        });
+        try {
+            // 先写临时文件再改名，进程中途退出不会留下写了一半的文件
+            Path parent = cacheFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temporary = Files.createTempFile(parent, cacheFile.getFileName().toString(), ".tmp");
+            Files.write(temporary, lines, StandardCharsets.UTF_8);
+            try {
+                Files.move(temporary, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.warn("Unable to save WHOIS server cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+
+    private static final class Entry {
+        private final String server;
+        private final Instant expiresAt;
+        private final boolean persistent; // 来自 IANA 的结果才写入文件
+
+        private Entry(String server, Instant expiresAt, boolean persistent) {
+            this.server = server;
+            this.expiresAt = expiresAt;
+            this.persistent = persistent;
+        }
+
+        private boolean isExpired(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package io.github.devops.exporter.http;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import io.github.devops.exporter.config.HttpBodyCheckProperties;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+// 响应体断言：编译一次，每次检查创建一个 Matcher 边读边判断，内存占用与响应体大小无关
+public class BodyAssertion {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int DECODE_BUFFER_SIZE = 8192;
+
+    private final String contains;
+    private final byte[] needle;
+    private final int[] failure;
+    private final Pattern pattern;
+    private final int regexWindow;
+    private final JsonPointer jsonPointer;
+    private final String jsonEquals;
+    private final long maxSize;
+
+    private BodyAssertion(HttpBodyCheckProperties properties) {
+        this.contains = properties.getContains();
+        this.needle = contains != null ? contains.getBytes(StandardCharsets.UTF_8) : null;
+        this.failure = needle != null ? failureTable(needle) : null;
+        this.pattern = properties.getRegex() != null ? Pattern.compile(properties.getRegex()) : null;
+        this.regexWindow = Math.max(256, properties.getRegexWindow());
+        this.jsonPointer = properties.getJsonPointer() != null ? JsonPointer.compile(properties.getJsonPointer()) : null;
+        this.jsonEquals = properties.getJsonEquals();
+        this.maxSize = properties.getMaxSize() != null ? properties.getMaxSize().toBytes() : -1;
+    }
+
+    // 正则或 JSON Pointer 写错时抛出 IllegalArgumentException
+    public static BodyAssertion compile(HttpBodyCheckProperties properties) {
+        return new BodyAssertion(properties);
+    }
+
+    public Matcher newMatcher(long contentLength) {
+        return new Matcher(contentLength);
+    }
+
+    private static int[] failureTable(byte[] needle) {
+        // KMP 前缀表，子串匹配可以跨越读取边界且不需要回看
+        int[] table = new int[needle.length];
+        for (int i = 1, k = 0; i < needle.length; i++) {
+            while (k > 0 && needle[i] != needle[k]) {
+                k = table[k - 1];
+            }
+            if (needle[i] == needle[k]) {
+                k++;
+            }
+            table[i] = k;
+        }
+        return table;
+    }
+
+    public final class Matcher {
+        private final long contentLength;
+        private final long startNanos = System.nanoTime();
+        private long bytes;
+        private boolean done;
+        private String failureMessage;
+        private long elapsedNanos;
+
+        private int needleMatched;
+        private boolean containsFound;
+
+        private CharsetDecoder decoder;
+        private ByteBuffer decodeInput;
+        private CharBuffer window;
+        private boolean regexFound;
+
+        private JsonParser parser;
+        private ByteArrayFeeder feeder;
+        private boolean jsonFound;
+
+        private Matcher(long contentLength) {
+            this.contentLength = contentLength;
+            if (pattern != null) {
+                decoder = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+                decodeInput = ByteBuffer.allocate(DECODE_BUFFER_SIZE);
+                window = CharBuffer.allocate(regexWindow);
+            }
+            if (jsonPointer != null) {
+                try {
+                    parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+                    feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+                } catch (IOException e) {
+                    fail("Unable to create JSON parser: " + e.getMessage());
+                }
+            }
+            if (maxSize >= 0 && contentLength > maxSize) {
+                // Content-Length 已经超限，不需要读响应体
+                fail("Body size " + contentLength + " exceeds max-size " + maxSize);
+            }
+            checkVerdict();
+        }
+
+        // 返回 true 表示已经有结论，调用方可以停止读取
+        public boolean feed(byte[] buffer, int offset, int length) {
+            if (done || length <= 0) {
+                return done;
+            }
+
+            bytes += length;
+            if (maxSize >= 0 && bytes > maxSize) {
+                fail("Body exceeds max-size " + maxSize);
+                return true;
+            }
+            if (needle != null && !containsFound) {
+                feedContains(buffer, offset, length);
+            }
+            if (pattern != null && !regexFound) {
+                feedRegex(buffer, offset, length);
+            }
+            if (parser != null && !jsonFound && failureMessage == null) {
+                feedJson(buffer, offset, length);
+            }
+            checkVerdict();
+            return done;
+        }
+
+        // 响应体读完，未满足的断言判定为失败
+        public void finish() {
+            if (done) {
+                return;
+            }
+            if (pattern != null && !regexFound) {
+                decodeInput.flip();
+                decoder.decode(decodeInput, window, true);
+                decoder.flush(window);
+                regexFound = searchWindow();
+            }
+            if (parser != null && !jsonFound && failureMessage == null) {
+                feeder.endOfInput();
+                readJsonTokens();
+            }
+
+            if (failureMessage == null) {
+                if (needle != null && !containsFound) {
+                    fail("Body does not contain '" + contains + "'");
+                } else if (pattern != null && !regexFound) {
+                    fail("Body does not match /" + pattern.pattern() + "/");
+                } else if (parser != null && !jsonFound) {
+                    fail("JSON pointer " + jsonPointer + " not found");
+                }
+            }
+            complete();
+        }
+
+        private void feedContains(byte[] buffer, int offset, int length) {
+            int k = needleMatched;
+            for (int i = offset, end = offset + length; i < end; i++) {
+                while (k > 0 && buffer[i] != needle[k]) {
+                    k = failure[k - 1];
+                }
+                if (buffer[i] == needle[k]) {
+                    k++;
+                }
+                if (k == needle.length) {
+                    containsFound = true;
+                    return;
+                }
+            }
+            needleMatched = k;
+        }
+
+        private void feedRegex(byte[] buffer, int offset, int length) {
+            int position = offset;
+            int end = offset + length;
+            while (position < end && !regexFound) {
+                int n = Math.min(end - position, decodeInput.remaining());
+                decodeInput.put(buffer, position, n);
+                position += n;
+
+                decodeInput.flip();
+                CoderResult result;
+                while ((result = decoder.decode(decodeInput, window, false)).isOverflow()) {
+                    if (searchWindow()) {
+                        break;
+                    }
+                }
+                // 不完整的多字节字符留在 decodeInput 中，和下一段数据一起解码
+                decodeInput.compact();
+                if (!regexFound && result.isUnderflow()) {
+                    regexFound = searchWindow();
+                }
+            }
+        }
+
+        private boolean searchWindow() {
+            window.flip();
+            if (pattern.matcher(window).find()) {
+                regexFound = true;
+                return true;
+            }
+            // 没找到时只保留后半个窗口，跨边界的匹配在下一次搜索中仍然完整
+            window.position(Math.max(0, window.limit() - regexWindow / 2));
+            window.compact();
+            return false;
+        }
+
+        private void feedJson(byte[] buffer, int offset, int length) {
+            try {
+                feeder.feedInput(buffer, offset, offset + length);
+            } catch (IOException e) {
+                fail("Invalid JSON: " + e.getMessage());
+                return;
+            }
+            readJsonTokens();
+        }
+
+        private void readJsonTokens() {
+            try {
+                JsonToken token;
+                while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                    if (token == JsonToken.FIELD_NAME || token.isStructEnd()) {
+                        continue;
+                    }
+                    if (!parser.getParsingContext().pathAsPointer().equals(jsonPointer)) {
+                        continue;
+                    }
+
+                    jsonFound = true;
+                    if (jsonEquals == null) {
+                        return;
+                    }
+                    if (token.isStructStart()) {
+                        fail("JSON pointer " + jsonPointer + " is not a scalar value");
+                    } else if (!jsonEquals.equals(parser.getText())) {
+                        fail("JSON pointer " + jsonPointer + " is '" + parser.getText() + "', expected '" + jsonEquals + "'");
+                    }
+                    return;
+                }
+            } catch (IOException e) {
+                fail("Invalid JSON: " + e.getMessage());
+            }
+        }
+
+        private void checkVerdict() {
+            if (done) {
+                return;
+            }
+            boolean satisfied = (needle == null || containsFound)
+                && (pattern == null || regexFound)
+                && (parser == null || jsonFound);
+            // 有大小上限且没有 Content-Length 时必须读完才能确定没有超限
+            boolean sizeKnown = maxSize < 0 || contentLength >= 0;
+            if (satisfied && sizeKnown) {
+                complete();
+            }
+        }
+
+        private void fail(String message) {
+            if (failureMessage == null) {
+                failureMessage = message;
+            }
+            complete();
+        }
+
+        private void complete() {
+            if (!done) {
+                done = true;
+                elapsedNanos = System.nanoTime() - startNanos;
+                if (parser != null) {
+                    try {
+                        parser.close();
+                    } catch (IOException ignored) {
+                        // 只是释放解析器缓冲区
+                    }
+                }
+            }
+        }
+
+        public boolean isDone() {
+            return done;
+        }
+
+        public boolean isMatched() {
+            return done && failureMessage == null;
+        }
+
+        public String getFailureMessage() {
+            return failureMessage;
+        }
+
+        public long getBytesInspected() {
+            return bytes;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,222 @@
+package io.github.devops.exporter.http;
+
+import java.util.Locale;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+// 响应体按推送方式逐块解码 (gzip / deflate)，分别统计线上字节和解码后字节，解码结果交给断言；
+// 不缓存响应体，三个引擎共用：urlconnection / traced 从输入流读出的块，httpclient 的 ByteBuffer
+public class BodyDecoder {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_GZIP_HEADER = 64 * 1024;
+
+    private enum Encoding { IDENTITY, GZIP, DEFLATE, UNSUPPORTED }
+
+    private final Encoding encoding;
+    private final String contentEncoding;
+    private final BodyAssertion.Matcher matcher;
+    private final long startNanos = System.nanoTime();
+    private long lastByteNanos = startNanos;
+    private long wireBytes;
+    private long decodedBytes;
+    private String error;
+    private boolean done;
+
+    private Inflater inflater;
+    private byte[] output;
+    private byte[] gzipHeader; // gzip 头可能跨越多次读取，完整之前先攒着
+    private int gzipHeaderLength;
+
+    BodyDecoder(String contentEncoding, BodyAssertion.Matcher matcher) {
+        this.contentEncoding = contentEncoding;
+        this.encoding = parse(contentEncoding);
+        this.matcher = matcher;
+        if (encoding == Encoding.UNSUPPORTED) {
+            error = "Unsupported Content-Encoding: " + contentEncoding;
+        }
+    }
+
+    private static Encoding parse(String contentEncoding) {
+        if (contentEncoding == null || contentEncoding.isBlank()) {
+            return Encoding.IDENTITY;
+        }
+        switch (contentEncoding.trim().toLowerCase(Locale.ROOT)) {
+            case "identity":
+                return Encoding.IDENTITY;
+            case "gzip":
+            case "x-gzip":
+                return Encoding.GZIP;
+            case "deflate":
+                return Encoding.DEFLATE;
+            default:
+                return Encoding.UNSUPPORTED;
+        }
+    }
+
+    static boolean isIdentity(String contentEncoding) {
+        return parse(contentEncoding) == Encoding.IDENTITY;
+    }
+
+    // Content-Length 已经决定了断言结论时不必读取响应体
+    public boolean isDecided() {
+        return matcher != null && matcher.isDone();
+    }
+
+    // 返回 true 表示断言已有结论，调用方可以停止读取
+    public boolean feed(byte[] buffer, int offset, int length) {
+        if (length <= 0) {
+            return false;
+        }
+        wireBytes += length;
+        lastByteNanos = System.nanoTime();
+        if (done) {
+            return true;
+        }
+        if (error != null) {
+            return false; // 无法解码时只统计线上字节
+        }
+        if (encoding == Encoding.IDENTITY) {
+            decodedBytes += length;
+            return done = matcher != null && matcher.feed(buffer, offset, length);
+        }
+        if (encoding == Encoding.GZIP && inflater == null) {
+            return feedGzipHeader(buffer, offset, length);
+        }
+        if (inflater == null) {
+            // deflate 按 RFC 应为 zlib 格式，但不少服务端直接发送裸 deflate 流，按第一个字节区分
+            boolean zlib = (buffer[offset] & 0x0F) == 8 && (buffer[offset] & 0xFF) >>> 4 <= 7;
+            startInflater(!zlib);
+        }
+        return inflate(buffer, offset, length);
+    }
+
+    private boolean feedGzipHeader(byte[] buffer, int offset, int length) {
+        if (gzipHeader == null) {
+            gzipHeader = new byte[Math.max(64, length)];
+        }
+        if (gzipHeaderLength + length > gzipHeader.length) {
+            if (gzipHeaderLength + length > MAX_GZIP_HEADER) {
+                error = "GZIP header too large";
+                return false;
+            }
+            byte[] grown = new byte[Math.max(gzipHeader.length * 2, gzipHeaderLength + length)];
+            System.arraycopy(gzipHeader, 0, grown, 0, gzipHeaderLength);
+            gzipHeader = grown;
+        }
+        System.arraycopy(buffer, offset, gzipHeader, gzipHeaderLength, length);
+        gzipHeaderLength += length;
+
+        int headerEnd = gzipHeaderEnd(gzipHeader, gzipHeaderLength);
+        if (headerEnd == -2) {
+            error = "Not in GZIP format";
+            return false;
+        }
+        if (headerEnd < 0) {
+            return false; // 头还不完整
+        }
+        byte[] pending = gzipHeader;
+        gzipHeader = null;
+        startInflater(true);
+        return inflate(pending, headerEnd, gzipHeaderLength - headerEnd);
+    }
+
+    // 返回压缩数据的起始位置；-1 表示还需要更多字节，-2 表示不是 gzip
+    static int gzipHeaderEnd(byte[] header, int length) {
+        if (length < 10) {
+            return length >= 2 && (header[0] != (byte) 0x1F || header[1] != (byte) 0x8B) ? -2 : -1;
+        }
+        if (header[0] != (byte) 0x1F || header[1] != (byte) 0x8B || header[2] != 8) {
+            return -2;
+        }
+        int flags = header[3] & 0xFF;
+        int position = 10;
+        if ((flags & 0x04) != 0) { // FEXTRA
+            if (length < position + 2) {
+                return -1;
+            }
+            position += 2 + ((header[position] & 0xFF) | (header[position + 1] & 0xFF) << 8);
+        }
+        for (int flag : new int[] {0x08, 0x10}) { // FNAME、FCOMMENT，以 0 结尾
+            if ((flags & flag) != 0) {
+                while (position < length && header[position] != 0) {
+                    position++;
+                }
+                if (position >= length) {
+                    return -1;
+                }
+                position++;
+            }
+        }
+        if ((flags & 0x02) != 0) { // FHCRC
+            position += 2;
+        }
+        return position <= length ? position : -1;
+    }
+
+    private void startInflater(boolean nowrap) {
+        inflater = new Inflater(nowrap);
+        output = new byte[BUFFER_SIZE];
+    }
+
+    private boolean inflate(byte[] buffer, int offset, int length) {
+        if (inflater.finished()) {
+            return false; // gzip 尾部的 CRC 和长度
+        }
+        inflater.setInput(buffer, offset, length);
+        try {
+            while (true) {
+                int inflated = inflater.inflate(output);
+                if (inflated > 0) {
+                    decodedBytes += inflated;
+                    if (matcher != null && matcher.feed(output, 0, inflated)) {
+                        // 断言已有结论，调用方不会再读取，直接释放 Inflater 的本地内存
+                        done = true;
+                        inflater.end();
+                        return true;
+                    }
+                } else if (inflater.finished() || inflater.needsInput() || inflater.needsDictionary()) {
+                    return false;
+                }
+            }
+        } catch (DataFormatException e) {
+            error = "Invalid " + contentEncoding + " body: " + e.getMessage();
+            return false;
+        }
+    }
+
+    public void finish() {
+        if (inflater != null && !done) {
+            inflater.end();
+        }
+        if (matcher != null && !matcher.isDone()) {
+            matcher.finish();
+        }
+    }
+
+    // Getters
+    public BodyAssertion.Matcher getMatcher() {
+        return matcher;
+    }
+
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    public long getWireBytes() {
+        return wireBytes;
+    }
+
+    // 无法解码时为 -1
+    public long getDecodedBytes() {
+        return error != null ? -1 : decodedBytes;
+    }
+
+    public long getTransferNanos() {
+        return lastByteNanos - startNanos;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.devops.exporter.http;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// 按白名单保留响应头，重复出现的值去重后共享同一个 String，缓存的 HttpInfo 不随 URL 数增长而复制大量相同字符串
+public class HeaderCapture {
+
+    private static final int POOL_SIZE = 4096; // 2 的幂
+    private static final int MAX_POOLED_LENGTH = 256;
+
+    private final Map<String, String> allowed = new HashMap<>(); // 小写名 -> 共享的名称实例
+    private final boolean captureAll;
+    // 直接映射的去重缓存：冲突时覆盖旧值，内存固定，像 Date 这样每次都不同的值不会撑大缓存
+    private final String[] pool = new String[POOL_SIZE];
+
+    public HeaderCapture(List<String> captureHeaders) {
+        boolean all = false;
+        if (captureHeaders != null) {
+            for (String header : captureHeaders) {
+                if ("*".equals(header.trim())) {
+                    all = true;
+                } else if (!header.isBlank()) {
+                    String name = header.trim().toLowerCase(Locale.ROOT);
+                    allowed.put(name, name);
+                }
+            }
+        }
+        this.captureAll = all;
+    }
+
+    public boolean isEnabled() {
+        return captureAll || !allowed.isEmpty();
+    }
+
+    // 引擎读完响应头后调用：只复制白名单中的响应头，未配置白名单时不建 map，直接返回 null
+    public Map<String, String> capture(Map<String, List<String>> headers) {
+        if (!isEnabled() || headers == null) {
+            return null;
+        }
+        Map<String, String> captured = null;
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            String name = canonicalName(header.getKey());
+            if (name == null || header.getValue().isEmpty()) {
+                continue;
+            }
+            if (captured == null) {
+                captured = new HashMap<>(captureAll ? headers.size() * 2 : allowed.size() * 2);
+            }
+            List<String> values = header.getValue();
+            captured.put(name, dedupe(values.size() == 1 ? values.get(0) : String.join(", ", values)));
+        }
+        return captured != null ? Map.copyOf(captured) : null;
+    }
+
+    // 结果进入缓存前对常见的重复字符串去重
+    public void apply(HttpInfo httpInfo) {
+        httpInfo.setContentType(dedupe(httpInfo.getContentType()));
+        httpInfo.setStatusMessage(dedupe(httpInfo.getStatusMessage()));
+    }
+
+    private String canonicalName(String name) {
+        if (name == null || name.startsWith(":")) {
+            return null; // HttpURLConnection 的状态行、HTTP/2 的伪头部
+        }
+        String lower = name.toLowerCase(Locale.ROOT);
+        String canonical = allowed.get(lower);
+        if (canonical != null) {
+            return canonical;
+        }
+        return captureAll ? dedupe(lower) : null;
+    }
+
+    String dedupe(String value) {
+        if (value == null || value.length() > MAX_POOLED_LENGTH) {
+            return value;
+        }
+        // 并发下的竞争只会导致少量重复，不影响正确性
+        int slot = (value.hashCode() * 0x9E3779B9 >>> 20) & (POOL_SIZE - 1);
+        String pooled = pool[slot];
+        if (value.equals(pooled)) {
+            return pooled;
+        }
+        pool[slot] = value;
+        return value;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package io.github.devops.exporter.http;
+
+import java.util.Arrays;
+
+public class HttpBurstStats {
+    private int samples;
+    private int successes;
+    private double successRatio;
+    // 以下耗时只统计成功的样本（纳秒）
+    private long minNanos;
+    private long medianNanos;
+    private long p95Nanos;
+    private long maxNanos;
+    private long[] sampleNanos;
+    
+    public static HttpBurstStats of(int samples, long[] successNanos) {
+        HttpBurstStats stats = new HttpBurstStats();
+        long[] sorted = successNanos.clone();
+        Arrays.sort(sorted);
+        stats.samples = samples;
+        stats.successes = sorted.length;
+        stats.successRatio = samples > 0 ? (double) sorted.length / samples : 0.0;
+        stats.sampleNanos = sorted;
+        if (sorted.length > 0) {
+            stats.minNanos = sorted[0];
+            stats.medianNanos = percentile(sorted, 0.5);
+            stats.p95Nanos = percentile(sorted, 0.95);
+            stats.maxNanos = sorted[sorted.length - 1];
+        }
+        return stats;
+    }
+    
+    private static long percentile(long[] sorted, double percentile) {
+        // nearest-rank：样本数少时不做插值，结果一定是某个真实样本
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+    
+    // Getters and Setters
+    public int getSamples() {
+        return samples;
+    }
+    
+    public void setSamples(int samples) {
+        this.samples = samples;
+    }
+    
+    public int getSuccesses() {
+        return successes;
+    }
+    
+    public void setSuccesses(int successes) {
+        this.successes = successes;
+    }
+    
+    public double getSuccessRatio() {
+        return successRatio;
+    }
+    
+    public void setSuccessRatio(double successRatio) {
+        this.successRatio = successRatio;
+    }
+    
+    public long getMinNanos() {
+        return minNanos;
+    }
+    
+    public void setMinNanos(long minNanos) {
+        this.minNanos = minNanos;
+    }
+    
+    public long getMedianNanos() {
+        return medianNanos;
+    }
+    
+    public void setMedianNanos(long medianNanos) {
+        this.medianNanos = medianNanos;
+    }
+    
+    public long getP95Nanos() {
+        return p95Nanos;
+    }
+    
+    public void setP95Nanos(long p95Nanos) {
+        this.p95Nanos = p95Nanos;
+    }
+    
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+    
+    public void setMaxNanos(long maxNanos) {
+        this.maxNanos = maxNanos;
+    }
+    
+    public long[] getSampleNanos() {
+        return sampleNanos;
+    }
+    
+    public void setSampleNanos(long[] sampleNanos) {
+        this.sampleNanos = sampleNanos;
+    }
+}
\ No newline at end of file
@@ -1,57 +1,497 @@
 package io.github.devops.exporter.http;
 
+import io.github.devops.exporter.common.CheckExecutor;
+import io.github.devops.exporter.common.CountingInputStream;
+import io.github.devops.exporter.common.DnsCache;
+import io.github.devops.exporter.common.HostThrottle;
+import io.github.devops.exporter.config.HttpBodyCheckProperties;
+import io.github.devops.exporter.config.HttpBurstProperties;
 import io.github.devops.exporter.config.HttpMonitorProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.HttpURLConnection;
+import java.net.URI;
 import java.net.URL;
-import java.util.HashMap;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class HttpCheckService {
     
     private static final Logger logger = LoggerFactory.getLogger(HttpCheckService.class);
+    static final int MAX_REDIRECTS = 10;
+    private static final int STATUS_LINE_BYTES = "HTTP/1.1 200 OK\r\n".length();
     
     private final HttpMonitorProperties properties;
+    private final CheckExecutor checkExecutor;
+    private final DnsCache dnsCache;
+    private final HttpClientEngine httpClientEngine;
+    private final TracedHttpEngine tracedHttpEngine;
+    private final HostThrottle hostThrottle;
+    private final HeaderCapture headerCapture;
+    // CONDITIONAL 探测记住每个目标最近一次的 ETag / Last-Modified
+    private final Map<String, Validators> validators = new ConcurrentHashMap<>();
+    // 对 HEAD 返回 405/501 的目标，之后改用 RANGE 探测
+    private final Set<String> headUnsupported = ConcurrentHashMap.newKeySet();
+    // 编译后的响应体断言，配置错误的目标缓存为空，只报一次错
+    private final Map<String, Optional<BodyAssertion>> bodyAssertions = new ConcurrentHashMap<>();
+    // 已确认稳定的永久重定向 (301/308) 目标，检查时直接请求
+    private final Map<String, PermanentRedirect> permanentRedirects = new ConcurrentHashMap<>();
+    // 最近一次响应体断言结果，条件请求返回 304 时沿用
+    private final Map<String, HttpInfo> bodyVerdicts = new ConcurrentHashMap<>();
     
-    public HttpCheckService(HttpMonitorProperties properties) {
+    public HttpCheckService(HttpMonitorProperties properties,
+                            @Qualifier("httpCheckExecutor") CheckExecutor checkExecutor,
+                            DnsCache dnsCache,
+                            HttpClientEngine httpClientEngine,
+                            TracedHttpEngine tracedHttpEngine,
+                            MeterRegistry meterRegistry) {
         this.properties = properties;
+        this.checkExecutor = checkExecutor;
+        this.dnsCache = dnsCache;
+        this.httpClientEngine = httpClientEngine;
+        this.tracedHttpEngine = tracedHttpEngine;
+        this.hostThrottle = new HostThrottle("http", properties.getHostLimit(), properties.getIpLimit(),
+            dnsCache, checkExecutor, meterRegistry);
+        this.headerCapture = new HeaderCapture(properties.getCaptureHeaders());
     }
     
     public CompletableFuture<HttpInfo> checkHttpAsync(String url) {
-        return CompletableFuture.supplyAsync(() -> checkHttp(url));
+        HttpBurstProperties burst = properties.getBurstFor(url);
+        if (burst == null) {
+            return checkOnceAsync(url);
+        }
+        // 突发采样：同一周期内发出多个请求得到延迟分布，检查间隔不变
+        CompletableFuture<List<HttpInfo>> samples = burst.isConcurrent()
+            ? concurrentBurst(url, burst.getSamples())
+            : sequentialBurst(url, burst.getSamples(), new ArrayList<>());
+        return samples.thenApply(results -> summarizeBurst(url, burst, results));
+    }
+    
+    private CompletableFuture<List<HttpInfo>> sequentialBurst(String url, int samples, List<HttpInfo> results) {
+        // 上一个请求结束后再发下一个，keep-alive 连接得以复用，测到的是连接建立之后的延迟
+        return checkOnceAsync(url).thenCompose(httpInfo -> {
+            results.add(httpInfo);
+            if (results.size() >= samples) {
+                return CompletableFuture.completedFuture(results);
+            }
+            return sequentialBurst(url, samples, results);
+        });
+    }
+    
+    private CompletableFuture<List<HttpInfo>> concurrentBurst(String url, int samples) {
+        List<CompletableFuture<HttpInfo>> futures = new ArrayList<>(samples);
+        for (int i = 0; i < samples; i++) {
+            futures.add(checkOnceAsync(url));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+    }
+    
+    private HttpInfo summarizeBurst(String url, HttpBurstProperties burst, List<HttpInfo> results) {
+        long[] successNanos = results.stream()
+            .filter(HttpInfo::isAvailable)
+            .mapToLong(HttpInfo::getCheckDurationNanos)
+            .toArray();
+        HttpBurstStats stats = HttpBurstStats.of(results.size(), successNanos);
+        boolean available = stats.getSuccesses() > 0 && stats.getSuccessRatio() >= burst.getMinSuccessRatio();
+        
+        // 可用时以耗时等于中位数的成功样本为代表，否则取第一个失败的样本，保留它的状态码和错误信息
+        HttpInfo representative = null;
+        for (HttpInfo httpInfo : results) {
+            if (available ? httpInfo.isAvailable() && httpInfo.getCheckDurationNanos() == stats.getMedianNanos()
+                : !httpInfo.isAvailable()) {
+                representative = httpInfo;
+                break;
+            }
+        }
+        if (representative == null) {
+            representative = results.get(results.size() - 1);
+        }
+        if (available && !representative.isAvailable()) {
+            representative.setAvailable(true);
+            representative.setStatus("AVAILABLE");
+            representative.setError(null);
+        }
+        if (available) {
+            representative.setCheckDurationNanos(stats.getMedianNanos());
+            representative.setResponseTimeMs(TimeUnit.NANOSECONDS.toMillis(stats.getMedianNanos()));
+        }
+        // 字节数按整个突发累计，反映这一轮检查真实的流量
+        representative.setBytesReceived(results.stream().mapToLong(HttpInfo::getBytesReceived).sum());
+        representative.setBurst(stats);
+        logger.debug("HTTP burst for {}: {}/{} succeeded, median {}ms, p95 {}ms", url,
+            stats.getSuccesses(), stats.getSamples(),
+            TimeUnit.NANOSECONDS.toMillis(stats.getMedianNanos()), TimeUnit.NANOSECONDS.toMillis(stats.getP95Nanos()));
+        return representative;
+    }
+    
+    // 按 origin 分组检查：第一个路径建立连接，协商出 HTTP/2 时其余路径作为并发流复用这条连接，
+    // HTTP/1.1 时在 keep-alive 连接上依次发出，每个周期的握手数随主机数而不是 URL 数增长
+    public CompletableFuture<List<HttpInfo>> checkOriginAsync(List<String> urls) {
+        List<HttpInfo> results = new ArrayList<>(urls.size());
+        return checkHttpAsync(urls.get(0)).thenCompose(first -> {
+            results.add(first);
+            List<String> rest = urls.subList(1, urls.size());
+            if (rest.isEmpty()) {
+                return CompletableFuture.completedFuture(results);
+            }
+            // 连接失败时逐个重试只会叠加超时，直接并发
+            if ("HTTP/2".equals(first.getHttpVersion()) || "ERROR".equals(first.getStatus())) {
+                List<CompletableFuture<HttpInfo>> futures = rest.stream().map(this::checkHttpAsync).toList();
+                return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .thenApply(ignored -> {
+                        futures.forEach(future -> results.add(future.join()));
+                        return results;
+                    });
+            }
+            return checkSequentially(rest, 0, results);
+        });
+    }
+    
+    private CompletableFuture<List<HttpInfo>> checkSequentially(List<String> urls, int index, List<HttpInfo> results) {
+        // JDK 的 HTTP 客户端不支持 HTTP/1.1 管线化，上一个响应读完、连接回到连接池后再发下一个
+        return checkHttpAsync(urls.get(index)).thenCompose(httpInfo -> {
+            results.add(httpInfo);
+            if (index + 1 >= urls.size()) {
+                return CompletableFuture.completedFuture(results);
+            }
+            return checkSequentially(urls, index + 1, results);
+        });
+    }
+    
+    // 开启 group-by-origin 后，除 traced 外的目标都改用 httpclient 引擎分组检查
+    public boolean isOriginGrouped(String url) {
+        return properties.isGroupByOrigin() && !"traced".equalsIgnoreCase(properties.getEngineFor(url));
+    }
+    
+    public static String originOf(String url) {
+        try {
+            return HttpClientEngine.origin(URI.create(url));
+        } catch (IllegalArgumentException e) {
+            // 非法 URL 单独成组，由检查本身记录 ERROR
+            return url;
+        }
+    }
+    
+    private CompletableFuture<HttpInfo> checkOnceAsync(String url) {
+        HttpProbe probe = probeFor(url);
+        return fetchAsync(url, probe).thenCompose(httpInfo -> {
+            if (headRejected(url, probe, httpInfo)) {
+                // 服务端不支持 HEAD 时立即改用 RANGE 重试，避免误报不可用
+                return fetchAsync(url, probeFor(url)).thenApply(retry -> complete(url, retry));
+            }
+            return CompletableFuture.completedFuture(complete(url, httpInfo));
+        });
     }
     
     public HttpInfo checkHttp(String url) {
+        HttpProbe probe = probeFor(url);
+        HttpInfo httpInfo = fetchUrlConnection(url, probe);
+        if (headRejected(url, probe, httpInfo)) {
+            httpInfo = fetchUrlConnection(url, probeFor(url));
+        }
+        return complete(url, httpInfo);
+    }
+    
+    private CompletableFuture<HttpInfo> fetchAsync(String url, HttpProbe probe) {
+        // 永久重定向目标已确认时直接请求最终 URL，省掉中间的跳转
+        String requestUrl = permanentRedirectFor(url);
+        String host;
+        try {
+            host = URI.create(requestUrl).getHost();
+        } catch (IllegalArgumentException e) {
+            // 配置了非法 URL 时同样返回 ERROR 结果，调度器照常记录指标
+            return CompletableFuture.completedFuture(errorInfo(url, properties.getEngineFor(url), probe, e.getMessage()));
+        }
+        // 同一主机 / IP 的检查受并发和速率限制，等待许可时不占用检查线程
+        return hostThrottle.run(host, () -> dispatch(url, requestUrl, probe))
+            .thenApply(httpInfo -> {
+                if (!requestUrl.equals(url)) {
+                    httpInfo.setUrl(url);
+                    httpInfo.setRedirectCached(true);
+                    if (httpInfo.getFinalUrl() == null) {
+                        httpInfo.setFinalUrl(requestUrl);
+                    }
+                }
+                return httpInfo;
+            });
+    }
+    
+    private CompletableFuture<HttpInfo> dispatch(String url, String requestUrl, HttpProbe probe) {
+        String engine = isOriginGrouped(url) ? "httpclient" : properties.getEngineFor(url);
+        if ("traced".equalsIgnoreCase(engine)) {
+            return checkExecutor.supplyAsync(() -> fetchTraced(requestUrl, probe));
+        }
+        if (!"httpclient".equalsIgnoreCase(engine)) {
+            return checkExecutor.supplyAsync(() -> fetchUrlConnection(requestUrl, probe));
+        }
+        
+        // DNS 解析可能阻塞，放在线程池中完成；请求由 HttpClient 异步发送，不占用检查线程
+        return checkExecutor.supplyAsync(() -> resolveHost(requestUrl))
+            .thenCompose(resolved -> httpClientEngine.check(requestUrl, probe))
+            .exceptionally(throwable -> {
+                Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause() : throwable;
+                String message = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+                return errorInfo(requestUrl, "httpclient", probe, message);
+            });
+    }
+    
+    private String permanentRedirectFor(String url) {
+        PermanentRedirect redirect = permanentRedirects.get(url);
+        if (redirect == null || !redirect.confirmed) {
+            return url;
+        }
+        if (System.nanoTime() - redirect.expiresAtNanos > 0) {
+            // 过期后重新从原始 URL 走一遍完整的跳转链
+            permanentRedirects.remove(url, redirect);
+            return url;
+        }
+        return redirect.target;
+    }
+    
+    private void observeRedirects(String url, HttpInfo httpInfo) {
+        Duration ttl = properties.getRedirectCacheTtl();
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            return;
+        }
+        if (httpInfo.isRedirectCached()) {
+            if (!httpInfo.isAvailable()) {
+                // 直接请求缓存的目标失败时作废，下次从原始 URL 开始确认
+                permanentRedirects.remove(url);
+            }
+            return;
+        }
+        
+        // 只缓存从第一跳开始连续的 301/308，遇到临时重定向就停止
+        List<RedirectHop> chain = httpInfo.getRedirectChain();
+        int permanentHops = 0;
+        if (chain != null) {
+            while (permanentHops < chain.size() - 1 && chain.get(permanentHops).isPermanent()) {
+                permanentHops++;
+            }
+        }
+        if (permanentHops == 0 || !httpInfo.isAvailable()) {
+            permanentRedirects.remove(url);
+            return;
+        }
+        
+        // 连续两次检查指向同一个目标才认为稳定
+        String target = chain.get(permanentHops).getUrl();
+        PermanentRedirect previous = permanentRedirects.get(url);
+        if (previous != null && previous.target.equals(target)) {
+            if (!previous.confirmed) {
+                logger.info("Caching permanent redirect {} -> {} for {}", url, target, ttl);
+            }
+            previous.confirmed = true;
+            previous.expiresAtNanos = System.nanoTime() + ttl.toNanos();
+        } else {
+            permanentRedirects.put(url, new PermanentRedirect(target));
+        }
+    }
+    
+    HttpProbe probeFor(String url) {
+        HttpProbe.Mode mode;
+        try {
+            mode = HttpProbe.Mode.parse(properties.getProbeFor(url));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown HTTP probe mode '{}' for {}, using GET", properties.getProbeFor(url), url);
+            mode = HttpProbe.Mode.GET;
+        }
+        if (mode == HttpProbe.Mode.HEAD && headUnsupported.contains(url)) {
+            mode = HttpProbe.Mode.RANGE;
+        }
+        
+        BodyAssertion bodyAssertion = bodyAssertionFor(url);
+        if (bodyAssertion != null && (mode == HttpProbe.Mode.HEAD || mode == HttpProbe.Mode.RANGE)) {
+            mode = HttpProbe.Mode.GET; // 响应体断言需要完整的响应体
+        }
+        
+        HttpProbe probe = new HttpProbe(mode);
+        probe.setBodyAssertion(bodyAssertion);
+        if (properties.isCompressionFor(url) && mode != HttpProbe.Mode.RANGE) {
+            // 范围请求的字节区间针对的是编码后的表示，不协商压缩
+            probe.header("Accept-Encoding", "gzip, deflate");
+        }
+        probe.setKeepAlive(properties.getBurstFor(url) != null);
+        if (mode == HttpProbe.Mode.RANGE) {
+            probe.header("Range", "bytes=0-0");
+        } else if (mode == HttpProbe.Mode.CONDITIONAL) {
+            Validators cached = validators.get(url);
+            if (cached != null && cached.etag != null) {
+                probe.header("If-None-Match", cached.etag);
+            }
+            if (cached != null && cached.lastModified != null) {
+                probe.header("If-Modified-Since", cached.lastModified);
+            }
+        }
+        return probe;
+    }
+    
+    private BodyAssertion bodyAssertionFor(String url) {
+        HttpBodyCheckProperties body = properties.getBodyCheckFor(url);
+        if (body == null) {
+            return null;
+        }
+        return bodyAssertions.computeIfAbsent(url, u -> {
+            try {
+                return Optional.of(BodyAssertion.compile(body));
+            } catch (IllegalArgumentException e) {
+                logger.error("Invalid body check for {}, ignoring it: {}", u, e.getMessage());
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+    
+    private boolean headRejected(String url, HttpProbe probe, HttpInfo httpInfo) {
+        if (probe.getMode() != HttpProbe.Mode.HEAD
+            || (httpInfo.getStatusCode() != 405 && httpInfo.getStatusCode() != 501)) {
+            return false;
+        }
+        if (headUnsupported.add(url)) {
+            logger.info("{} rejected HEAD with {}, falling back to ranged GET", url, httpInfo.getStatusCode());
+        }
+        return true;
+    }
+    
+    private HttpInfo complete(String url, HttpInfo httpInfo) {
+        if (httpInfo.getStatus() == null && HttpProbe.Mode.CONDITIONAL.name().equals(httpInfo.getProbe())) {
+            rememberValidators(url, httpInfo);
+        }
+        // 引擎只复制了白名单中的响应头，这里再对 Content-Type 等重复字符串去重
+        headerCapture.apply(httpInfo);
+        if (httpInfo.getStatus() != null) {
+            return httpInfo; // 请求出错，状态已经是 ERROR
+        }
+        if (httpInfo.getBodyMatched() != null) {
+            bodyVerdicts.put(url, httpInfo);
+        } else if (httpInfo.getStatusCode() == 304 && bodyAssertionFor(url) != null) {
+            // 304 表示响应体没有变化，上一次的断言结果仍然有效
+            HttpInfo previous = bodyVerdicts.get(url);
+            if (previous != null) {
+                httpInfo.setBodyMatched(previous.getBodyMatched());
+                httpInfo.setBodyCheckMessage(previous.getBodyCheckMessage());
+            }
+        }
+        applyStatus(httpInfo);
+        observeRedirects(url, httpInfo);
+        return httpInfo;
+    }
+    
+    private void rememberValidators(String url, HttpInfo httpInfo) {
+        int statusCode = httpInfo.getStatusCode();
+        if (statusCode == 304) {
+            return; // 资源未变化，继续使用已有的校验值
+        }
+        
+        String etag = httpInfo.getEtag();
+        String lastModified = httpInfo.getLastModified();
+        if (statusCode == 200 && (etag != null || lastModified != null)) {
+            validators.put(url, new Validators(etag, lastModified));
+        } else {
+            validators.remove(url);
+        }
+    }
+    
+    private HttpInfo fetchTraced(String url, HttpProbe probe) {
+        try {
+            return tracedHttpEngine.check(url, probe);
+        } catch (Exception e) {
+            return errorInfo(url, "traced", probe, e.getMessage());
+        }
+    }
+    
+    private HttpInfo errorInfo(String url, String engine, HttpProbe probe, String message) {
+        logger.error("Error checking HTTP for {}: {}", url, message);
         HttpInfo httpInfo = new HttpInfo(url);
+        httpInfo.setEngine(engine);
+        httpInfo.setProbe(probe.getMode().name());
+        httpInfo.setStatus("ERROR");
+        httpInfo.setError(message);
+        httpInfo.setAvailable(false);
+        return httpInfo;
+    }
+    
+    private String resolveHost(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            dnsCache.resolve(host);
+            return host;
+        } catch (UnknownHostException e) {
+            throw new CompletionException(e);
+        }
+    }
+    
+    private HttpInfo fetchUrlConnection(String url, HttpProbe probe) {
+        HttpInfo httpInfo = new HttpInfo(url);
+        httpInfo.setEngine("urlconnection");
+        httpInfo.setHttpVersion("HTTP/1.1");
+        httpInfo.setProbe(probe.getMode().name());
         
         try {
-            long startTime = System.currentTimeMillis();
-            HttpURLConnection connection = createConnection(url);
+            long startTime = System.nanoTime();
+            long bytesReceived = 0;
+            String hopUrl = url;
+            HttpURLConnection connection;
+            int statusCode;
+            long hopStartNanos;
+            
+            // 重定向逐跳处理，HttpURLConnection 自己跟随时看不到中间的跳转
+            for (int hop = 0; ; hop++) {
+                hopStartNanos = System.nanoTime();
+                // 先经过共享 DNS 缓存：解析失败直接命中负缓存，成功时 JVM 自身的地址缓存也已预热
+                dnsCache.resolve(new URL(hopUrl).getHost());
+                connection = createConnection(hopUrl, probe);
+                statusCode = connection.getResponseCode();
+                
+                String location = isRedirect(statusCode) ? connection.getHeaderField("Location") : null;
+                if (!properties.isFollowRedirects() || location == null || hop >= MAX_REDIRECTS) {
+                    break;
+                }
+                bytesReceived += estimateHeaderBytes(connection) + drain(connection, statusCode, null);
+                release(connection, probe);
+                httpInfo.addRedirectHop(new RedirectHop(hopUrl, statusCode, location,
+                    System.nanoTime() - hopStartNanos, false));
+                hopUrl = new URL(new URL(hopUrl), location).toString();
+            }
             
             // 执行请求
-            int statusCode = connection.getResponseCode();
             String statusMessage = connection.getResponseMessage();
-            long endTime = System.currentTimeMillis();
+            long durationNanos = System.nanoTime() - startTime;
+            if (httpInfo.getRedirectChain() != null) {
+                httpInfo.addRedirectHop(new RedirectHop(hopUrl, statusCode, null, System.nanoTime() - hopStartNanos, false));
+                httpInfo.setFinalUrl(hopUrl);
+            }
             
-            httpInfo.setResponseTimeMs(endTime - startTime);
+            httpInfo.setCheckDurationNanos(durationNanos);
+            httpInfo.setResponseTimeMs(TimeUnit.NANOSECONDS.toMillis(durationNanos));
             httpInfo.setStatusCode(statusCode);
             httpInfo.setStatusMessage(statusMessage);
             
-            // 获取响应头信息
-            Map<String, String> headers = new HashMap<>();
-            connection.getHeaderFields().forEach((key, values) -> {
-                if (key != null && !values.isEmpty()) {
-                    headers.put(key, String.join(", ", values));
-                }
-            });
-            httpInfo.setResponseHeaders(headers);
+            // 响应头只保留白名单中的，条件请求的校验值单独读取
+            if (headerCapture.isEnabled()) {
+                httpInfo.setResponseHeaders(headerCapture.capture(connection.getHeaderFields()));
+            }
+            if (probe.getMode() == HttpProbe.Mode.CONDITIONAL) {
+                httpInfo.setEtag(connection.getHeaderField("ETag"));
+                httpInfo.setLastModified(connection.getHeaderField("Last-Modified"));
+            }
             
             // 获取内容信息
             httpInfo.setContentLength(connection.getContentLengthLong());
@@ -63,21 +503,13 @@ public class HttpCheckService {
                 httpInfo.setRedirectUrl(redirectUrl);
             }
             
-            // 判断可用性
-            boolean isAvailable = isSuccessStatusCode(statusCode);
-            httpInfo.setAvailable(isAvailable);
+            // 读完响应体，统计实际传输的字节数
+            BodyDecoder decoder = probe.newBodyDecoder(statusCode, connection.getContentLengthLong(),
+                connection.getContentEncoding());
+            httpInfo.setBytesReceived(bytesReceived + estimateHeaderBytes(connection) + drain(connection, statusCode, decoder));
+            applyBody(httpInfo, decoder);
             
-            if (isAvailable) {
-                httpInfo.setStatus("AVAILABLE");
-                logger.debug("HTTP check for {} successful: {} {} ({}ms)", 
-                    url, statusCode, statusMessage, httpInfo.getResponseTimeMs());
-            } else {
-                httpInfo.setStatus("UNAVAILABLE");
-                httpInfo.setError("HTTP " + statusCode + " " + statusMessage);
-                logger.debug("HTTP check for {} failed: {} {}", url, statusCode, statusMessage);
-            }
-            
-            connection.disconnect();
+            release(connection, probe);
             
         } catch (Exception e) {
             logger.error("Error checking HTTP for {}: {}", url, e.getMessage());
@@ -89,7 +521,122 @@ public class HttpCheckService {
         return httpInfo;
     }
     
-    private HttpURLConnection createConnection(String urlString) throws IOException {
+    private static void release(HttpURLConnection connection, HttpProbe probe) {
+        // 响应体读完后连接已回到 JDK 的 keep-alive 缓存，disconnect 会把它关掉
+        if (!probe.isKeepAlive()) {
+            connection.disconnect();
+        }
+    }
+    
+    private static long drain(HttpURLConnection connection, int statusCode, BodyDecoder decoder)
+        throws IOException {
+        if (decoder != null && decoder.isDecided()) {
+            return 0; // Content-Length 已经超过上限
+        }
+        InputStream body = statusCode >= 400 ? connection.getErrorStream() : connection.getInputStream();
+        if (body == null) {
+            return 0;
+        }
+        try (CountingInputStream in = new CountingInputStream(body)) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                if (decoder != null && decoder.feed(buffer, 0, read)) {
+                    // 断言已有结论，剩余响应体不再读取，连接随后关闭
+                    return in.getCount();
+                }
+            }
+            if (decoder != null) {
+                decoder.finish();
+            }
+            return in.getCount();
+        }
+    }
+    
+    static void applyBody(HttpInfo httpInfo, BodyDecoder decoder) {
+        if (decoder == null) {
+            return;
+        }
+        httpInfo.setContentEncoding(decoder.getContentEncoding());
+        httpInfo.setBodyWireBytes(decoder.getWireBytes());
+        httpInfo.setBodyDecodedBytes(decoder.getDecodedBytes());
+        httpInfo.setBodyTransferNanos(decoder.getTransferNanos());
+        
+        BodyAssertion.Matcher matcher = decoder.getMatcher();
+        if (matcher == null || !matcher.isDone()) {
+            return;
+        }
+        httpInfo.setBodyMatched(matcher.isMatched());
+        // 解压失败时断言看到的是不完整的内容，报告解压错误更准确
+        httpInfo.setBodyCheckMessage(matcher.isMatched() || decoder.getError() == null
+            ? matcher.getFailureMessage() : decoder.getError());
+        httpInfo.setBodyCheckNanos(matcher.getElapsedNanos());
+    }
+    
+    // 按 HTTP/1.1 文本格式估算响应头大小（状态行 + 每行 "name: value\r\n" + 空行）
+    static long estimateHeaderBytes(Map<String, List<String>> headers) {
+        long bytes = STATUS_LINE_BYTES + 2;
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (header.getKey() == null || header.getKey().startsWith(":")) {
+                continue; // HTTP/2 的伪头部
+            }
+            for (String value : header.getValue()) {
+                bytes += header.getKey().length() + value.length() + 4;
+            }
+        }
+        return bytes;
+    }
+    
+    // HttpURLConnection 按下标逐行读取，第 0 行是状态行（名称为 null），不需要复制出头部 map
+    private static long estimateHeaderBytes(HttpURLConnection connection) {
+        long bytes = 2;
+        String value;
+        for (int i = 0; (value = connection.getHeaderField(i)) != null; i++) {
+            String name = connection.getHeaderFieldKey(i);
+            bytes += (name != null ? name.length() + 2 : 0) + value.length() + 2;
+        }
+        return bytes;
+    }
+    
+    private HttpInfo applyStatus(HttpInfo httpInfo) {
+        int statusCode = httpInfo.getStatusCode();
+        boolean isAvailable = isSuccessStatusCode(effectiveStatusCode(httpInfo));
+        
+        if (isAvailable && Boolean.FALSE.equals(httpInfo.getBodyMatched())) {
+            // 状态码正常但响应体不符合预期，例如返回 200 的错误页
+            httpInfo.setAvailable(false);
+            httpInfo.setStatus("UNAVAILABLE");
+            httpInfo.setError("Body check failed: " + httpInfo.getBodyCheckMessage());
+            logger.debug("HTTP check for {} failed body check: {}", httpInfo.getUrl(), httpInfo.getBodyCheckMessage());
+            return httpInfo;
+        }
+        httpInfo.setAvailable(isAvailable);
+        
+        if (isAvailable) {
+            httpInfo.setStatus("AVAILABLE");
+            logger.debug("HTTP check for {} successful: {} {} ({}ms)", 
+                httpInfo.getUrl(), statusCode, httpInfo.getStatusMessage(), httpInfo.getResponseTimeMs());
+        } else {
+            httpInfo.setStatus("UNAVAILABLE");
+            httpInfo.setError(("HTTP " + statusCode + " " + httpInfo.getStatusMessage()).trim());
+            logger.debug("HTTP check for {} failed: {} {}", httpInfo.getUrl(), statusCode, httpInfo.getStatusMessage());
+        }
+        return httpInfo;
+    }
+    
+    private static int effectiveStatusCode(HttpInfo httpInfo) {
+        // 条件请求的 304、范围请求的 206 等同于完整 GET 的 200
+        int statusCode = httpInfo.getStatusCode();
+        if (statusCode == 304 && HttpProbe.Mode.CONDITIONAL.name().equals(httpInfo.getProbe())) {
+            return 200;
+        }
+        if (statusCode == 206 && HttpProbe.Mode.RANGE.name().equals(httpInfo.getProbe())) {
+            return 200;
+        }
+        return statusCode;
+    }
+    
+    private HttpURLConnection createConnection(String urlString, HttpProbe probe) throws IOException {
         URL url = new URL(urlString);
         HttpURLConnection connection = (HttpURLConnection) url.openConnection();
         
@@ -98,18 +645,21 @@ public class HttpCheckService {
         connection.setReadTimeout(properties.getReadTimeout());
         
         // 设置请求方法
-        connection.setRequestMethod("GET");
+        connection.setRequestMethod(probe.getMethod());
         
         // 设置用户代理
         connection.setRequestProperty("User-Agent", 
             "DevOps-Exporter/1.0 (HTTP Monitor)");
         
-        // 设置是否跟随重定向
-        connection.setInstanceFollowRedirects(properties.isFollowRedirects());
+        // 重定向由 fetchUrlConnection 逐跳处理
+        connection.setInstanceFollowRedirects(false);
         
         // 设置其他请求头
         connection.setRequestProperty("Accept", "*/*");
-        connection.setRequestProperty("Connection", "close");
+        if (!probe.isKeepAlive()) {
+            connection.setRequestProperty("Connection", "close");
+        }
+        probe.getHeaders().forEach(connection::setRequestProperty);
         
         return connection;
     }
@@ -127,4 +677,24 @@ public class HttpCheckService {
     private boolean isRedirect(int statusCode) {
         return statusCode >= 300 && statusCode < 400;
     }
+    
+    private static final class PermanentRedirect {
+        private final String target;
+        private volatile boolean confirmed;
+        private volatile long expiresAtNanos;
+        
+        private PermanentRedirect(String target) {
+            this.target = target;
+        }
+    }
+    
+    private static final class Validators {
+        private final String etag;
+        private final String lastModified;
+        
+        private Validators(String etag, String lastModified) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,237 @@
+package io.github.devops.exporter.http;
+
+import io.github.devops.exporter.config.HttpClientProperties;
+import io.github.devops.exporter.config.HttpMonitorProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSessionContext;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class HttpClientEngine {
+
+    // JDK HttpClient 连接池的空闲超时是 JVM 级的系统属性，在 HttpClient 相关类第一次加载时读取
+    public static final String KEEP_ALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+    public static final long DEFAULT_KEEP_ALIVE_SECONDS = 1200;
+
+    private final HttpMonitorProperties properties;
+    private final ExecutorService executor;
+    private final HttpClient client;
+    private final long keepAliveNanos;
+    private final HeaderCapture headerCapture;
+    // origin -> 最近一次收到响应的时间，用于判断本次请求是否复用了连接
+    private final Map<String, Long> lastOriginUse = new ConcurrentHashMap<>();
+
+    public HttpClientEngine(HttpMonitorProperties properties) {
+        this.properties = properties;
+        this.headerCapture = new HeaderCapture(properties.getCaptureHeaders());
+        HttpClientProperties clientProperties = properties.getHttpClient();
+        // 与连接池实际使用的空闲超时保持一致（启动时由 main 设置默认值，或通过 -D 指定）
+        this.keepAliveNanos = TimeUnit.SECONDS.toNanos(Long.getLong(KEEP_ALIVE_PROPERTY, DEFAULT_KEEP_ALIVE_SECONDS));
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, clientProperties.getThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "http-client-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.client = HttpClient.newBuilder()
+            .version(clientProperties.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(properties.getConnectionTimeout()))
+            .followRedirects(HttpClient.Redirect.NEVER) // 重定向在 send 中逐跳处理
+            .sslContext(createSslContext(clientProperties))
+            .executor(executor)
+            .build();
+    }
+
+    private static SSLContext createSslContext(HttpClientProperties clientProperties) {
+        // 所有目标共用一个 SSLContext，TLS 会话缓存让新连接也能走简化握手
+        try {
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, null, null);
+            SSLSessionContext sessions = sslContext.getClientSessionContext();
+            sessions.setSessionCacheSize(clientProperties.getSessionCacheSize());
+            sessions.setSessionTimeout((int) clientProperties.getSessionTimeout().toSeconds());
+            return sslContext;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialize TLS context for HTTP checks", e);
+        }
+    }
+
+    public CompletableFuture<HttpInfo> check(String url, HttpProbe probe) {
+        HttpInfo httpInfo = new HttpInfo(url);
+        httpInfo.setEngine("httpclient");
+        httpInfo.setProbe(probe.getMode().name());
+        return send(URI.create(url), probe, httpInfo, System.nanoTime(), 0);
+    }
+
+    // 重定向由这里逐跳处理（HttpClient 自己跟随时看不到中间的跳转），每一跳都记录状态、耗时和连接复用
+    private CompletableFuture<HttpInfo> send(URI uri, HttpProbe probe, HttpInfo httpInfo, long checkStartNanos, int hop) {
+        String origin = origin(uri);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+            .method(probe.getMethod(), HttpRequest.BodyPublishers.noBody())
+            .timeout(Duration.ofMillis(properties.getConnectionTimeout() + properties.getReadTimeout()))
+            .header("User-Agent", "DevOps-Exporter/1.0 (HTTP Monitor)")
+            .header("Accept", "*/*");
+        probe.getHeaders().forEach(builder::header);
+        HttpRequest request = builder.build();
+
+        long startNanos = System.nanoTime();
+        long startMillis = System.currentTimeMillis();
+        Long lastUse = lastOriginUse.get(origin);
+
+        // 响应体只计数和做断言，不保存；断言没有结论时会读完，连接才能放回连接池
+        return client.sendAsync(request, responseInfo -> new BodyInspector(probe.newBodyDecoder(
+                responseInfo.statusCode(), responseInfo.headers().firstValueAsLong("Content-Length").orElse(-1),
+                responseInfo.headers().firstValue("Content-Encoding").orElse(null))))
+            .thenCompose(response -> {
+                long hopNanos = System.nanoTime() - startNanos;
+                lastOriginUse.put(origin, System.nanoTime());
+                boolean reused = isReused(lastUse, startNanos, startMillis, response.sslSession());
+
+                // HTTP/2 的头部经过 HPACK 压缩，这里按 HTTP/1.1 文本格式估算，偏大；直接遍历 JDK 的头部 map，不复制
+                httpInfo.setBytesReceived(httpInfo.getBytesReceived()
+                    + HttpCheckService.estimateHeaderBytes(response.headers().map()) + response.body().bytes);
+
+                int statusCode = response.statusCode();
+                String location = statusCode >= 300 && statusCode < 400
+                    ? response.headers().firstValue("Location").orElse(null) : null;
+                if (properties.isFollowRedirects() && location != null && hop < HttpCheckService.MAX_REDIRECTS) {
+                    httpInfo.addRedirectHop(new RedirectHop(uri.toString(), statusCode, location, hopNanos, reused));
+                    return send(uri.resolve(location), probe, httpInfo, checkStartNanos, hop + 1);
+                }
+                if (httpInfo.getRedirectChain() != null) {
+                    httpInfo.addRedirectHop(new RedirectHop(uri.toString(), statusCode, null, hopNanos, reused));
+                    httpInfo.setFinalUrl(uri.toString());
+                }
+
+                long durationNanos = System.nanoTime() - checkStartNanos;
+                httpInfo.setCheckDurationNanos(durationNanos);
+                httpInfo.setResponseTimeMs(TimeUnit.NANOSECONDS.toMillis(durationNanos));
+                httpInfo.setStatusCode(statusCode);
+                httpInfo.setStatusMessage("");
+                httpInfo.setHttpVersion(response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1");
+                httpInfo.setConnectionReused(reused);
+                httpInfo.setResponseHeaders(headerCapture.capture(response.headers().map()));
+                if (probe.getMode() == HttpProbe.Mode.CONDITIONAL) {
+                    httpInfo.setEtag(response.headers().firstValue("ETag").orElse(null));
+                    httpInfo.setLastModified(response.headers().firstValue("Last-Modified").orElse(null));
+                }
+                HttpCheckService.applyBody(httpInfo, response.body().decoder);
+                httpInfo.setContentLength(response.headers().firstValueAsLong("Content-Length").orElse(-1));
+                httpInfo.setContentType(response.headers().firstValue("Content-Type").orElse(null));
+                httpInfo.setRedirectUrl(location);
+                return CompletableFuture.completedFuture(httpInfo);
+            });
+    }
+
+    private boolean isReused(Long lastUse, long startNanos, long startMillis, Optional<SSLSession> sslSession) {
+        // HttpClient 不暴露连接是否来自连接池，这里按两个条件推断：
+        // 同一 origin 在 keep-alive 时间内用过，且 TLS 会话早于本次请求创建（没有发生新的完整握手）
+        if (lastUse == null || startNanos - lastUse > keepAliveNanos) {
+            return false;
+        }
+        return sslSession.map(session -> session.getCreationTime() < startMillis).orElse(true);
+    }
+
+    static String origin(URI uri) {
+        int port = uri.getPort();
+        if (port < 0) {
+            port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+        return uri.getScheme() + "://" + uri.getHost() + ":" + port;
+    }
+
+    private static final class BodyInspector implements HttpResponse.BodySubscriber<BodyInspector> {
+        private final BodyDecoder decoder;
+        private final CompletableFuture<BodyInspector> body = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+        private long bytes;
+
+        private BodyInspector(BodyDecoder decoder) {
+            this.decoder = decoder;
+        }
+
+        @Override
+        public CompletionStage<BodyInspector> getBody() {
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (decoder != null && decoder.isDecided()) {
+                // Content-Length 已经决定了结论，不读响应体
+                subscription.cancel();
+                body.complete(this);
+                return;
+            }
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            if (body.isDone()) {
+                return;
+            }
+            for (ByteBuffer buffer : buffers) {
+                int length = buffer.remaining();
+                bytes += length;
+                if (decoder != null && feed(buffer, length)) {
+                    // 断言已有结论，取消订阅不再接收剩余响应体
+                    subscription.cancel();
+                    body.complete(this);
+                    return;
+                }
+            }
+        }
+
+        private boolean feed(ByteBuffer buffer, int length) {
+            if (buffer.hasArray()) {
+                return decoder.feed(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+            }
+            byte[] copy = new byte[length];
+            buffer.get(copy);
+            return decoder.feed(copy, 0, length);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (decoder != null) {
+                decoder.finish();
+            }
+            body.complete(this);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
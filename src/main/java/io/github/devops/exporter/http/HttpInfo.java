@@ -1,6 +1,8 @@
 package io.github.devops.exporter.http;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 public class HttpInfo {
@@ -14,8 +16,28 @@ public class HttpInfo {
     private long responseTimeMs;
     private long contentLength;
     private String contentType;
-    private Map<String, String> responseHeaders;
+    private Map<String, String> responseHeaders; // 只包含 capture-headers 白名单中的响应头
+    private String etag; // 条件请求模式下响应的 ETag 和 Last-Modified，下次请求时作为校验值
+    private String lastModified;
     private String redirectUrl;
+    private long checkDurationNanos;
+    private String engine;
+    private String httpVersion;
+    private boolean connectionReused;
+    private HttpTimings timings; // 仅 traced 引擎提供分阶段耗时
+    private String probe; // GET / HEAD / RANGE / CONDITIONAL
+    private long bytesReceived; // 本次检查收到的字节数（响应头 + 响应体，含重定向）
+    private Boolean bodyMatched; // 响应体断言结果，未配置断言时为 null
+    private String bodyCheckMessage; // 断言失败原因
+    private long bodyCheckNanos; // 从收到响应头到得出断言结论的耗时
+    private String contentEncoding; // 响应的 Content-Encoding，未压缩时为 null
+    private long bodyWireBytes; // 线上传输的响应体字节数（压缩后）
+    private long bodyDecodedBytes; // 解压后的响应体字节数，无法解压时为 -1
+    private long bodyTransferNanos; // 从收到响应头到读完响应体的耗时
+    private List<RedirectHop> redirectChain; // 跟随重定向时的每一跳（含最后一跳），没有重定向时为 null
+    private String finalUrl; // 实际得到响应的 URL，与 url 相同时为 null
+    private boolean redirectCached; // 是否直接请求了缓存的永久重定向目标
+    private HttpBurstStats burst; // 突发采样统计，未启用时为 null
     
     public HttpInfo(String url) {
         this.url = url;
@@ -111,6 +133,22 @@ public class HttpInfo {
         this.responseHeaders = responseHeaders;
     }
     
+    public String getEtag() {
+        return etag;
+    }
+    
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+    
+    public String getLastModified() {
+        return lastModified;
+    }
+    
+    public void setLastModified(String lastModified) {
+        this.lastModified = lastModified;
+    }
+    
     public String getRedirectUrl() {
         return redirectUrl;
     }
@@ -118,4 +156,155 @@ public class HttpInfo {
     public void setRedirectUrl(String redirectUrl) {
         this.redirectUrl = redirectUrl;
     }
+    
+    public long getCheckDurationNanos() {
+        return checkDurationNanos;
+    }
+    
+    public void setCheckDurationNanos(long checkDurationNanos) {
+        this.checkDurationNanos = checkDurationNanos;
+    }
+    
+    public String getEngine() {
+        return engine;
+    }
+    
+    public void setEngine(String engine) {
+        this.engine = engine;
+    }
+    
+    public String getHttpVersion() {
+        return httpVersion;
+    }
+    
+    public void setHttpVersion(String httpVersion) {
+        this.httpVersion = httpVersion;
+    }
+    
+    public boolean isConnectionReused() {
+        return connectionReused;
+    }
+    
+    public void setConnectionReused(boolean connectionReused) {
+        this.connectionReused = connectionReused;
+    }
+    
+    public HttpTimings getTimings() {
+        return timings;
+    }
+    
+    public void setTimings(HttpTimings timings) {
+        this.timings = timings;
+    }
+    
+    public String getProbe() {
+        return probe;
+    }
+    
+    public void setProbe(String probe) {
+        this.probe = probe;
+    }
+    
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+    
+    public void setBytesReceived(long bytesReceived) {
+        this.bytesReceived = bytesReceived;
+    }
+    
+    public Boolean getBodyMatched() {
+        return bodyMatched;
+    }
+    
+    public void setBodyMatched(Boolean bodyMatched) {
+        this.bodyMatched = bodyMatched;
+    }
+    
+    public String getBodyCheckMessage() {
+        return bodyCheckMessage;
+    }
+    
+    public void setBodyCheckMessage(String bodyCheckMessage) {
+        this.bodyCheckMessage = bodyCheckMessage;
+    }
+    
+    public long getBodyCheckNanos() {
+        return bodyCheckNanos;
+    }
+    
+    public void setBodyCheckNanos(long bodyCheckNanos) {
+        this.bodyCheckNanos = bodyCheckNanos;
+    }
+    
+    public List<RedirectHop> getRedirectChain() {
+        return redirectChain;
+    }
+    
+    public void setRedirectChain(List<RedirectHop> redirectChain) {
+        this.redirectChain = redirectChain;
+    }
+    
+    public void addRedirectHop(RedirectHop hop) {
+        if (redirectChain == null) {
+            redirectChain = new ArrayList<>(4);
+        }
+        redirectChain.add(hop);
+    }
+    
+    public String getFinalUrl() {
+        return finalUrl;
+    }
+    
+    public void setFinalUrl(String finalUrl) {
+        this.finalUrl = finalUrl;
+    }
+    
+    public boolean isRedirectCached() {
+        return redirectCached;
+    }
+    
+    public void setRedirectCached(boolean redirectCached) {
+        this.redirectCached = redirectCached;
+    }
+    
+    public HttpBurstStats getBurst() {
+        return burst;
+    }
+    
+    public void setBurst(HttpBurstStats burst) {
+        this.burst = burst;
+    }
+    
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+    
+    public void setContentEncoding(String contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+    
+    public long getBodyWireBytes() {
+        return bodyWireBytes;
+    }
+    
+    public void setBodyWireBytes(long bodyWireBytes) {
+        this.bodyWireBytes = bodyWireBytes;
+    }
+    
+    public long getBodyDecodedBytes() {
+        return bodyDecodedBytes;
+    }
+    
+    public void setBodyDecodedBytes(long bodyDecodedBytes) {
+        this.bodyDecodedBytes = bodyDecodedBytes;
+    }
+    
+    public long getBodyTransferNanos() {
+        return bodyTransferNanos;
+    }
+    
+    public void setBodyTransferNanos(long bodyTransferNanos) {
+        this.bodyTransferNanos = bodyTransferNanos;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package io.github.devops.exporter.http;
 
+import io.github.devops.exporter.common.LatencyRecorder;
+import io.github.devops.exporter.config.HttpMonitorProperties;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
@@ -9,6 +12,7 @@ import java.net.URL;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
 
 @Service
 public class HttpMetricsService {
@@ -16,9 +20,31 @@ public class HttpMetricsService {
     private final MeterRegistry meterRegistry;
     private final Map<String, HttpInfo> httpInfoCache = new ConcurrentHashMap<>();
     private final Set<String> registeredMetrics = ConcurrentHashMap.newKeySet();
+    private final LatencyRecorder checkDurations;
+    private final LatencyRecorder connectionDurations;
+    private final LatencyRecorder phaseDurations;
+    private final LatencyRecorder bodyCheckDurations;
+    private final Set<String> registeredBodyMetrics = ConcurrentHashMap.newKeySet();
+    private final Set<String> registeredBurstMetrics = ConcurrentHashMap.newKeySet();
+    private final Map<String, Counter> bytesCounters = new ConcurrentHashMap<>();
     
-    public HttpMetricsService(MeterRegistry meterRegistry) {
+    public HttpMetricsService(MeterRegistry meterRegistry, HttpMonitorProperties properties) {
         this.meterRegistry = meterRegistry;
+        this.checkDurations = new LatencyRecorder(meterRegistry, "http_check_duration",
+            "HTTP request latency", properties.getLatency());
+        this.connectionDurations = new LatencyRecorder(meterRegistry, "http_request_duration",
+            "HTTP request latency split by fresh vs reused (keep-alive / pooled) connections", properties.getLatency());
+        this.phaseDurations = new LatencyRecorder(meterRegistry, "http_phase_duration",
+            "HTTP request latency per phase (dns, connect, tls, ttfb, transfer, redirect)", properties.getLatency());
+        this.bodyCheckDurations = new LatencyRecorder(meterRegistry, "http_body_check_duration",
+            "Time from response headers to the body assertion verdict", properties.getLatency());
+        
+        // 所有目标最近一次检查收到的字节数之和，即跑完一轮检查需要的下行流量
+        Gauge.builder("http_cycle_response_bytes", httpInfoCache,
+                cache -> cache.values().stream().mapToLong(HttpInfo::getBytesReceived).sum())
+            .description("Bytes received by the latest check of every HTTP target, i.e. the cost of one check cycle")
+            .baseUnit("bytes")
+            .register(meterRegistry);
     }
     
     public void updateHttpMetrics(HttpInfo httpInfo) {
@@ -27,6 +53,10 @@ public class HttpMetricsService {
         
         // 注册指标（只注册一次）
         registerHttpMetrics(url);
+        recordCheckDuration(httpInfo);
+        recordBytes(httpInfo);
+        recordBodyCheck(httpInfo);
+        registerBurstMetrics(httpInfo);
     }
     
     private void registerHttpMetrics(String url) {
@@ -97,6 +127,69 @@ public class HttpMetricsService {
         .tags(tags)
         .register(meterRegistry);
         
+        // 最近一次检查收到的字节数
+        Gauge.builder("http_response_bytes", httpInfoCache, cache -> {
+            HttpInfo info = cache.get(url);
+            return info != null ? (double) info.getBytesReceived() : 0.0;
+        })
+        .description("Bytes received by the latest HTTP check (headers and body, including redirects)")
+        .tags(tags)
+        .register(meterRegistry);
+        
+        // 响应体字节数：wire 为线上传输的（压缩后），decoded 为解压后的，两者之比即压缩率
+        Gauge.builder("http_body_bytes", httpInfoCache, cache -> {
+            HttpInfo info = cache.get(url);
+            return info != null ? (double) info.getBodyWireBytes() : 0.0;
+        })
+        .description("Response body bytes of the latest HTTP check (wire = as transferred, decoded = after Content-Encoding)")
+        .tags(tags)
+        .tag("stage", "wire")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+        
+        Gauge.builder("http_body_bytes", httpInfoCache, cache -> {
+            HttpInfo info = cache.get(url);
+            return info != null && info.getBodyDecodedBytes() >= 0 ? (double) info.getBodyDecodedBytes() : Double.NaN;
+        })
+        .description("Response body bytes of the latest HTTP check (wire = as transferred, decoded = after Content-Encoding)")
+        .tags(tags)
+        .tag("stage", "decoded")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+        
+        // 响应体下载速度（线上字节 / 从响应头到读完响应体的耗时）
+        Gauge.builder("http_transfer_bytes_per_second", httpInfoCache, cache -> {
+            HttpInfo info = cache.get(url);
+            if (info == null || info.getBodyWireBytes() <= 0 || info.getBodyTransferNanos() <= 0) {
+                return Double.NaN;
+            }
+            return info.getBodyWireBytes() * 1_000_000_000.0 / info.getBodyTransferNanos();
+        })
+        .description("Response body transfer throughput of the latest HTTP check (wire bytes per second)")
+        .tags(tags)
+        .register(meterRegistry);
+        
+        // 最近一次检查经过的重定向次数
+        Gauge.builder("http_redirect_hops", httpInfoCache, cache -> {
+            HttpInfo info = cache.get(url);
+            if (info == null || info.getRedirectChain() == null) {
+                return 0.0;
+            }
+            return (double) info.getRedirectChain().size() - 1;
+        })
+        .description("Number of redirects followed by the latest HTTP check")
+        .tags(tags)
+        .register(meterRegistry);
+        
+        // 是否直接请求了缓存的永久重定向目标
+        Gauge.builder("http_redirect_cached", httpInfoCache, cache -> {
+            HttpInfo info = cache.get(url);
+            return info != null && info.isRedirectCached() ? 1.0 : 0.0;
+        })
+        .description("Whether the latest HTTP check went straight to a cached permanent redirect target")
+        .tags(tags)
+        .register(meterRegistry);
+        
         // 最后检查时间戳
         Gauge.builder("http_last_checked_timestamp", httpInfoCache, cache -> {
             HttpInfo info = cache.get(url);
@@ -130,6 +223,120 @@ public class HttpMetricsService {
         }
     }
     
+    private void recordCheckDuration(HttpInfo httpInfo) {
+        HttpBurstStats burst = httpInfo.getBurst();
+        if (burst != null) {
+            // 突发采样的每个成功样本都计入直方图，一个周期就能得到有意义的分位数
+            for (long nanos : burst.getSampleNanos()) {
+                checkDurations.record(httpInfo.getUrl(),
+                    url -> Tags.of("url", url, "host", extractHost(url), "scheme", extractScheme(url)),
+                    nanos);
+            }
+        } else {
+            checkDurations.record(httpInfo.getUrl(),
+                url -> Tags.of("url", url, "host", extractHost(url), "scheme", extractScheme(url)),
+                httpInfo.getCheckDurationNanos());
+        }
+        
+        // 新建连接（含 TCP/TLS 握手）和复用连接的耗时分开统计，按主机聚合控制基数
+        String host = extractHost(httpInfo.getUrl());
+        String connection = httpInfo.isConnectionReused() ? "reused" : "fresh";
+        connectionDurations.record(host + "|" + connection,
+            key -> Tags.of("host", host, "connection", connection),
+            httpInfo.getCheckDurationNanos());
+        
+        HttpTimings timings = httpInfo.getTimings();
+        if (timings != null) {
+            recordPhase(httpInfo.getUrl(), "dns", timings.getDnsNanos());
+            recordPhase(httpInfo.getUrl(), "connect", timings.getConnectNanos());
+            recordPhase(httpInfo.getUrl(), "tls", timings.getTlsNanos());
+            recordPhase(httpInfo.getUrl(), "ttfb", timings.getTtfbNanos());
+            recordPhase(httpInfo.getUrl(), "transfer", timings.getTransferNanos());
+            recordPhase(httpInfo.getUrl(), "redirect", timings.getRedirectNanos());
+        }
+    }
+    
+    private void recordBodyCheck(HttpInfo httpInfo) {
+        if (httpInfo.getBodyMatched() == null) {
+            return;
+        }
+        String url = httpInfo.getUrl();
+        bodyCheckDurations.record(url, key -> Tags.of("url", url, "host", extractHost(url)),
+            httpInfo.getBodyCheckNanos());
+        
+        // 只为配置了响应体断言的目标注册
+        if (registeredBodyMetrics.add(url)) {
+            Gauge.builder("http_body_match", httpInfoCache, cache -> {
+                HttpInfo info = cache.get(url);
+                if (info == null || info.getBodyMatched() == null) {
+                    return -1.0;
+                }
+                return info.getBodyMatched() ? 1.0 : 0.0;
+            })
+            .description("HTTP response body assertion result (1=matched, 0=failed, -1=not evaluated)")
+            .tags("url", url, "host", extractHost(url), "scheme", extractScheme(url))
+            .register(meterRegistry);
+        }
+    }
+    
+    private void registerBurstMetrics(HttpInfo httpInfo) {
+        String url = httpInfo.getUrl();
+        // 只为启用了突发采样的目标注册
+        if (httpInfo.getBurst() == null || !registeredBurstMetrics.add(url)) {
+            return;
+        }
+        Tags tags = Tags.of("url", url, "host", extractHost(url), "scheme", extractScheme(url));
+        
+        registerBurstLatency(url, tags, "min", HttpBurstStats::getMinNanos);
+        registerBurstLatency(url, tags, "median", HttpBurstStats::getMedianNanos);
+        registerBurstLatency(url, tags, "p95", HttpBurstStats::getP95Nanos);
+        registerBurstLatency(url, tags, "max", HttpBurstStats::getMaxNanos);
+        
+        // 本周期成功样本的比例，部分失败时介于 0 和 1 之间
+        Gauge.builder("http_burst_success_ratio", httpInfoCache, cache -> {
+            HttpInfo info = cache.get(url);
+            return info != null && info.getBurst() != null ? info.getBurst().getSuccessRatio() : 0.0;
+        })
+        .description("Fraction of successful requests in the latest HTTP burst")
+        .tags(tags)
+        .register(meterRegistry);
+    }
+    
+    private void registerBurstLatency(String url, Tags tags, String stat, ToLongFunction<HttpBurstStats> value) {
+        Gauge.builder("http_burst_latency_seconds", httpInfoCache, cache -> {
+            HttpInfo info = cache.get(url);
+            if (info == null || info.getBurst() == null || info.getBurst().getSuccesses() == 0) {
+                return Double.NaN;
+            }
+            return value.applyAsLong(info.getBurst()) / 1_000_000_000.0;
+        })
+        .description("Latency of successful requests in the latest HTTP burst (min, median, p95, max)")
+        .tags(tags)
+        .tag("stat", stat)
+        .register(meterRegistry);
+    }
+    
+    private void recordBytes(HttpInfo httpInfo) {
+        if (httpInfo.getBytesReceived() <= 0) {
+            return;
+        }
+        String host = extractHost(httpInfo.getUrl());
+        String probe = httpInfo.getProbe() != null ? httpInfo.getProbe() : "GET";
+        bytesCounters.computeIfAbsent(host + "|" + probe, key -> Counter.builder("http_received_bytes")
+                .description("Total bytes received by HTTP checks")
+                .baseUnit("bytes")
+                .tag("host", host)
+                .tag("probe", probe)
+                .register(meterRegistry))
+            .increment(httpInfo.getBytesReceived());
+    }
+    
+    private void recordPhase(String url, String phase, long nanos) {
+        phaseDurations.record(url + "|" + phase,
+            key -> Tags.of("url", url, "host", extractHost(url), "phase", phase),
+            nanos);
+    }
+    
     private double getStatusValue(HttpInfo httpInfo) {
         if (httpInfo.getStatus() == null) {
             return -1.0; // ERROR
@@ -1,15 +1,20 @@
 package io.github.devops.exporter.http;
 
+import io.github.devops.exporter.common.CheckCycleTracker;
+import io.github.devops.exporter.common.TimingWheelScheduler;
 import io.github.devops.exporter.config.HttpMonitorProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 @Component
@@ -20,71 +25,134 @@ public class HttpMonitorScheduler {
     private final HttpMonitorProperties properties;
     private final HttpCheckService httpCheckService;
     private final HttpMetricsService metricsService;
+    private final TimingWheelScheduler timingWheel;
+    private final CheckCycleTracker cycleTracker;
     
     public HttpMonitorScheduler(HttpMonitorProperties properties,
                                HttpCheckService httpCheckService,
-                               HttpMetricsService metricsService) {
+                               HttpMetricsService metricsService,
+                               TimingWheelScheduler timingWheel,
+                               MeterRegistry meterRegistry) {
         this.properties = properties;
         this.httpCheckService = httpCheckService;
         this.metricsService = metricsService;
+        this.timingWheel = timingWheel;
+        this.cycleTracker = new CheckCycleTracker("http", meterRegistry);
     }
     
     @EventListener(ApplicationReadyEvent.class)
     public void onApplicationReady() {
         if (properties.isEnabled()) {
-            logger.info("HTTP monitor is enabled, starting initial check...");
-            checkAllHttpServices();
+            logger.info("HTTP monitor is enabled, scheduling checks...");
+            scheduleChecks();
         } else {
             logger.info("HTTP monitor is disabled");
         }
     }
     
-    @Scheduled(fixedRateString = "#{${http.monitor.check-interval} * 1000}")
-    public void scheduledCheck() {
-        if (properties.isEnabled()) {
-            logger.info("Starting scheduled HTTP service check...");
-            checkAllHttpServices();
+    private void scheduleChecks() {
+        List<String> urls = properties.getTargetUrls();
+        if (urls == null || urls.isEmpty()) {
+            logger.warn("No URLs configured for HTTP monitoring");
+            return;
+        }
+        
+        // 每个目标按自己的间隔和相位独立调度，把检查均匀分散到整个周期内；按 origin 分组时同组的路径一起检查
+        Map<String, List<String>> units = checkUnits(urls);
+        units.forEach((key, group) ->
+            timingWheel.schedule("http", key, Duration.ofSeconds(properties.getIntervalFor(group.get(0))),
+                () -> cycleTracker.runTarget(key, true, () -> checkHttpServices(group))));
+        if (units.size() < urls.size()) {
+            logger.info("Scheduled {} HTTP services in {} origin groups across their check intervals",
+                urls.size(), units.size());
+        } else {
+            logger.info("Scheduled {} HTTP services across their check intervals", urls.size());
         }
     }
     
-    @Async
-    public void checkAllHttpServices() {
-        List<String> urls = properties.getUrls();
+    private Map<String, List<String>> checkUnits(List<String> urls) {
+        Map<String, List<String>> units = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (!httpCheckService.isOriginGrouped(url)) {
+                units.put(url, List.of(url));
+                continue;
+            }
+            // 只有检查间隔相同的路径才能放在一起
+            String key;
+            try {
+                key = HttpCheckService.originOf(url) + "@" + properties.getIntervalFor(url) + "s";
+            } catch (IllegalArgumentException e) {
+                key = url;
+            }
+            units.computeIfAbsent(key, k -> new ArrayList<>()).add(url);
+        }
+        return units;
+    }
+    
+    public CompletableFuture<Void> checkAllHttpServices() {
+        List<String> urls = properties.getTargetUrls();
         if (urls == null || urls.isEmpty()) {
             logger.warn("No URLs configured for HTTP monitoring");
-            return;
+            return CompletableFuture.completedFuture(null);
         }
         
-        logger.info("Checking {} HTTP services", urls.size());
-        
-        List<CompletableFuture<Void>> futures = urls.stream()
-            .map(url -> 
-                httpCheckService.checkHttpAsync(url)
-                    .thenAccept(httpInfo -> {
-                        metricsService.updateHttpMetrics(httpInfo);
-                        logHttpStatus(httpInfo);
-                    })
-                    .exceptionally(throwable -> {
-                        logger.error("Error checking HTTP service {}: {}", 
-                            url, throwable.getMessage());
-                        
-                        // 创建错误状态的 HttpInfo
-                        HttpInfo errorInfo = new HttpInfo(url);
-                        errorInfo.setStatus("ERROR");
-                        errorInfo.setError(throwable.getMessage());
-                        errorInfo.setAvailable(false);
-                        metricsService.updateHttpMetrics(errorInfo);
-                        
-                        return null;
-                    })
-            )
-            .toList();
-        
-        // 等待所有检查完成
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-            .thenRun(() -> logger.info("HTTP service check completed"))
+        // 定时检查、启动检查和手动触发共用一个在途周期，不会重复探测同一目标
+        return cycleTracker.runCycle(() -> {
+            logger.info("Checking {} HTTP services", urls.size());
+            
+            List<CompletableFuture<Void>> futures = checkUnits(urls).entrySet().stream()
+                .map(unit -> cycleTracker.runTarget(unit.getKey(), false, () -> checkHttpServices(unit.getValue())))
+                .toList();
+            
+            // 等待所有检查完成
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenRun(() -> logger.info("HTTP service check completed"))
+                .exceptionally(throwable -> {
+                    logger.error("Error during HTTP service check: {}", throwable.getMessage());
+                    return null;
+                });
+        });
+    }
+    
+    private CompletableFuture<Void> checkHttpServices(List<String> group) {
+        if (group.size() == 1) {
+            return checkHttpService(group.get(0));
+        }
+        return httpCheckService.checkOriginAsync(group)
+            .thenAccept(results -> results.forEach(httpInfo -> {
+                metricsService.updateHttpMetrics(httpInfo);
+                logHttpStatus(httpInfo);
+            }))
+            .exceptionally(throwable -> {
+                logger.error("Error checking HTTP services {}: {}", group, throwable.getMessage());
+                for (String url : group) {
+                    HttpInfo errorInfo = new HttpInfo(url);
+                    errorInfo.setStatus("ERROR");
+                    errorInfo.setError(throwable.getMessage());
+                    errorInfo.setAvailable(false);
+                    metricsService.updateHttpMetrics(errorInfo);
+                }
+                return null;
+            });
+    }
+    
+    private CompletableFuture<Void> checkHttpService(String url) {
+        return httpCheckService.checkHttpAsync(url)
+            .thenAccept(httpInfo -> {
+                metricsService.updateHttpMetrics(httpInfo);
+                logHttpStatus(httpInfo);
+            })
             .exceptionally(throwable -> {
-                logger.error("Error during HTTP service check: {}", throwable.getMessage());
+                logger.error("Error checking HTTP service {}: {}", 
+                    url, throwable.getMessage());
+                
+                // 创建错误状态的 HttpInfo
+                HttpInfo errorInfo = new HttpInfo(url);
+                errorInfo.setStatus("ERROR");
+                errorInfo.setError(throwable.getMessage());
+                errorInfo.setAvailable(false);
+                metricsService.updateHttpMetrics(errorInfo);
+                
                 return null;
             });
     }
@@ -0,0 +1,79 @@
+package io.github.devops.exporter.http;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+public class HttpProbe {
+
+    // 探测方式：GET 完整请求、HEAD 只要响应头、RANGE 只取第一个字节、CONDITIONAL 带缓存校验头的 GET
+    public enum Mode {
+        GET, HEAD, RANGE, CONDITIONAL;
+
+        public static Mode parse(String value) {
+            if (value == null || value.isBlank()) {
+                return GET;
+            }
+            return Mode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private final Mode mode;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+    private BodyAssertion bodyAssertion;
+    private boolean keepAlive; // 突发采样时保持连接，后续样本复用
+
+    public HttpProbe(Mode mode) {
+        this.mode = mode;
+    }
+
+    public static HttpProbe get() {
+        return new HttpProbe(Mode.GET);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public String getMethod() {
+        return mode == Mode.HEAD ? "HEAD" : "GET";
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public HttpProbe header(String name, String value) {
+        headers.put(name, value);
+        return this;
+    }
+
+    public BodyAssertion getBodyAssertion() {
+        return bodyAssertion;
+    }
+
+    public void setBodyAssertion(BodyAssertion bodyAssertion) {
+        this.bodyAssertion = bodyAssertion;
+    }
+
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    public void setKeepAlive(boolean keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    // HEAD 没有响应体，返回 null；只对带响应体的 2xx 响应做断言
+    public BodyDecoder newBodyDecoder(int statusCode, long contentLength, String contentEncoding) {
+        if ("HEAD".equals(getMethod())) {
+            return null;
+        }
+        BodyAssertion.Matcher matcher = null;
+        if (bodyAssertion != null && statusCode >= 200 && statusCode < 300 && statusCode != 204) {
+            // 压缩时 Content-Length 是压缩后的大小，max-size 按解压后的字节判断
+            matcher = bodyAssertion.newMatcher(BodyDecoder.isIdentity(contentEncoding) ? contentLength : -1);
+        }
+        return new BodyDecoder(contentEncoding, matcher);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package io.github.devops.exporter.http;
+
+public class HttpTimings {
+    // 各阶段耗时（纳秒），与 curl -w 的 time_* 对应，但这里是每个阶段自身的耗时而不是累计值
+    private long dnsNanos;
+    private long connectNanos;
+    private long tlsNanos;
+    private long ttfbNanos; // 请求发出到收到第一个字节，即服务端处理时间
+    private long transferNanos; // 第一个字节到响应读完
+    private long redirectNanos; // 跟随重定向时前面几跳的总耗时
+    private long totalNanos;
+    
+    // Getters and Setters
+    public long getDnsNanos() {
+        return dnsNanos;
+    }
+    
+    public void setDnsNanos(long dnsNanos) {
+        this.dnsNanos = dnsNanos;
+    }
+    
+    public long getConnectNanos() {
+        return connectNanos;
+    }
+    
+    public void setConnectNanos(long connectNanos) {
+        this.connectNanos = connectNanos;
+    }
+    
+    public long getTlsNanos() {
+        return tlsNanos;
+    }
+    
+    public void setTlsNanos(long tlsNanos) {
+        this.tlsNanos = tlsNanos;
+    }
+    
+    public long getTtfbNanos() {
+        return ttfbNanos;
+    }
+    
+    public void setTtfbNanos(long ttfbNanos) {
+        this.ttfbNanos = ttfbNanos;
+    }
+    
+    public long getTransferNanos() {
+        return transferNanos;
+    }
+    
+    public void setTransferNanos(long transferNanos) {
+        this.transferNanos = transferNanos;
+    }
+    
+    public long getRedirectNanos() {
+        return redirectNanos;
+    }
+    
+    public void setRedirectNanos(long redirectNanos) {
+        this.redirectNanos = redirectNanos;
+    }
+    
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+    
+    public void setTotalNanos(long totalNanos) {
+        this.totalNanos = totalNanos;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package io.github.devops.exporter.http;
+
+public class RedirectHop {
+    private String url;
+    private int statusCode;
+    private String location; // 最后一跳为 null
+    private long durationNanos;
+    private boolean connectionReused;
+
+    public RedirectHop(String url, int statusCode, String location, long durationNanos, boolean connectionReused) {
+        this.url = url;
+        this.statusCode = statusCode;
+        this.location = location;
+        this.durationNanos = durationNanos;
+        this.connectionReused = connectionReused;
+    }
+
+    public boolean isPermanent() {
+        return statusCode == 301 || statusCode == 308;
+    }
+
+    // Getters and Setters
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public void setStatusCode(int statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public void setDurationNanos(long durationNanos) {
+        this.durationNanos = durationNanos;
+    }
+
+    public boolean isConnectionReused() {
+        return connectionReused;
+    }
+
+    public void setConnectionReused(boolean connectionReused) {
+        this.connectionReused = connectionReused;
+    }
+}
\ No newline at end of file
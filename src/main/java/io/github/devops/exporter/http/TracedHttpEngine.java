@@ -0,0 +1,302 @@
+package io.github.devops.exporter.http;
+
+import io.github.devops.exporter.common.CountingInputStream;
+import io.github.devops.exporter.common.DnsCache;
+import io.github.devops.exporter.config.HttpMonitorProperties;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class TracedHttpEngine {
+
+    private final HttpMonitorProperties properties;
+    private final DnsCache dnsCache;
+    private final HeaderCapture headerCapture;
+
+    public TracedHttpEngine(HttpMonitorProperties properties, DnsCache dnsCache) {
+        this.properties = properties;
+        this.dnsCache = dnsCache;
+        this.headerCapture = new HeaderCapture(properties.getCaptureHeaders());
+    }
+
+    // 用原始 Socket 完成一次 HTTP/1.1 请求，逐个阶段计时：DNS、TCP 连接、TLS 握手、首字节、传输
+    public HttpInfo check(String url, HttpProbe probe) throws IOException {
+        HttpInfo httpInfo = new HttpInfo(url);
+        httpInfo.setEngine("traced");
+        httpInfo.setHttpVersion("HTTP/1.1");
+        httpInfo.setProbe(probe.getMode().name());
+
+        HttpTimings timings = new HttpTimings();
+        long startNanos = System.nanoTime();
+        URI uri = URI.create(url);
+        long bytesReceived = 0;
+
+        for (int hop = 0; ; hop++) {
+            long hopStartNanos = System.nanoTime();
+            Exchange exchange = exchange(uri, probe, timings);
+            bytesReceived += exchange.bytesReceived;
+
+            String location = exchange.header("location");
+            if (properties.isFollowRedirects() && isRedirect(exchange.statusCode)
+                && location != null && hop < HttpCheckService.MAX_REDIRECTS) {
+                // 与 curl -L 一致：前面几跳计入 redirect，阶段耗时只保留最后一跳
+                long hopNanos = System.nanoTime() - hopStartNanos;
+                timings.setRedirectNanos(timings.getRedirectNanos() + hopNanos);
+                httpInfo.addRedirectHop(new RedirectHop(uri.toString(), exchange.statusCode, location, hopNanos, false));
+                uri = uri.resolve(location);
+                continue;
+            }
+            if (httpInfo.getRedirectChain() != null) {
+                httpInfo.addRedirectHop(new RedirectHop(uri.toString(), exchange.statusCode, null,
+                    System.nanoTime() - hopStartNanos, false));
+                httpInfo.setFinalUrl(uri.toString());
+            }
+
+            long totalNanos = System.nanoTime() - startNanos;
+            timings.setTotalNanos(totalNanos);
+            httpInfo.setTimings(timings);
+            httpInfo.setCheckDurationNanos(totalNanos);
+            httpInfo.setResponseTimeMs(TimeUnit.NANOSECONDS.toMillis(totalNanos));
+            httpInfo.setStatusCode(exchange.statusCode);
+            httpInfo.setStatusMessage(exchange.statusMessage);
+            httpInfo.setResponseHeaders(headerCapture.capture(exchange.headers));
+            if (probe.getMode() == HttpProbe.Mode.CONDITIONAL) {
+                httpInfo.setEtag(exchange.header("etag"));
+                httpInfo.setLastModified(exchange.header("last-modified"));
+            }
+            httpInfo.setBytesReceived(bytesReceived);
+            HttpCheckService.applyBody(httpInfo, exchange.bodyDecoder);
+            httpInfo.setContentType(exchange.header("content-type"));
+            httpInfo.setContentLength(parseLong(exchange.header("content-length")));
+            if (isRedirect(exchange.statusCode)) {
+                httpInfo.setRedirectUrl(location);
+            }
+            return httpInfo;
+        }
+    }
+
+    private Exchange exchange(URI uri, HttpProbe probe, HttpTimings timings) throws IOException {
+        String host = uri.getHost();
+        boolean https = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() > 0 ? uri.getPort() : (https ? 443 : 80);
+
+        long t0 = System.nanoTime();
+        InetAddress address = dnsCache.resolve(host);
+        long t1 = System.nanoTime();
+        timings.setDnsNanos(t1 - t0);
+
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(address, port), properties.getConnectionTimeout());
+            socket.setSoTimeout(properties.getReadTimeout());
+            long t2 = System.nanoTime();
+            timings.setConnectNanos(t2 - t1);
+
+            Socket channel = socket;
+            long t3 = t2;
+            if (https) {
+                SSLSocket sslSocket = (SSLSocket) ((SSLSocketFactory) SSLSocketFactory.getDefault())
+                    .createSocket(socket, host, port, true);
+                SSLParameters parameters = sslSocket.getSSLParameters();
+                parameters.setEndpointIdentificationAlgorithm("HTTPS");
+                sslSocket.setSSLParameters(parameters);
+                sslSocket.startHandshake();
+                channel = sslSocket;
+                t3 = System.nanoTime();
+            }
+            timings.setTlsNanos(t3 - t2);
+
+            OutputStream out = channel.getOutputStream();
+            out.write(buildRequest(uri, host, port, https, probe).getBytes(StandardCharsets.ISO_8859_1));
+            out.flush();
+            long t4 = System.nanoTime();
+
+            // 计数放在缓冲层下面，统计的是从连接上实际读到的字节（TLS 解密后）
+            CountingInputStream counting = new CountingInputStream(channel.getInputStream());
+            InputStream in = new BufferedInputStream(counting);
+            in.mark(1);
+            if (in.read() < 0) {
+                throw new EOFException("Connection closed before response from " + host);
+            }
+            in.reset();
+            long t5 = System.nanoTime();
+            timings.setTtfbNanos(t5 - t4);
+
+            Exchange exchange = readHead(in);
+            if (!"HEAD".equals(probe.getMethod())) {
+                exchange.bodyDecoder = probe.newBodyDecoder(exchange.statusCode,
+                    parseLong(exchange.header("content-length")), exchange.header("content-encoding"));
+                drainBody(in, exchange, exchange.bodyDecoder);
+            }
+            timings.setTransferNanos(System.nanoTime() - t5);
+            exchange.bytesReceived = counting.getCount();
+            channel.close();
+            return exchange;
+        } finally {
+            socket.close();
+        }
+    }
+
+    private static String buildRequest(URI uri, String host, int port, boolean https, HttpProbe probe) {
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        if (uri.getRawQuery() != null) {
+            path += "?" + uri.getRawQuery();
+        }
+        boolean defaultPort = port == (https ? 443 : 80);
+        StringBuilder request = new StringBuilder(256)
+            .append(probe.getMethod()).append(' ').append(path).append(" HTTP/1.1\r\n")
+            .append("Host: ").append(host).append(defaultPort ? "" : ":" + port).append("\r\n")
+            .append("User-Agent: DevOps-Exporter/1.0 (HTTP Monitor)\r\n")
+            .append("Accept: */*\r\n");
+        probe.getHeaders().forEach((name, value) -> request.append(name).append(": ").append(value).append("\r\n"));
+        return request.append("Connection: close\r\n").append("\r\n").toString();
+    }
+
+    private static Exchange readHead(InputStream in) throws IOException {
+        String statusLine = readLine(in);
+        String[] parts = statusLine.split(" ", 3);
+        if (parts.length < 2 || !parts[0].startsWith("HTTP/")) {
+            throw new IOException("Invalid HTTP status line: " + statusLine);
+        }
+
+        Exchange exchange = new Exchange();
+        exchange.statusCode = Integer.parseInt(parts[1]);
+        exchange.statusMessage = parts.length > 2 ? parts[2] : "";
+
+        String line;
+        while (!(line = readLine(in)).isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                String name = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+                String value = line.substring(colon + 1).trim();
+                exchange.headers.computeIfAbsent(name, key -> new ArrayList<>(1)).add(value);
+            }
+        }
+        return exchange;
+    }
+
+    private static void drainBody(InputStream in, Exchange exchange, BodyDecoder decoder) throws IOException {
+        int status = exchange.statusCode;
+        if (status < 200 || status == 204 || status == 304 || (decoder != null && decoder.isDecided())) {
+            return;
+        }
+
+        String transferEncoding = exchange.header("transfer-encoding");
+        long contentLength = parseLong(exchange.header("content-length"));
+        byte[] buffer = new byte[8192];
+        if (transferEncoding != null && transferEncoding.toLowerCase(Locale.ROOT).contains("chunked")) {
+            // 分块编码：逐块读取直到长度为 0 的结束块
+            long chunkSize;
+            while ((chunkSize = Long.parseLong(readLine(in).split(";", 2)[0].trim(), 16)) > 0) {
+                if (readFully(in, chunkSize, buffer, decoder)) {
+                    return; // 断言已有结论，剩余响应体不再读取
+                }
+                readLine(in);
+            }
+            while (!readLine(in).isEmpty()) {
+                // 跳过 trailer
+            }
+        } else if (contentLength >= 0) {
+            if (readFully(in, contentLength, buffer, decoder)) {
+                return;
+            }
+        } else {
+            // 没有长度信息时读到连接关闭（请求带了 Connection: close）
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                if (decoder != null && decoder.feed(buffer, 0, read)) {
+                    return;
+                }
+            }
+        }
+        if (decoder != null) {
+            decoder.finish();
+        }
+    }
+
+    // 返回 true 表示断言已经有结论，提前停止读取
+    private static boolean readFully(InputStream in, long bytes, byte[] buffer, BodyDecoder decoder)
+        throws IOException {
+        long remaining = bytes;
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read < 0) {
+                throw new EOFException("Connection closed with " + remaining + " bytes of body remaining");
+            }
+            remaining -= read;
+            if (decoder != null && decoder.feed(buffer, 0, read)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+        int b;
+        while ((b = in.read()) >= 0) {
+            if (b == '\n') {
+                break;
+            }
+            if (b != '\r') {
+                line.write(b);
+            }
+        }
+        if (b < 0 && line.size() == 0) {
+            throw new EOFException("Unexpected end of HTTP response");
+        }
+        return line.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    private static long parseLong(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static boolean isRedirect(int statusCode) {
+        return statusCode >= 300 && statusCode < 400;
+    }
+
+    private static final class Exchange {
+        private int statusCode;
+        private String statusMessage;
+        private final Map<String, List<String>> headers = new HashMap<>();
+        private long bytesReceived;
+        private BodyDecoder bodyDecoder;
+
+        // 名称已转为小写；重复出现的头部按 HTTP 规范以逗号合并
+        private String header(String name) {
+            List<String> values = headers.get(name);
+            if (values == null) {
+                return null;
+            }
+            return values.size() == 1 ? values.get(0) : String.join(", ", values);
+        }
+    }
+}
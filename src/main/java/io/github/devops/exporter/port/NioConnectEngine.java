@@ -0,0 +1,310 @@
+package io.github.devops.exporter.port;
+
+import io.github.devops.exporter.config.PortMonitorProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class NioConnectEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(NioConnectEngine.class);
+
+    private final PortMonitorProperties properties;
+    private final Executor callbackExecutor;
+    private final AtomicInteger nextLoop = new AtomicInteger();
+    private volatile SelectorLoop[] loops;
+
+    public NioConnectEngine(PortMonitorProperties properties,
+                            @Qualifier("portCheckExecutor") Executor callbackExecutor,
+                            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.callbackExecutor = callbackExecutor;
+
+        // selector 上正在等待完成的连接数
+        Gauge.builder("port_connect_in_flight", this, NioConnectEngine::getInFlight)
+            .description("Number of non-blocking connects currently pending on the selector")
+            .register(meterRegistry);
+    }
+
+    public CompletableFuture<PortInfo> connect(PortInfo portInfo, InetSocketAddress address, int timeoutMs) {
+        PendingConnect pending = new PendingConnect(portInfo, address, TimeUnit.MILLISECONDS.toNanos(timeoutMs));
+        try {
+            SelectorLoop[] current = getLoops();
+            current[Math.floorMod(nextLoop.getAndIncrement(), current.length)].submit(pending);
+        } catch (IOException e) {
+            pending.future.completeExceptionally(e);
+        }
+        return pending.future;
+    }
+
+    private SelectorLoop[] getLoops() throws IOException {
+        SelectorLoop[] current = loops;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (loops == null) {
+                // 延迟启动，blocking 模式下不创建 selector 线程
+                int threads = Math.max(1, properties.getSelectorThreads());
+                int perLoopLimit = Math.max(1, properties.getMaxInFlight() / threads);
+                SelectorLoop[] created = new SelectorLoop[threads];
+                for (int i = 0; i < threads; i++) {
+                    created[i] = new SelectorLoop("port-nio-selector-" + i, perLoopLimit, callbackExecutor);
+                    created[i].start();
+                }
+                loops = created;
+                logger.info("NIO connect engine started with {} selector thread(s), max {} in-flight connects",
+                    threads, perLoopLimit * threads);
+            }
+            return loops;
+        }
+    }
+
+    public int getInFlight() {
+        SelectorLoop[] current = loops;
+        if (current == null) {
+            return 0;
+        }
+        int total = 0;
+        for (SelectorLoop loop : current) {
+            total += loop.inFlight;
+        }
+        return total;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        SelectorLoop[] current = loops;
+        if (current != null) {
+            for (SelectorLoop loop : current) {
+                loop.shutdown();
+            }
+        }
+    }
+
+    private static final class PendingConnect {
+        private final PortInfo portInfo;
+        private final InetSocketAddress address;
+        private final long timeoutNanos;
+        private final CompletableFuture<PortInfo> future = new CompletableFuture<>();
+        private SocketChannel channel;
+        private long startNanos;
+        private long deadlineNanos;
+        private boolean done;
+
+        private PendingConnect(PortInfo portInfo, InetSocketAddress address, long timeoutNanos) {
+            this.portInfo = portInfo;
+            this.address = address;
+            this.timeoutNanos = timeoutNanos;
+        }
+    }
+
+    private static final class SelectorLoop implements Runnable {
+
+        private final Selector selector;
+        private final Thread thread;
+        private final int maxInFlight;
+        private final Queue<PendingConnect> submissions = new ConcurrentLinkedQueue<>();
+        // 仅由 selector 线程访问
+        private final PriorityQueue<PendingConnect> deadlines =
+            new PriorityQueue<>(Comparator.comparingLong((PendingConnect p) -> p.deadlineNanos));
+        private final Executor callbackExecutor;
+        // 仅由 selector 线程写入
+        private volatile int inFlight;
+        private volatile boolean running = true;
+
+        private SelectorLoop(String name, int maxInFlight, Executor callbackExecutor) throws IOException {
+            this.selector = Selector.open();
+            this.maxInFlight = maxInFlight;
+            this.callbackExecutor = callbackExecutor;
+            this.thread = new Thread(this, name);
+            this.thread.setDaemon(true);
+        }
+
+        private void start() {
+            thread.start();
+        }
+
+        private void submit(PendingConnect pending) {
+            if (!running) {
+                pending.future.completeExceptionally(new IllegalStateException("NIO connect engine is shut down"));
+                return;
+            }
+            submissions.add(pending);
+            selector.wakeup();
+        }
+
+        private void shutdown() {
+            running = false;
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    startSubmitted();
+                    selector.select(nextSelectTimeoutMs());
+
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        finishConnect((PendingConnect) key.attachment());
+                    }
+
+                    expireDeadlines();
+                }
+            } catch (IOException | ClosedSelectorException e) {
+                logger.error("NIO selector loop {} terminated: {}", thread.getName(), e.getMessage());
+            } finally {
+                running = false;
+                closeAll();
+            }
+        }
+
+        private void startSubmitted() {
+            // 超过并发上限的连接留在队列中，等待已有连接完成
+            while (inFlight < maxInFlight) {
+                PendingConnect pending = submissions.poll();
+                if (pending == null) {
+                    return;
+                }
+                startConnect(pending);
+            }
+        }
+
+        private void startConnect(PendingConnect pending) {
+            inFlight++;
+            pending.startNanos = System.nanoTime();
+            pending.deadlineNanos = pending.startNanos + pending.timeoutNanos;
+
+            try {
+                pending.channel = SocketChannel.open();
+                pending.channel.configureBlocking(false);
+                if (pending.channel.connect(pending.address)) {
+                    complete(pending, true, null);
+                    return;
+                }
+                pending.channel.register(selector, SelectionKey.OP_CONNECT, pending);
+                deadlines.add(pending);
+            } catch (IOException | RuntimeException e) {
+                complete(pending, false, e.getMessage());
+            }
+        }
+
+        private void finishConnect(PendingConnect pending) {
+            if (pending.done) {
+                return;
+            }
+            try {
+                if (pending.channel.finishConnect()) {
+                    complete(pending, true, null);
+                }
+            } catch (IOException e) {
+                complete(pending, false, e.getMessage());
+            }
+        }
+
+        private void expireDeadlines() {
+            long now = System.nanoTime();
+            PendingConnect head;
+            while ((head = deadlines.peek()) != null && (head.done || head.deadlineNanos - now <= 0)) {
+                deadlines.poll();
+                if (!head.done) {
+                    complete(head, false, "connect timed out");
+                }
+            }
+        }
+
+        private long nextSelectTimeoutMs() {
+            // 等待到最近的超时时间点，0 表示无限等待
+            PendingConnect head;
+            while ((head = deadlines.peek()) != null && head.done) {
+                deadlines.poll();
+            }
+            if (head == null) {
+                return 0;
+            }
+            long remainingNanos = head.deadlineNanos - System.nanoTime();
+            return Math.max(1, TimeUnit.NANOSECONDS.toMillis(remainingNanos) + 1);
+        }
+
+        private void complete(PendingConnect pending, boolean open, String failure) {
+            pending.done = true;
+            inFlight--;
+
+            long elapsedNanos = System.nanoTime() - pending.startNanos;
+            closeQuietly(pending.channel);
+
+            PortInfo portInfo = pending.portInfo;
+            portInfo.setOpen(open);
+            portInfo.setCheckDurationNanos(elapsedNanos);
+            portInfo.setResponseTimeMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            if (!open) {
+                logger.debug("Connection failed for {}:{} - {}", portInfo.getHost(), portInfo.getPort(), failure);
+            }
+
+            // 回调交给端口检查线程池执行，避免阻塞 selector 线程
+            try {
+                pending.future.completeAsync(() -> portInfo, callbackExecutor);
+            } catch (RejectedExecutionException e) {
+                pending.future.complete(portInfo);
+            }
+        }
+
+        private void closeAll() {
+            PendingConnect pending;
+            while ((pending = submissions.poll()) != null) {
+                pending.future.completeExceptionally(new IllegalStateException("NIO connect engine is shut down"));
+            }
+            for (SelectionKey key : selector.keys()) {
+                PendingConnect registered = (PendingConnect) key.attachment();
+                if (registered != null && !registered.done) {
+                    registered.done = true;
+                    closeQuietly(registered.channel);
+                    registered.future.completeExceptionally(new IllegalStateException("NIO connect engine is shut down"));
+                }
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                logger.debug("Error closing selector: {}", e.getMessage());
+            }
+        }
+
+        private static void closeQuietly(SocketChannel channel) {
+            if (channel == null) {
+                return;
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Error closing channel: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package io.github.devops.exporter.port;
 
+import io.github.devops.exporter.common.CheckExecutor;
+import io.github.devops.exporter.common.DnsCache;
+import io.github.devops.exporter.common.HostThrottle;
 import io.github.devops.exporter.config.PortMonitorProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
@@ -10,7 +15,9 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class PortCheckService {
@@ -18,13 +25,55 @@ public class PortCheckService {
     private static final Logger logger = LoggerFactory.getLogger(PortCheckService.class);
     
     private final PortMonitorProperties properties;
+    private final NioConnectEngine connectEngine;
+    private final CheckExecutor checkExecutor;
+    private final DnsCache dnsCache;
+    private final HostThrottle hostThrottle;
     
-    public PortCheckService(PortMonitorProperties properties) {
+    public PortCheckService(PortMonitorProperties properties,
+                            NioConnectEngine connectEngine,
+                            @Qualifier("portCheckExecutor") CheckExecutor checkExecutor,
+                            DnsCache dnsCache,
+                            MeterRegistry meterRegistry) {
         this.properties = properties;
+        this.connectEngine = connectEngine;
+        this.checkExecutor = checkExecutor;
+        this.dnsCache = dnsCache;
+        this.hostThrottle = new HostThrottle("port", properties.getHostLimit(), properties.getIpLimit(),
+            dnsCache, checkExecutor, meterRegistry);
     }
     
     public CompletableFuture<PortInfo> checkPortAsync(String target) {
-        return CompletableFuture.supplyAsync(() -> checkPort(target));
+        PortInfo portInfo = new PortInfo(target);
+        if ("INVALID_FORMAT".equals(portInfo.getStatus())) {
+            return CompletableFuture.completedFuture(portInfo);
+        }
+        
+        // 同一主机 / IP 的检查受并发和速率限制，等待许可时不占用检查线程
+        return hostThrottle.run(portInfo.getHost(), () -> properties.isNioEngine()
+            ? connectAsync(target, portInfo)
+            : checkExecutor.supplyAsync(() -> checkPort(target)));
+    }
+    
+    private CompletableFuture<PortInfo> connectAsync(String target, PortInfo portInfo) {
+        // DNS 解析在线程池中完成，连接交给 selector 线程，不占用线程等待
+        return checkExecutor.supplyAsync(() -> resolve(portInfo.getHost()))
+            .thenCompose(address -> {
+                if (address == null) {
+                    portInfo.setOpen(false);
+                    return CompletableFuture.completedFuture(portInfo);
+                }
+                return connectEngine.connect(portInfo,
+                    new InetSocketAddress(address, portInfo.getPort()), properties.getConnectionTimeout());
+            })
+            .thenApply(this::applyStatus)
+            .exceptionally(throwable -> {
+                logger.error("Error checking port {}: {}", target, throwable.getMessage());
+                portInfo.setStatus("ERROR");
+                portInfo.setError(throwable.getMessage());
+                portInfo.setOpen(false);
+                return portInfo;
+            });
     }
     
     public PortInfo checkPort(String target) {
@@ -36,21 +85,14 @@ public class PortCheckService {
         }
         
         try {
-            long startTime = System.currentTimeMillis();
+            long startTime = System.nanoTime();
             boolean isOpen = isPortOpen(portInfo.getHost(), portInfo.getPort());
-            long endTime = System.currentTimeMillis();
+            long durationNanos = System.nanoTime() - startTime;
             
-            portInfo.setResponseTimeMs(endTime - startTime);
+            portInfo.setCheckDurationNanos(durationNanos);
+            portInfo.setResponseTimeMs(TimeUnit.NANOSECONDS.toMillis(durationNanos));
             portInfo.setOpen(isOpen);
-            
-            if (isOpen) {
-                portInfo.setStatus("OPEN");
-                logger.debug("Port {}:{} is OPEN (response time: {}ms)", 
-                    portInfo.getHost(), portInfo.getPort(), portInfo.getResponseTimeMs());
-            } else {
-                portInfo.setStatus("CLOSED");
-                logger.debug("Port {}:{} is CLOSED", portInfo.getHost(), portInfo.getPort());
-            }
+            applyStatus(portInfo);
             
         } catch (Exception e) {
             logger.error("Error checking port {}: {}", target, e.getMessage());
@@ -62,10 +104,31 @@ public class PortCheckService {
         return portInfo;
     }
     
+    private PortInfo applyStatus(PortInfo portInfo) {
+        if (portInfo.isOpen()) {
+            portInfo.setStatus("OPEN");
+            logger.debug("Port {}:{} is OPEN (response time: {}ms)", 
+                portInfo.getHost(), portInfo.getPort(), portInfo.getResponseTimeMs());
+        } else {
+            portInfo.setStatus("CLOSED");
+            logger.debug("Port {}:{} is CLOSED", portInfo.getHost(), portInfo.getPort());
+        }
+        return portInfo;
+    }
+    
+    private InetAddress resolve(String host) {
+        try {
+            return dnsCache.resolve(host);
+        } catch (UnknownHostException e) {
+            logger.debug("Unable to resolve host {}: {}", host, e.getMessage());
+            return null;
+        }
+    }
+    
     private boolean isPortOpen(String host, int port) throws IOException {
         try (Socket socket = new Socket()) {
             // 解析主机名到IP地址
-            InetAddress address = InetAddress.getByName(host);
+            InetAddress address = dnsCache.resolve(host);
             InetSocketAddress socketAddress = new InetSocketAddress(address, port);
             
             // 尝试连接
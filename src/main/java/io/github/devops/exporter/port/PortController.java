@@ -29,6 +29,11 @@ public class PortController {
         return ResponseEntity.ok(metricsService.getPortInfoCache());
     }
     
+    @GetMapping("/ranges")
+    public ResponseEntity<Map<String, PortRangeInfo>> getRangeStatus() {
+        return ResponseEntity.ok(metricsService.getRangeInfoCache());
+    }
+    
     @GetMapping("/status/{target}")
     public ResponseEntity<PortInfo> getPortStatus(@PathVariable String target) {
         // 处理路径参数中的冒号，例如 1.1.1.1:80 -> 1.1.1.1%3A80
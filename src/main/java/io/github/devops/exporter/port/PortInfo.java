@@ -11,6 +11,7 @@ public class PortInfo {
     private String error;
     private LocalDateTime lastChecked;
     private long responseTimeMs;
+    private long checkDurationNanos;
     
     public PortInfo(String target) {
         this.target = target;
@@ -99,4 +100,12 @@ public class PortInfo {
     public void setResponseTimeMs(long responseTimeMs) {
         this.responseTimeMs = responseTimeMs;
     }
+    
+    public long getCheckDurationNanos() {
+        return checkDurationNanos;
+    }
+    
+    public void setCheckDurationNanos(long checkDurationNanos) {
+        this.checkDurationNanos = checkDurationNanos;
+    }
 }
\ No newline at end of file
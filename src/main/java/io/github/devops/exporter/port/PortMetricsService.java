@@ -1,5 +1,7 @@
 package io.github.devops.exporter.port;
 
+import io.github.devops.exporter.common.LatencyRecorder;
+import io.github.devops.exporter.config.PortMonitorProperties;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
@@ -15,9 +17,16 @@ public class PortMetricsService {
     private final MeterRegistry meterRegistry;
     private final Map<String, PortInfo> portInfoCache = new ConcurrentHashMap<>();
     private final Set<String> registeredMetrics = ConcurrentHashMap.newKeySet();
+    private final Map<String, PortRangeInfo> rangeInfoCache = new ConcurrentHashMap<>();
+    private final LatencyRecorder checkDurations;
+    private final LatencyRecorder rangeCheckDurations;
     
-    public PortMetricsService(MeterRegistry meterRegistry) {
+    public PortMetricsService(MeterRegistry meterRegistry, PortMonitorProperties properties) {
         this.meterRegistry = meterRegistry;
+        this.checkDurations = new LatencyRecorder(meterRegistry, "port_check_duration",
+            "Port connection latency", properties.getLatency());
+        this.rangeCheckDurations = new LatencyRecorder(meterRegistry, "port_range_check_duration",
+            "Port connection latency of open targets in a CIDR / port range", properties.getLatency());
     }
     
     public void updatePortMetrics(PortInfo portInfo) {
@@ -26,6 +35,7 @@ public class PortMetricsService {
         
         // 注册指标（只注册一次）
         registerPortMetrics(target);
+        recordCheckDuration(portInfo);
     }
     
     private void registerPortMetrics(String target) {
@@ -89,6 +99,95 @@ public class PortMetricsService {
         registeredMetrics.add(metricKey);
     }
     
+    private void recordCheckDuration(PortInfo portInfo) {
+        checkDurations.record(portInfo.getTarget(),
+            target -> Tags.of("target", target, "host", portInfo.getHost(), "port", String.valueOf(portInfo.getPort())),
+            portInfo.getCheckDurationNanos());
+    }
+    
+    public void updateRangeMetrics(PortRangeInfo rangeInfo) {
+        String range = rangeInfo.getRange();
+        rangeInfoCache.put(range, rangeInfo);
+        
+        // 注册指标（只注册一次）
+        registerRangeMetrics(range);
+    }
+    
+    public void recordRangeCheckDuration(String range, long nanos) {
+        rangeCheckDurations.record(range, r -> Tags.of("range", r), nanos);
+    }
+    
+    private void registerRangeMetrics(String range) {
+        String metricKey = "port_range_metrics_" + range;
+        
+        // 避免重复注册
+        if (registeredMetrics.contains(metricKey)) {
+            return;
+        }
+        
+        // 网段目标只导出聚合指标，避免每个 ip:port 一条时间序列
+        Tags tags = Tags.of("range", range);
+        
+        // 网段展开后的目标总数
+        Gauge.builder("port_range_targets", rangeInfoCache, cache -> {
+            PortRangeInfo info = cache.get(range);
+            return info != null ? (double) info.getTargetCount() : 0.0;
+        })
+        .description("Number of host:port targets in the range")
+        .tags(tags)
+        .register(meterRegistry);
+        
+        // 上一轮扫描中开放的端口数
+        Gauge.builder("port_range_open", rangeInfoCache, cache -> {
+            PortRangeInfo info = cache.get(range);
+            return info != null ? (double) info.getOpenCount() : 0.0;
+        })
+        .description("Number of open targets found in the last range sweep")
+        .tags(tags)
+        .register(meterRegistry);
+        
+        // 上一轮扫描中关闭的端口数
+        Gauge.builder("port_range_closed", rangeInfoCache, cache -> {
+            PortRangeInfo info = cache.get(range);
+            return info != null ? (double) info.getClosedCount() : 0.0;
+        })
+        .description("Number of closed targets found in the last range sweep")
+        .tags(tags)
+        .register(meterRegistry);
+        
+        // 上一轮扫描中出错的目标数
+        Gauge.builder("port_range_errors", rangeInfoCache, cache -> {
+            PortRangeInfo info = cache.get(range);
+            return info != null ? (double) info.getErrorCount() : 0.0;
+        })
+        .description("Number of targets that failed with an error in the last range sweep")
+        .tags(tags)
+        .register(meterRegistry);
+        
+        // 上一轮扫描耗时（毫秒）
+        Gauge.builder("port_range_sweep_duration_ms", rangeInfoCache, cache -> {
+            PortRangeInfo info = cache.get(range);
+            return info != null ? (double) info.getSweepDurationMs() : 0.0;
+        })
+        .description("Duration of the last range sweep in milliseconds")
+        .tags(tags)
+        .register(meterRegistry);
+        
+        // 最后检查时间戳
+        Gauge.builder("port_range_last_checked_timestamp", rangeInfoCache, cache -> {
+            PortRangeInfo info = cache.get(range);
+            if (info != null && info.getLastChecked() != null) {
+                return (double) info.getLastChecked().atZone(java.time.ZoneId.systemDefault()).toEpochSecond();
+            }
+            return 0.0;
+        })
+        .description("Timestamp of last range sweep")
+        .tags(tags)
+        .register(meterRegistry);
+        
+        registeredMetrics.add(metricKey);
+    }
+    
     private double getStatusValue(PortInfo portInfo) {
         if (portInfo.getStatus() == null) {
             return -1.0; // ERROR
@@ -107,4 +206,8 @@ public class PortMetricsService {
     public Map<String, PortInfo> getPortInfoCache() {
         return new ConcurrentHashMap<>(portInfoCache);
     }
+    
+    public Map<String, PortRangeInfo> getRangeInfoCache() {
+        return new ConcurrentHashMap<>(rangeInfoCache);
+    }
 }
\ No newline at end of file
@@ -1,14 +1,17 @@
 package io.github.devops.exporter.port;
 
+import io.github.devops.exporter.common.CheckCycleTracker;
+import io.github.devops.exporter.common.TimingWheelScheduler;
 import io.github.devops.exporter.config.PortMonitorProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -20,75 +23,127 @@ public class PortMonitorScheduler {
     private final PortMonitorProperties properties;
     private final PortCheckService portCheckService;
     private final PortMetricsService metricsService;
+    private final TimingWheelScheduler timingWheel;
+    private final CheckCycleTracker cycleTracker;
     
     public PortMonitorScheduler(PortMonitorProperties properties,
                                PortCheckService portCheckService,
-                               PortMetricsService metricsService) {
+                               PortMetricsService metricsService,
+                               TimingWheelScheduler timingWheel,
+                               MeterRegistry meterRegistry) {
         this.properties = properties;
         this.portCheckService = portCheckService;
         this.metricsService = metricsService;
+        this.timingWheel = timingWheel;
+        this.cycleTracker = new CheckCycleTracker("port", meterRegistry);
     }
     
     @EventListener(ApplicationReadyEvent.class)
     public void onApplicationReady() {
         if (properties.isEnabled()) {
-            logger.info("Port monitor is enabled, starting initial check...");
-            checkAllPorts();
+            logger.info("Port monitor is enabled, scheduling checks...");
+            scheduleChecks();
         } else {
             logger.info("Port monitor is disabled");
         }
     }
     
-    @Scheduled(fixedRateString = "#{${port.monitor.check-interval} * 1000}")
-    public void scheduledCheck() {
-        if (properties.isEnabled()) {
-            logger.info("Starting scheduled port check...");
-            checkAllPorts();
+    private void scheduleChecks() {
+        List<String> ports = properties.getPorts();
+        if (ports == null || ports.isEmpty()) {
+            logger.warn("No ports configured for monitoring");
+            return;
+        }
+        
+        // 每个目标按自己的间隔和相位独立调度，网段/端口范围作为一个整体调度
+        for (String target : ports) {
+            timingWheel.schedule("port", target, Duration.ofSeconds(properties.getIntervalFor(target)),
+                () -> cycleTracker.runTarget(target, true, () -> checkTarget(target)));
         }
+        logger.info("Scheduled {} port targets across their check intervals", ports.size());
     }
     
-    @Async
-    public void checkAllPorts() {
+    public CompletableFuture<Void> checkAllPorts() {
         List<String> ports = properties.getPorts();
         if (ports == null || ports.isEmpty()) {
             logger.warn("No ports configured for monitoring");
-            return;
+            return CompletableFuture.completedFuture(null);
         }
         
-        logger.info("Checking {} ports", ports.size());
-        
-        List<CompletableFuture<Void>> futures = ports.stream()
-            .map(target -> 
-                portCheckService.checkPortAsync(target)
-                    .thenAccept(portInfo -> {
-                        metricsService.updatePortMetrics(portInfo);
-                        logPortStatus(portInfo);
-                    })
-                    .exceptionally(throwable -> {
-                        logger.error("Error checking port {}: {}", 
-                            target, throwable.getMessage());
-                        
-                        // 创建错误状态的 PortInfo
-                        PortInfo errorInfo = new PortInfo(target);
-                        errorInfo.setStatus("ERROR");
-                        errorInfo.setError(throwable.getMessage());
-                        errorInfo.setOpen(false);
-                        metricsService.updatePortMetrics(errorInfo);
-                        
-                        return null;
-                    })
-            )
-            .toList();
-        
-        // 等待所有检查完成
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-            .thenRun(() -> logger.info("Port check completed"))
+        // 定时检查、启动检查和手动触发共用一个在途周期，不会重复探测同一目标
+        return cycleTracker.runCycle(() -> {
+            logger.info("Checking {} port targets", ports.size());
+            
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (String target : ports) {
+                futures.add(cycleTracker.runTarget(target, false, () -> checkTarget(target)));
+            }
+            
+            // 等待所有检查完成
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenRun(() -> logger.info("Port check completed"))
+                .exceptionally(throwable -> {
+                    logger.error("Error during port check: {}", throwable.getMessage());
+                    return null;
+                });
+        });
+    }
+    
+    private CompletableFuture<Void> checkTarget(String target) {
+        PortTargetSpec spec = parseSpec(target);
+        if (spec != null && spec.isRange()) {
+            return sweepRange(spec);
+        }
+        return checkSinglePort(target);
+    }
+    
+    private CompletableFuture<Void> checkSinglePort(String target) {
+        return portCheckService.checkPortAsync(target)
+            .thenAccept(portInfo -> {
+                metricsService.updatePortMetrics(portInfo);
+                logPortStatus(portInfo);
+            })
             .exceptionally(throwable -> {
-                logger.error("Error during port check: {}", throwable.getMessage());
+                logger.error("Error checking port {}: {}", 
+                    target, throwable.getMessage());
+                
+                // 创建错误状态的 PortInfo
+                PortInfo errorInfo = new PortInfo(target);
+                errorInfo.setStatus("ERROR");
+                errorInfo.setError(throwable.getMessage());
+                errorInfo.setOpen(false);
+                metricsService.updatePortMetrics(errorInfo);
+                
                 return null;
             });
     }
     
+    private CompletableFuture<Void> sweepRange(PortTargetSpec spec) {
+        // 网段目标由迭代器惰性展开，不会一次性生成完整列表
+        return new PortRangeSweep(spec, portCheckService, metricsService,
+                properties.getRangeMaxInFlight(), properties.getRangeOpenTargetsLimit())
+            .start()
+            .thenAccept(rangeInfo -> {
+                metricsService.updateRangeMetrics(rangeInfo);
+                logger.info("Port range {} swept: {} open, {} closed, {} errors of {} targets ({}ms)",
+                    rangeInfo.getRange(), rangeInfo.getOpenCount(), rangeInfo.getClosedCount(),
+                    rangeInfo.getErrorCount(), rangeInfo.getTargetCount(), rangeInfo.getSweepDurationMs());
+            })
+            .exceptionally(throwable -> {
+                logger.error("Error sweeping port range {}: {}", spec.getSpec(), throwable.getMessage());
+                return null;
+            });
+    }
+    
+    private PortTargetSpec parseSpec(String target) {
+        try {
+            return PortTargetSpec.parse(target);
+        } catch (IllegalArgumentException e) {
+            // 格式错误的目标交给 PortInfo 处理，标记为 INVALID_FORMAT
+            return null;
+        }
+    }
+    
     private void logPortStatus(PortInfo portInfo) {
         String target = portInfo.getTarget();
         String status = portInfo.getStatus();
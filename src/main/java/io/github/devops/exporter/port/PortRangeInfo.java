@@ -0,0 +1,94 @@
+package io.github.devops.exporter.port;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class PortRangeInfo {
+    private String range; // 原始配置，例如 10.20.0.0/16:22,80
+    private long targetCount;
+    private long checkedCount;
+    private long openCount;
+    private long closedCount;
+    private long errorCount;
+    private List<String> openTargets; // 最多保留 range-open-targets-limit 个
+    private long sweepDurationMs;
+    private LocalDateTime lastChecked;
+    
+    public PortRangeInfo(String range) {
+        this.range = range;
+        this.lastChecked = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public String getRange() {
+        return range;
+    }
+    
+    public void setRange(String range) {
+        this.range = range;
+    }
+    
+    public long getTargetCount() {
+        return targetCount;
+    }
+    
+    public void setTargetCount(long targetCount) {
+        this.targetCount = targetCount;
+    }
+    
+    public long getCheckedCount() {
+        return checkedCount;
+    }
+    
+    public void setCheckedCount(long checkedCount) {
+        this.checkedCount = checkedCount;
+    }
+    
+    public long getOpenCount() {
+        return openCount;
+    }
+    
+    public void setOpenCount(long openCount) {
+        this.openCount = openCount;
+    }
+    
+    public long getClosedCount() {
+        return closedCount;
+    }
+    
+    public void setClosedCount(long closedCount) {
+        this.closedCount = closedCount;
+    }
+    
+    public long getErrorCount() {
+        return errorCount;
+    }
+    
+    public void setErrorCount(long errorCount) {
+        this.errorCount = errorCount;
+    }
+    
+    public List<String> getOpenTargets() {
+        return openTargets;
+    }
+    
+    public void setOpenTargets(List<String> openTargets) {
+        this.openTargets = openTargets;
+    }
+    
+    public long getSweepDurationMs() {
+        return sweepDurationMs;
+    }
+    
+    public void setSweepDurationMs(long sweepDurationMs) {
+        this.sweepDurationMs = sweepDurationMs;
+    }
+    
+    public LocalDateTime getLastChecked() {
+        return lastChecked;
+    }
+    
+    public void setLastChecked(LocalDateTime lastChecked) {
+        this.lastChecked = lastChecked;
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.devops.exporter.port;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PortRangeSweep {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortRangeSweep.class);
+
+    private final PortTargetSpec spec;
+    private final PortCheckService portCheckService;
+    private final PortMetricsService metricsService;
+    private final int window;
+    private final int openTargetsLimit;
+
+    private final Iterator<String> targets;
+    private final CompletableFuture<PortRangeInfo> result = new CompletableFuture<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong checked = new AtomicLong();
+    private final AtomicLong open = new AtomicLong();
+    private final AtomicLong closed = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final List<String> openTargets = new ArrayList<>();
+    private long startNanos;
+
+    public PortRangeSweep(PortTargetSpec spec,
+                          PortCheckService portCheckService,
+                          PortMetricsService metricsService,
+                          int window,
+                          int openTargetsLimit) {
+        this.spec = spec;
+        this.portCheckService = portCheckService;
+        this.metricsService = metricsService;
+        this.window = Math.max(1, window);
+        this.openTargetsLimit = openTargetsLimit;
+        this.targets = spec.iterator();
+    }
+
+    public CompletableFuture<PortRangeInfo> start() {
+        startNanos = System.nanoTime();
+        logger.info("Sweeping port range {} ({} targets)", spec.getSpec(), spec.getTargetCount());
+        pump();
+        return result;
+    }
+
+    private void pump() {
+        // 串行化的补位循环：每完成一个检查就从迭代器取下一个目标，同时最多 window 个在途
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        do {
+            while (inFlight.get() < window && targets.hasNext()) {
+                inFlight.incrementAndGet();
+                launch(targets.next());
+            }
+            if (!targets.hasNext() && inFlight.get() == 0) {
+                finish();
+            }
+        } while (wip.decrementAndGet() != 0);
+    }
+
+    private void launch(String target) {
+        CompletableFuture<PortInfo> check;
+        try {
+            check = portCheckService.checkPortAsync(target);
+        } catch (RuntimeException e) {
+            check = CompletableFuture.failedFuture(e);
+        }
+
+        check.whenComplete((portInfo, throwable) -> {
+            record(target, portInfo, throwable);
+            inFlight.decrementAndGet();
+            pump();
+        });
+    }
+
+    private void record(String target, PortInfo portInfo, Throwable throwable) {
+        checked.incrementAndGet();
+
+        if (throwable != null || portInfo == null
+            || "ERROR".equals(portInfo.getStatus()) || "INVALID_FORMAT".equals(portInfo.getStatus())) {
+            errors.incrementAndGet();
+            logger.debug("Port check for {} in range {} failed", target, spec.getSpec());
+        } else if (portInfo.isOpen()) {
+            open.incrementAndGet();
+            metricsService.recordRangeCheckDuration(spec.getSpec(), portInfo.getCheckDurationNanos());
+            synchronized (openTargets) {
+                if (openTargets.size() < openTargetsLimit) {
+                    openTargets.add(target);
+                }
+            }
+        } else {
+            closed.incrementAndGet();
+        }
+    }
+
+    private void finish() {
+        if (result.isDone()) {
+            return;
+        }
+
+        PortRangeInfo rangeInfo = new PortRangeInfo(spec.getSpec());
+        rangeInfo.setTargetCount(spec.getTargetCount());
+        rangeInfo.setCheckedCount(checked.get());
+        rangeInfo.setOpenCount(open.get());
+        rangeInfo.setClosedCount(closed.get());
+        rangeInfo.setErrorCount(errors.get());
+        synchronized (openTargets) {
+            rangeInfo.setOpenTargets(List.copyOf(openTargets));
+        }
+        rangeInfo.setSweepDurationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        result.complete(rangeInfo);
+    }
+}
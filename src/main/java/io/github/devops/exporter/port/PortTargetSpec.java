@@ -0,0 +1,173 @@
+package io.github.devops.exporter.port;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public class PortTargetSpec {
+
+    private final String spec;
+    private final String host;
+    // CIDR 网段的起止地址（无符号 32 位），host 为普通主机名时不使用
+    private final long firstAddress;
+    private final long lastAddress;
+    private final boolean cidr;
+    // 端口区间，按 [start, end] 成对存放
+    private final int[] portRanges;
+
+    private PortTargetSpec(String spec, String host, long firstAddress, long lastAddress,
+                           boolean cidr, int[] portRanges) {
+        this.spec = spec;
+        this.host = host;
+        this.firstAddress = firstAddress;
+        this.lastAddress = lastAddress;
+        this.cidr = cidr;
+        this.portRanges = portRanges;
+    }
+
+    // 格式: host:port、host:22,80,8000-8100、10.20.0.0/16:22,80
+    public static PortTargetSpec parse(String target) {
+        int separator = target.indexOf(':');
+        if (separator <= 0 || separator != target.lastIndexOf(':')) {
+            throw new IllegalArgumentException("Invalid target format: " + target);
+        }
+
+        String hostPart = target.substring(0, separator).trim();
+        int[] portRanges = parsePorts(target.substring(separator + 1).trim());
+
+        int slash = hostPart.indexOf('/');
+        if (slash < 0) {
+            return new PortTargetSpec(target, hostPart, 0, 0, false, portRanges);
+        }
+
+        long address = parseIpv4(hostPart.substring(0, slash));
+        int prefix = Integer.parseInt(hostPart.substring(slash + 1));
+        if (prefix < 0 || prefix > 32) {
+            throw new IllegalArgumentException("Invalid CIDR prefix: " + hostPart);
+        }
+
+        long mask = prefix == 0 ? 0 : (0xFFFFFFFFL << (32 - prefix)) & 0xFFFFFFFFL;
+        long network = address & mask;
+        long broadcast = network | (~mask & 0xFFFFFFFFL);
+
+        // /31 和 /32 没有网络地址和广播地址，其余网段跳过首尾地址
+        if (prefix < 31) {
+            return new PortTargetSpec(target, hostPart, network + 1, broadcast - 1, true, portRanges);
+        }
+        return new PortTargetSpec(target, hostPart, network, broadcast, true, portRanges);
+    }
+
+    private static int[] parsePorts(String ports) {
+        if (ports.isEmpty()) {
+            throw new IllegalArgumentException("Missing port list");
+        }
+
+        List<int[]> ranges = new ArrayList<>();
+        for (String part : ports.split(",")) {
+            part = part.trim();
+            int dash = part.indexOf('-');
+            int start = Integer.parseInt(dash < 0 ? part : part.substring(0, dash).trim());
+            int end = dash < 0 ? start : Integer.parseInt(part.substring(dash + 1).trim());
+            if (start < 1 || end > 65535 || start > end) {
+                throw new IllegalArgumentException("Invalid port range: " + part);
+            }
+            ranges.add(new int[]{start, end});
+        }
+
+        int[] result = new int[ranges.size() * 2];
+        for (int i = 0; i < ranges.size(); i++) {
+            result[i * 2] = ranges.get(i)[0];
+            result[i * 2 + 1] = ranges.get(i)[1];
+        }
+        return result;
+    }
+
+    private static long parseIpv4(String address) {
+        String[] octets = address.trim().split("\\.");
+        if (octets.length != 4) {
+            throw new IllegalArgumentException("Only IPv4 CIDR ranges are supported: " + address);
+        }
+
+        long value = 0;
+        for (String octet : octets) {
+            int part = Integer.parseInt(octet);
+            if (part < 0 || part > 255) {
+                throw new IllegalArgumentException("Invalid IPv4 address: " + address);
+            }
+            value = (value << 8) | part;
+        }
+        return value;
+    }
+
+    private static String formatIpv4(long address) {
+        return ((address >> 24) & 0xFF) + "." + ((address >> 16) & 0xFF) + "."
+            + ((address >> 8) & 0xFF) + "." + (address & 0xFF);
+    }
+
+    public boolean isRange() {
+        return cidr || portRanges.length > 2 || portRanges[0] != portRanges[1];
+    }
+
+    public long getAddressCount() {
+        return cidr ? Math.max(0, lastAddress - firstAddress + 1) : 1;
+    }
+
+    public long getPortCount() {
+        long count = 0;
+        for (int i = 0; i < portRanges.length; i += 2) {
+            count += portRanges[i + 1] - portRanges[i] + 1;
+        }
+        return count;
+    }
+
+    public long getTargetCount() {
+        return getAddressCount() * getPortCount();
+    }
+
+    // 惰性展开为 host:port，按端口外层、地址内层的顺序遍历，把同一主机的连接分散开
+    public Iterator<String> iterator() {
+        return new Iterator<>() {
+            private int rangeIndex = 0;
+            private int port = portRanges[0];
+            private long address = firstAddress;
+
+            @Override
+            public boolean hasNext() {
+                return rangeIndex < portRanges.length && getAddressCount() > 0;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                String target = (cidr ? formatIpv4(address) : host) + ":" + port;
+
+                if (cidr && address < lastAddress) {
+                    address++;
+                } else {
+                    address = firstAddress;
+                    if (port < portRanges[rangeIndex + 1]) {
+                        port++;
+                    } else {
+                        rangeIndex += 2;
+                        if (rangeIndex < portRanges.length) {
+                            port = portRanges[rangeIndex];
+                        }
+                    }
+                }
+                return target;
+            }
+        };
+    }
+
+    public String getSpec() {
+        return spec;
+    }
+
+    public String getHost() {
+        return host;
+    }
+}
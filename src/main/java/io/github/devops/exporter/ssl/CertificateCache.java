@@ -0,0 +1,207 @@
+package io.github.devops.exporter.ssl;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 按证书 SHA-256 指纹缓存解析结果，按域名记录各地址最近一次握手拿到的证书链和下一次需要握手的时间
+public class CertificateCache {
+
+    private static final int MAX_BACKOFF_SHIFT = 20;
+
+    private final Duration maxInterval;
+    private final Duration warningWindow;
+    // 指纹 -> 解析后的证书；负载均衡后端、多个域名共用同一张证书（SAN / 通配符）或同一张中间证书时只解析一次
+    private final Map<String, ParsedCertificate> certificates = new ConcurrentHashMap<>();
+    private final Map<String, HostState> hosts = new ConcurrentHashMap<>();
+
+    public CertificateCache(Duration maxInterval, Duration warningWindow) {
+        this.maxInterval = maxInterval;
+        this.warningWindow = warningWindow;
+    }
+
+    public ParsedCertificate parse(X509Certificate certificate) {
+        return certificates.computeIfAbsent(fingerprint(certificate), key -> new ParsedCertificate(key, certificate));
+    }
+
+    // 还没到下一次握手时间时返回缓存的状态，否则返回 null
+    public HostState cached(String host, Instant now) {
+        HostState state = hosts.get(host);
+        if (state == null || !now.isBefore(state.nextProbeAt)) {
+            return null;
+        }
+        return state;
+    }
+
+    // 记录一次握手的结果：出现之前没见过的叶子证书指纹视为证书轮换，回到最短的检查间隔；
+    // 有地址握手失败时下一次调度继续握手。minInterval 是该目标的调度间隔，缓存只决定哪些调度轮次需要真正握手
+    public HostState observe(String host, List<SslEndpointInfo> endpoints, Duration minInterval, Instant now) {
+        Set<String> leaves = new HashSet<>();
+        boolean failed = false;
+        Instant earliestNotAfter = null;
+        for (SslEndpointInfo endpoint : endpoints) {
+            if (!endpoint.isOk()) {
+                failed = true;
+                continue;
+            }
+            // 退避只看叶子证书：服务端仍发送的过期交叉签名 / 根证书客户端并不使用，不应一直按最短间隔握手
+            ParsedCertificate leaf = endpoint.getLeaf();
+            leaves.add(leaf.getFingerprint());
+            if (earliestNotAfter == null || leaf.notAfter.isBefore(earliestNotAfter)) {
+                earliestNotAfter = leaf.notAfter;
+            }
+        }
+
+        HostState previous = hosts.get(host);
+        boolean changed = previous != null && !previous.leafFingerprints.containsAll(leaves);
+        if (failed && previous != null) {
+            // 失败的地址没有拿到证书，保留之前看到的指纹，恢复后不会被误判为轮换
+            leaves.addAll(previous.leafFingerprints);
+        }
+        int stableProbes = previous == null || changed || failed ? 0 : previous.stableProbes + 1;
+        Instant nextProbeAt = now;
+        if (!failed && earliestNotAfter != null) {
+            // 提前半个调度间隔到期，避免调度抖动让到期的轮次被错过而多等一整个间隔
+            Duration interval = nextInterval(earliestNotAfter, stableProbes, minInterval, now);
+            nextProbeAt = now.plus(interval).minus(minInterval.dividedBy(2));
+        }
+        HostState state = new HostState(List.copyOf(endpoints), Set.copyOf(leaves), stableProbes, changed,
+            now, nextProbeAt);
+        hosts.put(host, state);
+
+        if (changed) {
+            purge();
+        }
+        return state;
+    }
+
+    Duration nextInterval(Instant notAfter, int stableProbes, Duration minInterval, Instant now) {
+        // 即将进入预警期或已经在预警期内时按最短间隔检查，及时发现续期
+        Duration untilWarning = Duration.between(now, notAfter).minus(warningWindow);
+        if (untilWarning.compareTo(minInterval) <= 0) {
+            return minInterval;
+        }
+        // 每次指纹不变间隔翻倍，但不超过最长间隔，也不越过进入预警期的时间点
+        Duration interval = minInterval.multipliedBy(1L << Math.min(stableProbes, MAX_BACKOFF_SHIFT));
+        if (interval.compareTo(maxInterval) > 0) {
+            interval = maxInterval.compareTo(minInterval) > 0 ? maxInterval : minInterval;
+        }
+        return interval.compareTo(untilWarning) > 0 ? untilWarning : interval;
+    }
+
+    // 从配置中移除的域名不再检查，丢弃它们的状态和只被它们引用的证书
+    public void retain(Collection<String> configured) {
+        if (hosts.keySet().retainAll(new HashSet<>(configured))) {
+            purge();
+        }
+    }
+
+    private void purge() {
+        // 没有域名再引用的证书从缓存中删除
+        Set<String> referenced = new HashSet<>();
+        for (HostState state : hosts.values()) {
+            for (SslEndpointInfo endpoint : state.endpoints) {
+                for (ParsedCertificate certificate : endpoint.getChain()) {
+                    referenced.add(certificate.fingerprint);
+                }
+            }
+        }
+        certificates.keySet().retainAll(referenced);
+    }
+
+    public int size() {
+        return certificates.size();
+    }
+
+    static String fingerprint(X509Certificate certificate) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(certificate.getEncoded());
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException | CertificateEncodingException e) {
+            throw new IllegalStateException("Unable to fingerprint certificate", e);
+        }
+    }
+
+    public static final class ParsedCertificate {
+        private final String fingerprint;
+        private final String issuer;
+        private final String subject;
+        private final Instant notAfter;
+
+        ParsedCertificate(String fingerprint, X509Certificate certificate) {
+            this.fingerprint = fingerprint;
+            this.issuer = certificate.getIssuerX500Principal().toString();
+            this.subject = certificate.getSubjectX500Principal().toString();
+            this.notAfter = certificate.getNotAfter().toInstant();
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public String getIssuer() {
+            return issuer;
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+
+        public Instant getNotAfter() {
+            return notAfter;
+        }
+    }
+
+    public static final class HostState {
+        private final List<SslEndpointInfo> endpoints;
+        private final Set<String> leafFingerprints;
+        private final int stableProbes;
+        private final boolean changed;
+        private final Instant handshakeAt; // 这些结果实际握手的时间，缓存命中时作为最后检查时间
+        private final Instant nextProbeAt;
+
+        private HostState(List<SslEndpointInfo> endpoints, Set<String> leafFingerprints,
+                          int stableProbes, boolean changed, Instant handshakeAt, Instant nextProbeAt) {
+            this.endpoints = endpoints;
+            this.leafFingerprints = leafFingerprints;
+            this.stableProbes = stableProbes;
+            this.changed = changed;
+            this.handshakeAt = handshakeAt;
+            this.nextProbeAt = nextProbeAt;
+        }
+
+        public List<SslEndpointInfo> getEndpoints() {
+            return endpoints;
+        }
+
+        public Set<String> getLeafFingerprints() {
+            return leafFingerprints;
+        }
+
+        public int getStableProbes() {
+            return stableProbes;
+        }
+
+        public boolean isChanged() {
+            return changed;
+        }
+
+        public Instant getHandshakeAt() {
+            return handshakeAt;
+        }
+
+        public Instant getNextProbeAt() {
+            return nextProbeAt;
+        }
+    }
+}
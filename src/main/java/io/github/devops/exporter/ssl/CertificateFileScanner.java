@@ -0,0 +1,527 @@
+package io.github.devops.exporter.ssl;
+
+import io.github.devops.exporter.config.SslFileScanProperties;
+import io.github.devops.exporter.config.SslMonitorProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.naming.InvalidNameException;
+import javax.naming.ldap.LdapName;
+import javax.naming.ldap.Rdn;
+import javax.security.auth.x500.X500Principal;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// 扫描本地证书文件（PEM / DER 证书、JKS / PKCS12 密钥库）：内存映射读取，只解析修改时间或大小变化的文件，
+// WatchService 监听目录增量更新，另有低频的全量扫描兜底（只比较文件属性）。结果以 source=file 导出
+@Component
+public class CertificateFileScanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CertificateFileScanner.class);
+    private static final Set<String> KEYSTORE_EXTENSIONS = Set.of("jks", "keystore", "p12", "pfx");
+    private static final byte[] PEM_BEGIN = "-----BEGIN CERTIFICATE-----".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PEM_END = "-----END CERTIFICATE-----".getBytes(StandardCharsets.US_ASCII);
+    // 部署工具和编辑器往往连续产生多个事件，收到第一个事件后稍等再合并处理
+    private static final long DEBOUNCE_MILLIS = 200;
+
+    private final SslMonitorProperties properties;
+    private final SslFileScanProperties fileProperties;
+    private final SslMetricsService metricsService;
+    private final List<PathMatcher> matchers = new ArrayList<>();
+    private final Counter parsedFiles;
+    // 以下状态仅由扫描线程访问
+    private final Map<Path, FileState> files = new HashMap<>();
+    private final Map<Path, WatchKey> watchKeys = new HashMap<>();
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+    private volatile int trackedFiles;
+    private volatile boolean running;
+    private WatchService watchService;
+    private Thread thread;
+
+    public CertificateFileScanner(SslMonitorProperties properties,
+                                  SslMetricsService metricsService,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.fileProperties = properties.getFiles();
+        this.metricsService = metricsService;
+        for (String pattern : fileProperties.getPatterns()) {
+            matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + pattern));
+        }
+
+        this.parsedFiles = Counter.builder("ssl_file_parsed")
+            .description("Certificate files parsed because they were new or their modification time or size changed")
+            .register(meterRegistry);
+        Gauge.builder("ssl_file_tracked", this, scanner -> scanner.trackedFiles)
+            .description("Number of certificate files currently tracked by the file scanner")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!properties.isEnabled() || fileProperties.getDirectories().isEmpty()) {
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException e) {
+            logger.warn("WatchService unavailable, certificate files will only be rescanned every {}s: {}",
+                fileProperties.getRescanInterval(), e.getMessage());
+        }
+        running = true;
+        thread = new Thread(this::run, "ssl-file-scanner");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.debug("Error closing WatchService: {}", e.getMessage());
+            }
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run() {
+        long rescanNanos = TimeUnit.SECONDS.toNanos(Math.max(1, fileProperties.getRescanInterval()));
+        fullScan();
+        long nextRescan = System.nanoTime() + rescanNanos;
+        try {
+            while (running) {
+                long waitNanos = nextRescan - System.nanoTime();
+                WatchKey key = null;
+                if (waitNanos > 0) {
+                    if (watchService != null) {
+                        key = watchService.poll(waitNanos, TimeUnit.NANOSECONDS);
+                    } else {
+                        TimeUnit.NANOSECONDS.sleep(waitNanos);
+                    }
+                }
+                if (key == null) {
+                    fullScan();
+                    nextRescan = System.nanoTime() + rescanNanos;
+                    continue;
+                }
+
+                Set<Path> changed = new LinkedHashSet<>();
+                boolean overflow = collect(key, changed);
+                Thread.sleep(DEBOUNCE_MILLIS);
+                while ((key = watchService.poll()) != null) {
+                    overflow |= collect(key, changed);
+                }
+                if (overflow) {
+                    fullScan(); // 事件丢失时退回全量扫描
+                } else {
+                    changed.forEach(this::refresh);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            logger.debug("Certificate file scanner stopped");
+        }
+    }
+
+    private boolean collect(WatchKey key, Set<Path> changed) {
+        boolean overflow = false;
+        Path directory = watchedDirectories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+            } else if (directory != null) {
+                changed.add(directory.resolve((Path) event.context()));
+            }
+        }
+        if (!key.reset()) {
+            // 目录已被删除
+            Path removed = watchedDirectories.remove(key);
+            if (removed != null) {
+                watchKeys.remove(removed);
+            }
+        }
+        return overflow;
+    }
+
+    void fullScan() {
+        long startTime = System.nanoTime();
+        Set<Path> seen = new HashSet<>();
+        int parsed = 0;
+        for (String directory : fileProperties.getDirectories()) {
+            parsed += walk(Paths.get(directory).toAbsolutePath().normalize(), seen);
+        }
+        // 扫描中没有再出现的文件已被删除
+        Iterator<Path> tracked = files.keySet().iterator();
+        while (tracked.hasNext()) {
+            Path path = tracked.next();
+            if (!seen.contains(path)) {
+                unpublish(files.get(path));
+                tracked.remove();
+            }
+        }
+        trackedFiles = files.size();
+        logger.info("Scanned {} certificate files in {} ms, {} parsed",
+            seen.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), parsed);
+    }
+
+    private int walk(Path root, Set<Path> seen) {
+        int[] parsed = {0};
+        int maxDepth = fileProperties.isRecursive() ? Integer.MAX_VALUE : 1;
+        try {
+            // 跟随符号链接：Let's Encrypt 的 live/<name>/*.pem 和 Kubernetes Secret 挂载都是链接，
+            // refresh 读取属性时同样跟随链接，两条路径对同一文件的判断一致
+            Files.walkFileTree(root, EnumSet.of(FileVisitOption.FOLLOW_LINKS), maxDepth, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) {
+                    // 隐藏目录（如 Kubernetes 的 ..data 和带时间戳的目录）由外层的链接访问，不重复扫描
+                    if (!directory.equals(root) && isHidden(directory)) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    watch(directory);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path path, BasicFileAttributes attributes) {
+                    if (attributes.isRegularFile() && matches(path)) {
+                        seen.add(path);
+                        if (scan(path, attributes)) {
+                            parsed[0]++;
+                        }
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path path, IOException e) {
+                    // 包括 FileSystemLoopException：链接指回上层目录时跳过该链接
+                    logger.debug("Unable to read {}: {}", path, e.toString());
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Unable to scan certificate directory {}: {}", root, e.getMessage());
+        }
+        return parsed[0];
+    }
+
+    private void watch(Path directory) {
+        if (watchService == null || watchKeys.containsKey(directory)) {
+            return;
+        }
+        try {
+            WatchKey key = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            watchKeys.put(directory, key);
+            watchedDirectories.put(key, directory);
+        } catch (IOException e) {
+            logger.warn("Unable to watch {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void refresh(Path path) {
+        Path parent = path.getParent();
+        if (isHidden(path) && parent != null) {
+            // Kubernetes 更新 Secret 时只替换 ..data 链接，证书文件本身没有事件，重新检查所在目录（只比较属性）
+            walk(parent, new HashSet<>());
+            trackedFiles = files.size();
+            return;
+        }
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            // 文件或目录已被删除
+            Iterator<Map.Entry<Path, FileState>> tracked = files.entrySet().iterator();
+            while (tracked.hasNext()) {
+                Map.Entry<Path, FileState> entry = tracked.next();
+                if (entry.getKey().startsWith(path)) {
+                    unpublish(entry.getValue());
+                    tracked.remove();
+                }
+            }
+            trackedFiles = files.size();
+            return;
+        }
+        if (attributes.isDirectory()) {
+            if (fileProperties.isRecursive()) {
+                walk(path, new HashSet<>()); // 新建或移入的目录
+            }
+        } else if (attributes.isRegularFile() && matches(path)) {
+            scan(path, attributes);
+        }
+        trackedFiles = files.size();
+    }
+
+    private static boolean isHidden(Path path) {
+        Path name = path.getFileName();
+        return name != null && name.toString().startsWith(".");
+    }
+
+    private boolean matches(Path path) {
+        Path name = path.getFileName();
+        for (PathMatcher matcher : matchers) {
+            if (matcher.matches(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 返回 true 表示文件是新的或已变化，进行了解析
+    private boolean scan(Path path, BasicFileAttributes attributes) {
+        long modified = attributes.lastModifiedTime().toMillis();
+        long size = attributes.size();
+        FileState previous = files.get(path);
+        if (previous != null && previous.modified == modified && previous.size == size) {
+            return false;
+        }
+
+        List<SslCertificateInfo> infos = parse(path, size);
+        parsedFiles.increment();
+        Map<String, String> targets = new LinkedHashMap<>();
+        for (SslCertificateInfo info : infos) {
+            String key = info.getPath();
+            // domain 标签在注册时确定，文件换成了另一张证书时先移除旧指标
+            if (previous != null && previous.targets.containsKey(key)
+                && !previous.targets.get(key).equals(info.getDomain())) {
+                metricsService.removeSslMetrics(key);
+            }
+            metricsService.updateSslMetrics(info);
+            targets.put(key, info.getDomain());
+        }
+        if (previous != null) {
+            for (String key : previous.targets.keySet()) {
+                if (!targets.containsKey(key)) {
+                    metricsService.removeSslMetrics(key);
+                }
+            }
+        }
+        files.put(path, new FileState(modified, size, targets));
+        return true;
+    }
+
+    private void unpublish(FileState state) {
+        for (String key : state.targets.keySet()) {
+            metricsService.removeSslMetrics(key);
+        }
+    }
+
+    private List<SslCertificateInfo> parse(Path path, long size) {
+        String location = path.toString();
+        if (size > fileProperties.getMaxFileSize()) {
+            return List.of(errorInfo(location, "File too large: " + size + " bytes"));
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // 内存映射读取，证书解析直接从映射区读，不经过堆上的中间缓冲
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            List<SslCertificateInfo> infos = isKeystore(path)
+                ? parseKeystore(location, path, buffer)
+                : parseCertificates(location, buffer);
+            if (infos.isEmpty()) {
+                return List.of(errorInfo(location, "No certificates found"));
+            }
+            return infos;
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            logger.warn("Unable to parse certificate file {}: {}", path, e.getMessage());
+            return List.of(errorInfo(location, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()));
+        }
+    }
+
+    private static boolean isKeystore(Path path) {
+        String name = path.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 && KEYSTORE_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private List<SslCertificateInfo> parseCertificates(String location, ByteBuffer buffer)
+        throws GeneralSecurityException {
+        CertificateFactory factory = CertificateFactory.getInstance("X.509");
+        List<X509Certificate> certificates = new ArrayList<>();
+        int begin = indexOf(buffer, PEM_BEGIN, 0);
+        if (begin < 0) {
+            // DER 编码的单张证书
+            certificates.add((X509Certificate) factory.generateCertificate(new ByteBufferInputStream(buffer)));
+        }
+        while (begin >= 0) {
+            // PEM 证书包里可能夹着私钥等其他块，只解码 CERTIFICATE 块
+            int start = begin + PEM_BEGIN.length;
+            int end = indexOf(buffer, PEM_END, start);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unterminated PEM certificate block");
+            }
+            ByteBuffer der = Base64.getMimeDecoder().decode(buffer.slice(start, end - start));
+            certificates.add((X509Certificate) factory.generateCertificate(new ByteBufferInputStream(der)));
+            begin = indexOf(buffer, PEM_BEGIN, end + PEM_END.length);
+        }
+
+        List<SslCertificateInfo> infos = new ArrayList<>();
+        for (int i = 0; i < certificates.size(); i++) {
+            infos.add(toInfo(certificates.size() == 1 ? location : location + "#" + i, certificates.get(i)));
+        }
+        return infos;
+    }
+
+    private List<SslCertificateInfo> parseKeystore(String location, Path path, ByteBuffer buffer)
+        throws IOException, GeneralSecurityException {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        KeyStore keyStore = KeyStore.getInstance(name.endsWith(".jks") || name.endsWith(".keystore") ? "JKS" : "PKCS12");
+        String password = fileProperties.getKeystorePassword();
+        keyStore.load(new ByteBufferInputStream(buffer), password != null ? password.toCharArray() : null);
+
+        List<SslCertificateInfo> infos = new ArrayList<>();
+        for (String alias : Collections.list(keyStore.aliases())) {
+            // 私钥条目取证书链的第一张，受信任证书条目取证书本身
+            Certificate certificate = keyStore.getCertificate(alias);
+            if (certificate instanceof X509Certificate x509) {
+                infos.add(toInfo(location + "!" + alias, x509));
+            }
+        }
+        return infos;
+    }
+
+    private SslCertificateInfo toInfo(String key, X509Certificate certificate) {
+        SslCertificateInfo info = new SslCertificateInfo(commonName(certificate.getSubjectX500Principal()));
+        info.setSource(SslCertificateInfo.SOURCE_FILE);
+        info.setPath(key);
+        info.setIssuer(certificate.getIssuerX500Principal().toString());
+        info.setSubject(certificate.getSubjectX500Principal().toString());
+        info.setFingerprint(CertificateCache.fingerprint(certificate));
+        info.setExpirationDate(LocalDateTime.ofInstant(certificate.getNotAfter().toInstant(), ZoneId.systemDefault()));
+        // 剩余天数和状态在读取时计算
+        info.setWarningDays(properties.getWarningDays());
+        info.setNotAfterEpochSecond(certificate.getNotAfter().toInstant().getEpochSecond());
+        return info;
+    }
+
+    private static SslCertificateInfo errorInfo(String key, String error) {
+        SslCertificateInfo info = new SslCertificateInfo("");
+        info.setSource(SslCertificateInfo.SOURCE_FILE);
+        info.setPath(key);
+        info.setStatus("PARSE_ERROR");
+        info.setError(error);
+        info.setDaysUntilExpiration(-999);
+        return info;
+    }
+
+    static String commonName(X500Principal principal) {
+        try {
+            for (Rdn rdn : new LdapName(principal.getName()).getRdns()) {
+                if ("CN".equalsIgnoreCase(rdn.getType())) {
+                    return rdn.getValue().toString();
+                }
+            }
+        } catch (InvalidNameException e) {
+            logger.debug("Unable to parse subject {}: {}", principal, e.getMessage());
+        }
+        return "";
+    }
+
+    static int indexOf(ByteBuffer buffer, byte[] pattern, int from) {
+        int last = buffer.limit() - pattern.length;
+        outer:
+        for (int i = from; i <= last; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (buffer.get(i + j) != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static final class FileState {
+        private final long modified;
+        private final long size;
+        private final Map<String, String> targets; // 该文件导出的指标 key -> domain 标签
+
+        private FileState(long modified, long size, Map<String, String> targets) {
+            this.modified = modified;
+            this.size = size;
+            this.targets = targets;
+        }
+    }
+
+    // 证书解析和密钥库加载都只接受 InputStream，直接从（映射的）ByteBuffer 读取
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer.duplicate();
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -1,11 +1,20 @@
 package io.github.devops.exporter.ssl;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class SslCertificateInfo {
+    public static final String SOURCE_ENDPOINT = "endpoint";
+    public static final String SOURCE_FILE = "file";
+    
     private String domain;
+    private String source = SOURCE_ENDPOINT; // endpoint=在线 TLS 握手，file=本地证书文件 / 密钥库
+    private String path; // 文件证书的路径，密钥库条目为 路径!别名，PEM 证书包中的第 n 张为 路径#n
     private LocalDateTime expirationDate;
-    private long daysUntilExpiration;
+    private long daysUntilExpiration; // 没有过期时间时的取值（-999 表示查询失败）
+    private long notAfterEpochSecond; // 证书过期时间（epoch 秒），0 表示未知；剩余天数和状态在读取时按当前时间计算
+    private int warningDays;
     private boolean isExpired;
     private boolean isWarning;
     private String status;
@@ -13,6 +22,15 @@ public class SslCertificateInfo {
     private LocalDateTime lastChecked;
     private String issuer;
     private String subject;
+    private long checkDurationNanos;
+    private Boolean trusted; // 证书链能否通过默认信任库和主机名校验，未拿到证书时为 null
+    private String trustError;
+    private String fingerprint; // 最早过期的那张证书 DER 编码的 SHA-256
+    private String expiringIp; // 最早过期的证书来自哪个地址
+    private List<SslEndpointInfo> endpoints = List.of();
+    private boolean cached; // 本次结果来自证书缓存，没有进行 TLS 握手
+    private boolean fingerprintChanged; // 与上一次握手看到的证书不同（证书已轮换）
+    private LocalDateTime nextHandshake;
     
     public SslCertificateInfo(String domain) {
         this.domain = domain;
@@ -28,6 +46,22 @@ public class SslCertificateInfo {
         this.domain = domain;
     }
     
+    public String getSource() {
+        return source;
+    }
+    
+    public void setSource(String source) {
+        this.source = source;
+    }
+    
+    public String getPath() {
+        return path;
+    }
+    
+    public void setPath(String path) {
+        this.path = path;
+    }
+    
     public LocalDateTime getExpirationDate() {
         return expirationDate;
     }
@@ -37,7 +71,14 @@ public class SslCertificateInfo {
     }
     
     public long getDaysUntilExpiration() {
-        return daysUntilExpiration;
+        if (notAfterEpochSecond == 0) {
+            return daysUntilExpiration;
+        }
+        return getSecondsUntilExpiration() / 86400;
+    }
+    
+    public long getSecondsUntilExpiration() {
+        return notAfterEpochSecond == 0 ? 0 : notAfterEpochSecond - Instant.now().getEpochSecond();
     }
     
     public void setDaysUntilExpiration(long daysUntilExpiration) {
@@ -45,7 +86,10 @@ public class SslCertificateInfo {
     }
     
     public boolean isExpired() {
-        return isExpired;
+        if (notAfterEpochSecond == 0) {
+            return isExpired;
+        }
+        return getSecondsUntilExpiration() < 0;
     }
     
     public void setExpired(boolean expired) {
@@ -53,7 +97,10 @@ public class SslCertificateInfo {
     }
     
     public boolean isWarning() {
-        return isWarning;
+        if (notAfterEpochSecond == 0) {
+            return isWarning;
+        }
+        return !isExpired() && getDaysUntilExpiration() <= warningDays;
     }
     
     public void setWarning(boolean warning) {
@@ -61,7 +108,10 @@ public class SslCertificateInfo {
     }
     
     public String getStatus() {
-        return status;
+        if (notAfterEpochSecond == 0) {
+            return status;
+        }
+        return isExpired() ? "EXPIRED" : isWarning() ? "WARNING" : "VALID";
     }
     
     public void setStatus(String status) {
@@ -76,6 +126,22 @@ public class SslCertificateInfo {
         this.error = error;
     }
     
+    public long getNotAfterEpochSecond() {
+        return notAfterEpochSecond;
+    }
+    
+    public void setNotAfterEpochSecond(long notAfterEpochSecond) {
+        this.notAfterEpochSecond = notAfterEpochSecond;
+    }
+    
+    public int getWarningDays() {
+        return warningDays;
+    }
+    
+    public void setWarningDays(int warningDays) {
+        this.warningDays = warningDays;
+    }
+    
     public LocalDateTime getLastChecked() {
         return lastChecked;
     }
@@ -99,4 +165,76 @@ public class SslCertificateInfo {
     public void setSubject(String subject) {
         this.subject = subject;
     }
+    
+    public long getCheckDurationNanos() {
+        return checkDurationNanos;
+    }
+    
+    public void setCheckDurationNanos(long checkDurationNanos) {
+        this.checkDurationNanos = checkDurationNanos;
+    }
+    
+    public Boolean getTrusted() {
+        return trusted;
+    }
+    
+    public void setTrusted(Boolean trusted) {
+        this.trusted = trusted;
+    }
+    
+    public String getTrustError() {
+        return trustError;
+    }
+    
+    public void setTrustError(String trustError) {
+        this.trustError = trustError;
+    }
+    
+    public String getFingerprint() {
+        return fingerprint;
+    }
+    
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+    
+    public String getExpiringIp() {
+        return expiringIp;
+    }
+    
+    public void setExpiringIp(String expiringIp) {
+        this.expiringIp = expiringIp;
+    }
+    
+    public List<SslEndpointInfo> getEndpoints() {
+        return endpoints;
+    }
+    
+    public void setEndpoints(List<SslEndpointInfo> endpoints) {
+        this.endpoints = endpoints;
+    }
+    
+    public boolean isCached() {
+        return cached;
+    }
+    
+    public void setCached(boolean cached) {
+        this.cached = cached;
+    }
+    
+    public boolean isFingerprintChanged() {
+        return fingerprintChanged;
+    }
+    
+    public void setFingerprintChanged(boolean fingerprintChanged) {
+        this.fingerprintChanged = fingerprintChanged;
+    }
+    
+    public LocalDateTime getNextHandshake() {
+        return nextHandshake;
+    }
+    
+    public void setNextHandshake(LocalDateTime nextHandshake) {
+        this.nextHandshake = nextHandshake;
+    }
 }
\ No newline at end of file
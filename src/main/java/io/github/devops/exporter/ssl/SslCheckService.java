@@ -1,22 +1,26 @@
 package io.github.devops.exporter.ssl;
 
+import io.github.devops.exporter.common.CheckExecutor;
+import io.github.devops.exporter.common.DnsCache;
 import io.github.devops.exporter.config.SslMonitorProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
-import javax.net.ssl.HttpsURLConnection;
-import javax.net.ssl.SSLSocket;
-import javax.net.ssl.SSLSocketFactory;
-import java.io.IOException;
-import java.net.URL;
-import java.security.cert.Certificate;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 public class SslCheckService {
@@ -24,104 +28,208 @@ public class SslCheckService {
     private static final Logger logger = LoggerFactory.getLogger(SslCheckService.class);
     
     private final SslMonitorProperties properties;
+    private final CheckExecutor checkExecutor;
+    private final DnsCache dnsCache;
+    private final TlsProbeEngine tlsProbeEngine;
+    private final CertificateCache certificateCache;
     
-    public SslCheckService(SslMonitorProperties properties) {
+    public SslCheckService(SslMonitorProperties properties,
+                           @Qualifier("sslCheckExecutor") CheckExecutor checkExecutor,
+                           DnsCache dnsCache,
+                           TlsProbeEngine tlsProbeEngine) {
         this.properties = properties;
+        this.checkExecutor = checkExecutor;
+        this.dnsCache = dnsCache;
+        this.tlsProbeEngine = tlsProbeEngine;
+        // 关闭 certificate-cache 时仍按指纹去重解析和识别证书轮换，只是每次调度都握手
+        this.certificateCache = new CertificateCache(Duration.ofSeconds(properties.getMaxRecheckInterval()),
+            Duration.ofDays(properties.getWarningDays()));
+    }
+    
+    // 丢弃已不在配置中的域名的握手状态
+    public void retainDomains(Collection<String> domains) {
+        certificateCache.retain(domains);
     }
     
     public CompletableFuture<SslCertificateInfo> checkSslAsync(String domain) {
-        return CompletableFuture.supplyAsync(() -> checkSsl(domain));
+        return checkSslAsync(domain, false);
     }
     
-    public SslCertificateInfo checkSsl(String domain) {
-        SslCertificateInfo sslInfo = new SslCertificateInfo(domain);
-        
+    // force 为 true 时（手动触发）总是重新握手；定时检查在缓存未到期时直接用缓存的证书链
+    public CompletableFuture<SslCertificateInfo> checkSslAsync(String domain, boolean force) {
+        if (!force && properties.isCertificateCache()) {
+            CertificateCache.HostState state = certificateCache.cached(domain, Instant.now());
+            if (state != null) {
+                return CompletableFuture.completedFuture(fromCache(domain, state));
+            }
+        }
+        long startTime = System.nanoTime();
+        // DNS 解析可能阻塞，放在线程池中完成；各地址的连接和握手在 selector 上并发进行，不占用检查线程
+        return checkExecutor.supplyAsync(() -> resolve(domain))
+            .thenCompose(addresses -> probeAll(domain, addresses))
+            .handle((endpoints, throwable) -> toSslInfo(domain, endpoints, throwable, System.nanoTime() - startTime));
+    }
+    
+    private List<InetAddress> resolve(String domain) {
+        // 通过共享 DNS 缓存解析，解析失败（含负缓存命中）时直接返回
         try {
-            X509Certificate certificate = getCertificate(domain);
-            if (certificate != null) {
-                processCertificate(sslInfo, certificate);
-            } else {
-                sslInfo.setStatus("CERTIFICATE_NOT_FOUND");
-                sslInfo.setError("Unable to retrieve SSL certificate");
-                sslInfo.setDaysUntilExpiration(-999);
+            InetAddress[] addresses = dnsCache.resolveAll(domain);
+            if (!properties.isAllAddresses()) {
+                return List.of(addresses[0]);
             }
-        } catch (Exception e) {
-            logger.error("Error checking SSL for domain {}: {}", domain, e.getMessage());
+            return Arrays.stream(addresses).distinct().toList();
+        } catch (UnknownHostException e) {
+            throw new CompletionException(e);
+        }
+    }
+    
+    private CompletableFuture<List<SslEndpointInfo>> probeAll(String domain, List<InetAddress> addresses) {
+        // 每个地址都带 SNI 握手，负载均衡后某个后端证书过期也能发现
+        List<CompletableFuture<SslEndpointInfo>> futures = addresses.stream()
+            .map(address -> tlsProbeEngine.probe(domain, new InetSocketAddress(address, 443), properties.isResumption())
+                .handle((result, throwable) -> toEndpoint(domain, address, result, throwable)))
+            .toList();
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+    }
+    
+    private SslEndpointInfo toEndpoint(String domain, InetAddress address, TlsProbeResult result, Throwable throwable) {
+        SslEndpointInfo endpoint = new SslEndpointInfo(address.getHostAddress());
+        if (throwable != null) {
+            String message = errorMessage(throwable);
+            logger.error("Error checking SSL for domain {} at {}: {}", domain, endpoint.getIp(), message);
+            endpoint.setStatus("ERROR");
+            endpoint.setError(message);
+            return endpoint;
+        }
+        if (result.getLeaf() == null) {
+            endpoint.setStatus("CERTIFICATE_NOT_FOUND");
+            endpoint.setError("Unable to retrieve SSL certificate");
+            return endpoint;
+        }
+        
+        // 不受信任的证书（自签名、过期、主机名不匹配）同样读取过期时间，信任结果单独记录
+        endpoint.setStatus("OK");
+        endpoint.setProtocol(result.getProtocol());
+        endpoint.setCipherSuite(result.getCipherSuite());
+        endpoint.setConnectNanos(result.getConnectNanos());
+        endpoint.setHandshakeNanos(result.getHandshakeNanos());
+        endpoint.setResumed(result.getResumed());
+        endpoint.setResumedHandshakeNanos(result.getResumedHandshakeNanos());
+        endpoint.setResumptionError(result.getResumptionError());
+        if (Boolean.FALSE.equals(result.getResumed())) {
+            logger.warn("TLS session resumption failed for {} at {}{}", domain, endpoint.getIp(),
+                result.getResumptionError() != null ? ": " + result.getResumptionError() : "");
+        }
+        endpoint.setTrusted(result.isTrusted());
+        endpoint.setTrustError(result.getTrustError());
+        if (!result.isTrusted()) {
+            logger.warn("SSL certificate for {} at {} is not trusted: {}", domain, endpoint.getIp(), result.getTrustError());
+        }
+        // 整条证书链都解析，按指纹去重：各地址返回相同证书时只解析一次
+        endpoint.setChain(Arrays.stream(result.getChain()).map(certificateCache::parse).toList());
+        return endpoint;
+    }
+    
+    private static String errorMessage(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+            ? throwable.getCause() : throwable;
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+    
+    private SslCertificateInfo toSslInfo(String domain, List<SslEndpointInfo> endpoints, Throwable throwable, long durationNanos) {
+        SslCertificateInfo sslInfo = new SslCertificateInfo(domain);
+        sslInfo.setCheckDurationNanos(durationNanos);
+        
+        if (throwable != null) {
+            String message = errorMessage(throwable);
+            logger.error("Error checking SSL for domain {}: {}", domain, message);
             sslInfo.setStatus("ERROR");
-            sslInfo.setError(e.getMessage());
+            sslInfo.setError(message);
             sslInfo.setDaysUntilExpiration(-999);
+            return sslInfo;
         }
         
+        // 指纹没变时复用已解析的证书，出现新指纹时缩短下一次握手的间隔
+        CertificateCache.HostState state = certificateCache.observe(domain, endpoints,
+            Duration.ofSeconds(properties.getIntervalFor(domain)), Instant.now());
+        if (state.isChanged()) {
+            logger.warn("SSL certificate for {} changed, now serving {}", domain, state.getLeafFingerprints());
+        }
+        applyState(sslInfo, state);
         return sslInfo;
     }
     
-    private X509Certificate getCertificate(String domain) throws IOException {
-        // 首先尝试通过 HTTPS 连接获取证书
-        try {
-            URL url = new URL("https://" + domain);
-            HttpsURLConnection connection = (HttpsURLConnection) url.openConnection();
-            connection.setConnectTimeout(properties.getConnectionTimeout());
-            connection.setReadTimeout(properties.getReadTimeout());
-            connection.connect();
-            
-            Certificate[] certificates = connection.getServerCertificates();
-            connection.disconnect();
-            
-            if (certificates.length > 0 && certificates[0] instanceof X509Certificate) {
-                return (X509Certificate) certificates[0];
-            }
-        } catch (Exception e) {
-            logger.debug("HTTPS connection failed for {}, trying SSL socket: {}", domain, e.getMessage());
+    private SslCertificateInfo fromCache(String domain, CertificateCache.HostState state) {
+        // 没有握手，耗时记为 0，不计入检查耗时直方图；最后检查时间仍是上一次握手的时间
+        SslCertificateInfo sslInfo = new SslCertificateInfo(domain);
+        sslInfo.setCached(true);
+        sslInfo.setLastChecked(LocalDateTime.ofInstant(state.getHandshakeAt(), ZoneId.systemDefault()));
+        applyState(sslInfo, state);
+        return sslInfo;
+    }
+    
+    private void applyState(SslCertificateInfo sslInfo, CertificateCache.HostState state) {
+        List<SslEndpointInfo> endpoints = state.getEndpoints();
+        sslInfo.setEndpoints(endpoints);
+        sslInfo.setFingerprintChanged(!sslInfo.isCached() && state.isChanged());
+        if (properties.isCertificateCache()) {
+            sslInfo.setNextHandshake(LocalDateTime.ofInstant(state.getNextProbeAt(), ZoneId.systemDefault()));
         }
         
-        // 如果 HTTPS 连接失败，尝试直接 SSL 连接
-        try {
-            SSLSocketFactory factory = (SSLSocketFactory) SSLSocketFactory.getDefault();
-            try (SSLSocket socket = (SSLSocket) factory.createSocket(domain, 443)) {
-                socket.setSoTimeout(properties.getReadTimeout());
-                socket.startHandshake();
-                
-                Certificate[] certificates = socket.getSession().getPeerCertificates();
-                if (certificates.length > 0 && certificates[0] instanceof X509Certificate) {
-                    return (X509Certificate) certificates[0];
-                }
+        // 域名级结果取各地址叶子证书中最早过期的一张；中间证书只通过按 position 的端点指标导出，
+        // 服务端多发的过期交叉签名 / 根证书不会让域名显示为已过期。信任结果要求所有地址都通过
+        SslEndpointInfo expiring = null;
+        CertificateCache.ParsedCertificate earliest = null;
+        for (SslEndpointInfo endpoint : endpoints) {
+            if (!endpoint.isOk()) {
+                continue;
+            }
+            if (sslInfo.getTrusted() == null || sslInfo.getTrusted()) {
+                sslInfo.setTrusted(endpoint.getTrusted());
+                sslInfo.setTrustError(endpoint.getTrustError());
+            }
+            CertificateCache.ParsedCertificate leaf = endpoint.getLeaf();
+            if (earliest == null || leaf.getNotAfter().isBefore(earliest.getNotAfter())) {
+                earliest = leaf;
+                expiring = endpoint;
             }
-        } catch (Exception e) {
-            logger.debug("SSL socket connection failed for {}: {}", domain, e.getMessage());
+        }
+        if (earliest == null) {
+            // 所有地址都失败时沿用第一个地址的错误
+            SslEndpointInfo first = endpoints.get(0);
+            sslInfo.setStatus(first.getStatus());
+            sslInfo.setError(first.getError());
+            sslInfo.setDaysUntilExpiration(-999);
+            return;
         }
         
-        return null;
+        sslInfo.setFingerprint(earliest.getFingerprint());
+        sslInfo.setExpiringIp(expiring.getIp());
+        applyCertificate(sslInfo, earliest.getIssuer(), earliest.getSubject(), earliest.getNotAfter());
+    }
+    
+    void processCertificate(SslCertificateInfo sslInfo, X509Certificate certificate) {
+        applyCertificate(sslInfo, certificate.getIssuerX500Principal().toString(),
+            certificate.getSubjectX500Principal().toString(), certificate.getNotAfter().toInstant());
     }
     
-    private void processCertificate(SslCertificateInfo sslInfo, X509Certificate certificate) {
+    private void applyCertificate(SslCertificateInfo sslInfo, String issuer, String subject, Instant expirationInstant) {
         try {
             // 获取证书过期时间
-            Instant expirationInstant = certificate.getNotAfter().toInstant();
             LocalDateTime expirationDate = LocalDateTime.ofInstant(expirationInstant, ZoneId.systemDefault());
             sslInfo.setExpirationDate(expirationDate);
             
             // 设置证书信息
-            sslInfo.setIssuer(certificate.getIssuerDN().getName());
-            sslInfo.setSubject(certificate.getSubjectDN().getName());
+            sslInfo.setIssuer(issuer);
+            sslInfo.setSubject(subject);
             
-            // 计算距离过期的天数
-            LocalDateTime now = LocalDateTime.now();
-            long daysUntilExpiration = ChronoUnit.DAYS.between(now, expirationDate);
-            sslInfo.setDaysUntilExpiration(daysUntilExpiration);
-            
-            // 判断状态
-            if (daysUntilExpiration < 0) {
-                sslInfo.setExpired(true);
-                sslInfo.setStatus("EXPIRED");
-            } else if (daysUntilExpiration <= properties.getWarningDays()) {
-                sslInfo.setWarning(true);
-                sslInfo.setStatus("WARNING");
-            } else {
-                sslInfo.setStatus("VALID");
-            }
+            // 只保存过期时间，剩余天数和 VALID/WARNING/EXPIRED 状态在读取（抓取指标）时计算，不会停留在检查时刻
+            sslInfo.setWarningDays(properties.getWarningDays());
+            sslInfo.setNotAfterEpochSecond(expirationInstant.getEpochSecond());
             
             logger.info("SSL certificate for {} expires in {} days ({})", 
-                sslInfo.getDomain(), daysUntilExpiration, expirationDate);
+                sslInfo.getDomain(), sslInfo.getDaysUntilExpiration(), expirationDate);
                 
         } catch (Exception e) {
             logger.error("Error processing SSL certificate for {}: {}", sslInfo.getDomain(), e.getMessage());
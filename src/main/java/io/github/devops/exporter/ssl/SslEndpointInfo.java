@@ -0,0 +1,137 @@
+package io.github.devops.exporter.ssl;
+
+import java.util.List;
+
+// 域名解析出的单个地址上的 TLS 握手结果
+public class SslEndpointInfo {
+    private String ip;
+    private String status; // OK / ERROR / CERTIFICATE_NOT_FOUND
+    private String error;
+    private Boolean trusted;
+    private String trustError;
+    private String protocol; // 协商的 TLS 版本和密码套件
+    private String cipherSuite;
+    private long connectNanos;
+    private long handshakeNanos; // 完整握手耗时，不含 TCP 连接
+    private Boolean resumed; // 会话恢复探测结果，未开启 resumption 时为 null
+    private long resumedHandshakeNanos;
+    private String resumptionError;
+    private List<CertificateCache.ParsedCertificate> chain = List.of(); // 服务端发送的证书链，叶子证书在前；相同指纹的证书在各地址间共享
+
+    public SslEndpointInfo(String ip) {
+        this.ip = ip;
+    }
+
+    boolean isOk() {
+        return "OK".equals(status);
+    }
+
+    CertificateCache.ParsedCertificate getLeaf() {
+        return chain.isEmpty() ? null : chain.get(0);
+    }
+
+    // Getters and Setters
+    public String getIp() {
+        return ip;
+    }
+
+    public void setIp(String ip) {
+        this.ip = ip;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Boolean getTrusted() {
+        return trusted;
+    }
+
+    public void setTrusted(Boolean trusted) {
+        this.trusted = trusted;
+    }
+
+    public String getTrustError() {
+        return trustError;
+    }
+
+    public void setTrustError(String trustError) {
+        this.trustError = trustError;
+    }
+
+    public String getProtocol() {
+        return protocol;
+    }
+
+    public void setProtocol(String protocol) {
+        this.protocol = protocol;
+    }
+
+    public String getCipherSuite() {
+        return cipherSuite;
+    }
+
+    public void setCipherSuite(String cipherSuite) {
+        this.cipherSuite = cipherSuite;
+    }
+
+    public long getConnectNanos() {
+        return connectNanos;
+    }
+
+    public void setConnectNanos(long connectNanos) {
+        this.connectNanos = connectNanos;
+    }
+
+    public long getHandshakeNanos() {
+        return handshakeNanos;
+    }
+
+    public void setHandshakeNanos(long handshakeNanos) {
+        this.handshakeNanos = handshakeNanos;
+    }
+
+    public Boolean getResumed() {
+        return resumed;
+    }
+
+    public void setResumed(Boolean resumed) {
+        this.resumed = resumed;
+    }
+
+    public long getResumedHandshakeNanos() {
+        return resumedHandshakeNanos;
+    }
+
+    public void setResumedHandshakeNanos(long resumedHandshakeNanos) {
+        this.resumedHandshakeNanos = resumedHandshakeNanos;
+    }
+
+    public String getResumptionError() {
+        return resumptionError;
+    }
+
+    public void setResumptionError(String resumptionError) {
+        this.resumptionError = resumptionError;
+    }
+
+    public List<CertificateCache.ParsedCertificate> getChain() {
+        return chain;
+    }
+
+    public void setChain(List<CertificateCache.ParsedCertificate> chain) {
+        this.chain = chain;
+    }
+}
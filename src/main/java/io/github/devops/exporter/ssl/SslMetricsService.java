@@ -1,10 +1,19 @@
 package io.github.devops.exporter.ssl;
 
+import io.github.devops.exporter.common.LatencyRecorder;
+import io.github.devops.exporter.config.SslMonitorProperties;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -12,71 +21,165 @@ import java.util.concurrent.ConcurrentHashMap;
 @Service
 public class SslMetricsService {
     
+    private static final String ADDRESS = "addr|";
     private final MeterRegistry meterRegistry;
     private final Map<String, SslCertificateInfo> sslInfoCache = new ConcurrentHashMap<>();
     private final Set<String> registeredMetrics = ConcurrentHashMap.newKeySet();
+    private final LatencyRecorder checkDurations;
+    private final LatencyRecorder handshakeDurations;
+    private final Counter handshakeChecks;
+    private final Counter cachedChecks;
+    private final Map<String, Counter> rotationCounters = new ConcurrentHashMap<>();
+    private final Map<String, List<Meter>> targetMeters = new ConcurrentHashMap<>();
+    // 按域名记录端点级指标，键为 addr|ip、tls|ip|protocol|cipher 或 chain|ip|position
+    private final Map<String, Map<String, List<Meter>>> endpointMeters = new ConcurrentHashMap<>();
     
-    public SslMetricsService(MeterRegistry meterRegistry) {
+    public SslMetricsService(MeterRegistry meterRegistry, SslMonitorProperties properties) {
         this.meterRegistry = meterRegistry;
+        this.checkDurations = new LatencyRecorder(meterRegistry, "ssl_check_duration",
+            "SSL certificate retrieval latency", properties.getLatency());
+        this.handshakeDurations = new LatencyRecorder(meterRegistry, "ssl_handshake_duration",
+            "TLS handshake latency per resolved address, excluding TCP connect", properties.getLatency());
+        this.handshakeChecks = checksCounter("handshake");
+        this.cachedChecks = checksCounter("cached");
+    }
+    
+    private Counter checksCounter(String mode) {
+        return Counter.builder("ssl_certificate_checks")
+            .description("SSL certificate checks by whether a TLS handshake was made or the certificate cache was used")
+            .tags("mode", mode)
+            .register(meterRegistry);
     }
     
     public void updateSslMetrics(SslCertificateInfo sslInfo) {
-        String domain = sslInfo.getDomain();
-        sslInfoCache.put(domain, sslInfo);
+        String key = keyOf(sslInfo);
+        sslInfoCache.put(key, sslInfo);
         
         // 注册指标（只注册一次）
-        registerSslMetrics(domain);
+        registerSslMetrics(key, sslInfo);
+        if (SslCertificateInfo.SOURCE_FILE.equals(sslInfo.getSource())) {
+            return;
+        }
+        registerEndpointMetrics(sslInfo);
+        recordCheckDuration(sslInfo);
+        recordHandshakes(sslInfo);
+        recordCacheUsage(sslInfo);
+    }
+    
+    // 在线检查按域名区分，文件证书按路径区分
+    public static String keyOf(SslCertificateInfo sslInfo) {
+        return SslCertificateInfo.SOURCE_FILE.equals(sslInfo.getSource()) ? sslInfo.getPath() : sslInfo.getDomain();
+    }
+    
+    private void recordHandshakes(SslCertificateInfo sslInfo) {
+        if (sslInfo.isCached()) {
+            return; // 缓存的结果没有新的握手
+        }
+        String domain = sslInfo.getDomain();
+        for (SslEndpointInfo endpoint : sslInfo.getEndpoints()) {
+            String ip = endpoint.getIp();
+            handshakeDurations.record(domain + "|" + ip + "|full",
+                key -> Tags.of("domain", domain, "ip", ip, "handshake", "full"),
+                endpoint.getHandshakeNanos());
+            if (Boolean.TRUE.equals(endpoint.getResumed())) {
+                handshakeDurations.record(domain + "|" + ip + "|resumed",
+                    key -> Tags.of("domain", domain, "ip", ip, "handshake", "resumed"),
+                    endpoint.getResumedHandshakeNanos());
+            }
+        }
+    }
+    
+    private void recordCacheUsage(SslCertificateInfo sslInfo) {
+        if (sslInfo.isCached()) {
+            cachedChecks.increment();
+            return;
+        }
+        handshakeChecks.increment();
+        if (sslInfo.isFingerprintChanged()) {
+            rotationCounters.computeIfAbsent(sslInfo.getDomain(), domain -> Counter.builder("ssl_certificate_rotations")
+                .description("Times the leaf certificate fingerprint changed between handshakes")
+                .tags("domain", domain)
+                .register(meterRegistry))
+                .increment();
+        }
     }
     
-    private void registerSslMetrics(String domain) {
-        String metricKey = "ssl_metrics_" + domain.replace(".", "_");
+    private void registerSslMetrics(String key, SslCertificateInfo sslInfo) {
+        String metricKey = "ssl_metrics_" + key;
         
         // 避免重复注册
         if (registeredMetrics.contains(metricKey)) {
             return;
         }
         
-        Tags tags = Tags.of("domain", domain);
+        // source 区分在线握手 (endpoint) 和本地文件 (file)；文件证书的 domain 为证书主题的 CN，path 为文件路径
+        Tags tags = Tags.of("domain", sslInfo.getDomain(), "source", sslInfo.getSource(),
+            "path", sslInfo.getPath() != null ? sslInfo.getPath() : "");
+        List<Meter> meters = new ArrayList<>();
         
-        // SSL 证书过期剩余天数 (-999 表示查询失败)
-        Gauge.builder("ssl_certificate_expiration_days", sslInfoCache, cache -> {
-            SslCertificateInfo info = cache.get(domain);
+        // SSL 证书过期剩余天数 (-999 表示查询失败)，按抓取时刻计算
+        meters.add(Gauge.builder("ssl_certificate_expiration_days", sslInfoCache, cache -> {
+            SslCertificateInfo info = cache.get(key);
             return info != null ? (double) info.getDaysUntilExpiration() : -999.0;
         })
         .description("Days until SSL certificate expires (-999=query failed)")
         .tags(tags)
-        .register(meterRegistry);
+        .register(meterRegistry));
+        
+        // SSL 证书过期时间 (epoch 秒，0 表示未拿到证书)，剩余秒数可用 ssl_certificate_expiry_timestamp_seconds - time() 计算
+        meters.add(Gauge.builder("ssl_certificate_expiry_timestamp_seconds", sslInfoCache, cache -> {
+            SslCertificateInfo info = cache.get(key);
+            return info != null ? (double) info.getNotAfterEpochSecond() : 0.0;
+        })
+        .description("SSL certificate notAfter as a Unix timestamp (0=unknown)")
+        .baseUnit("seconds")
+        .tags(tags)
+        .register(meterRegistry));
         
         // SSL 证书状态指标 (0=正常, 1=警告, 2=过期, 3=错误)
-        Gauge.builder("ssl_certificate_status", sslInfoCache, cache -> {
-            SslCertificateInfo info = cache.get(domain);
+        meters.add(Gauge.builder("ssl_certificate_status", sslInfoCache, cache -> {
+            SslCertificateInfo info = cache.get(key);
             return info != null ? getStatusValue(info) : 3.0;
         })
         .description("SSL certificate status (0=valid, 1=warning, 2=expired, 3=error)")
         .tags(tags)
-        .register(meterRegistry);
+        .register(meterRegistry));
         
         // SSL 证书是否过期 (0=未过期, 1=已过期)
-        Gauge.builder("ssl_certificate_expired", sslInfoCache, cache -> {
-            SslCertificateInfo info = cache.get(domain);
+        meters.add(Gauge.builder("ssl_certificate_expired", sslInfoCache, cache -> {
+            SslCertificateInfo info = cache.get(key);
             return info != null && info.isExpired() ? 1.0 : 0.0;
         })
         .description("Whether SSL certificate is expired (0=not expired, 1=expired)")
         .tags(tags)
-        .register(meterRegistry);
+        .register(meterRegistry));
         
         // SSL 证书是否在警告期 (0=正常, 1=警告)
-        Gauge.builder("ssl_certificate_warning", sslInfoCache, cache -> {
-            SslCertificateInfo info = cache.get(domain);
+        meters.add(Gauge.builder("ssl_certificate_warning", sslInfoCache, cache -> {
+            SslCertificateInfo info = cache.get(key);
             return info != null && info.isWarning() ? 1.0 : 0.0;
         })
         .description("Whether SSL certificate is in warning period (0=normal, 1=warning)")
         .tags(tags)
-        .register(meterRegistry);
+        .register(meterRegistry));
+        
+        // 证书链是否受信任 (1=受信任, 0=不受信任, -1=未拿到证书)；本地文件不做信任校验
+        if (SslCertificateInfo.SOURCE_ENDPOINT.equals(sslInfo.getSource())) {
+            meters.add(Gauge.builder("ssl_certificate_trusted", sslInfoCache, cache -> {
+                SslCertificateInfo info = cache.get(key);
+                if (info == null || info.getTrusted() == null) {
+                    return -1.0;
+                }
+                return info.getTrusted() ? 1.0 : 0.0;
+            })
+            .description("Whether the presented certificate chain passes default trust and hostname validation (1=trusted, 0=untrusted, -1=unknown)")
+            .tags(tags)
+            .register(meterRegistry));
+        }
         
         // 最后检查时间戳
-        Gauge.builder("ssl_certificate_last_checked_timestamp", sslInfoCache, cache -> {
-            SslCertificateInfo info = cache.get(domain);
+        meters.add(Gauge.builder("ssl_certificate_last_checked_timestamp", sslInfoCache, cache -> {
+            SslCertificateInfo info = cache.get(key);
             if (info != null && info.getLastChecked() != null) {
                 return (double) info.getLastChecked().atZone(java.time.ZoneId.systemDefault()).toEpochSecond();
             }
@@ -84,11 +187,169 @@ public class SslMetricsService {
         })
         .description("Timestamp of last SSL certificate check")
         .tags(tags)
-        .register(meterRegistry);
+        .register(meterRegistry));
         
+        targetMeters.put(key, meters);
         registeredMetrics.add(metricKey);
     }
     
+    // 目标不再存在时（例如证书文件被删除）移除它的结果和指标
+    public void removeSslMetrics(String key) {
+        sslInfoCache.remove(key);
+        registeredMetrics.remove("ssl_metrics_" + key);
+        List<Meter> meters = targetMeters.remove(key);
+        if (meters != null) {
+            meters.forEach(meterRegistry::remove);
+        }
+        Map<String, List<Meter>> endpoints = endpointMeters.remove(key);
+        if (endpoints != null) {
+            synchronized (endpoints) {
+                endpoints.forEach((id, list) -> removeEndpointMeters(key, id, list));
+            }
+        }
+    }
+
+    
+    private void registerEndpointMetrics(SslCertificateInfo sslInfo) {
+        String domain = sslInfo.getDomain();
+        Map<String, List<Meter>> meters = endpointMeters.computeIfAbsent(domain, key -> new HashMap<>());
+        synchronized (meters) {
+            Set<String> current = new HashSet<>();
+            for (SslEndpointInfo endpoint : sslInfo.getEndpoints()) {
+                String ip = endpoint.getIp();
+                String addressId = ADDRESS + ip;
+                current.add(addressId);
+                meters.computeIfAbsent(addressId, id -> registerAddressMetrics(domain, ip));
+                if (endpoint.getProtocol() != null) {
+                    String protocol = endpoint.getProtocol();
+                    String cipherSuite = endpoint.getCipherSuite();
+                    String tlsId = "tls|" + ip + "|" + protocol + "|" + cipherSuite;
+                    current.add(tlsId);
+                    meters.computeIfAbsent(tlsId, id -> registerTlsInfo(domain, ip, protocol, cipherSuite));
+                }
+                for (int position = 0; position < endpoint.getChain().size(); position++) {
+                    int chainPosition = position;
+                    String chainId = "chain|" + ip + "|" + position;
+                    current.add(chainId);
+                    meters.computeIfAbsent(chainId, id -> registerChainMetrics(domain, ip, chainPosition));
+                }
+            }
+            // CDN 域名的解析结果轮换、证书链变短或协商结果变化后，最新结果中不存在的组合立即移除，避免序列无限增长
+            meters.entrySet().removeIf(entry -> {
+                if (current.contains(entry.getKey())) {
+                    return false;
+                }
+                removeEndpointMeters(domain, entry.getKey(), entry.getValue());
+                return true;
+            });
+        }
+    }
+    
+    private void removeEndpointMeters(String domain, String id, List<Meter> meters) {
+        meters.forEach(meterRegistry::remove);
+        if (id.startsWith(ADDRESS)) {
+            String ip = id.substring(ADDRESS.length());
+            handshakeDurations.remove(domain + "|" + ip + "|full");
+            handshakeDurations.remove(domain + "|" + ip + "|resumed");
+        }
+    }
+    
+    private List<Meter> registerAddressMetrics(String domain, String ip) {
+        List<Meter> meters = new ArrayList<>();
+        
+        // 该地址最近一次握手是否拿到证书 (1=成功, 0=失败)
+        meters.add(Gauge.builder("ssl_endpoint_up", sslInfoCache, cache -> {
+            SslEndpointInfo current = findEndpoint(cache, domain, ip);
+            if (current == null) {
+                return Double.NaN;
+            }
+            return current.isOk() ? 1.0 : 0.0;
+        })
+        .description("Whether the TLS handshake with this resolved address returned a certificate (1=ok, 0=failed)")
+        .tags(Tags.of("domain", domain, "ip", ip))
+        .register(meterRegistry));
+        
+        // 会话恢复探测结果 (1=已恢复, 0=未恢复, -1=未探测)
+        meters.add(Gauge.builder("ssl_endpoint_session_resumed", sslInfoCache, cache -> {
+            SslEndpointInfo current = findEndpoint(cache, domain, ip);
+            if (current == null || current.getResumed() == null) {
+                return -1.0;
+            }
+            return current.getResumed() ? 1.0 : 0.0;
+        })
+        .description("Whether a second handshake resumed the session from the first (1=resumed, 0=full handshake or failed, -1=not probed)")
+        .tags(Tags.of("domain", domain, "ip", ip))
+        .register(meterRegistry));
+        return meters;
+    }
+    
+    private List<Meter> registerTlsInfo(String domain, String ip, String protocol, String cipherSuite) {
+        // 协商的协议版本和密码套件 (1=当前值)；负载均衡配置变化后旧组合被移除
+        return List.of(Gauge.builder("ssl_endpoint_tls_negotiated", sslInfoCache, cache -> {
+            SslEndpointInfo current = findEndpoint(cache, domain, ip);
+            return current != null && protocol.equals(current.getProtocol())
+                && cipherSuite.equals(current.getCipherSuite()) ? 1.0 : 0.0;
+        })
+        .description("Negotiated TLS protocol and cipher suite per resolved address (1=current)")
+        .tags(Tags.of("domain", domain, "ip", ip, "protocol", protocol, "cipher", cipherSuite))
+        .register(meterRegistry));
+    }
+    
+    private List<Meter> registerChainMetrics(String domain, String ip, int position) {
+        Tags tags = Tags.of("domain", domain, "ip", ip, "position", String.valueOf(position));
+        List<Meter> meters = new ArrayList<>();
+        
+        // 证书链中每张证书的过期时间 (position 0=叶子证书，1 起为中间证书)
+        meters.add(Gauge.builder("ssl_endpoint_certificate_expiry_timestamp_seconds", sslInfoCache, cache -> {
+            CertificateCache.ParsedCertificate certificate = findCertificate(cache, domain, ip, position);
+            return certificate != null ? (double) certificate.getNotAfter().getEpochSecond() : Double.NaN;
+        })
+        .description("notAfter of each certificate in the chain served by a resolved address, as a Unix timestamp")
+        .baseUnit("seconds")
+        .tags(tags)
+        .register(meterRegistry));
+        
+        meters.add(Gauge.builder("ssl_endpoint_certificate_expiration_days", sslInfoCache, cache -> {
+            CertificateCache.ParsedCertificate certificate = findCertificate(cache, domain, ip, position);
+            if (certificate == null) {
+                return Double.NaN;
+            }
+            return (double) ((certificate.getNotAfter().getEpochSecond() - Instant.now().getEpochSecond()) / 86400);
+        })
+        .description("Days until each certificate in the chain served by a resolved address expires")
+        .tags(tags)
+        .register(meterRegistry));
+        return meters;
+    }
+    
+    private static SslEndpointInfo findEndpoint(Map<String, SslCertificateInfo> cache, String domain, String ip) {
+        SslCertificateInfo info = cache.get(domain);
+        if (info == null) {
+            return null;
+        }
+        for (SslEndpointInfo endpoint : info.getEndpoints()) {
+            if (endpoint.getIp().equals(ip)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+    
+    private static CertificateCache.ParsedCertificate findCertificate(Map<String, SslCertificateInfo> cache,
+                                                                      String domain, String ip, int position) {
+        SslEndpointInfo endpoint = findEndpoint(cache, domain, ip);
+        if (endpoint == null || position >= endpoint.getChain().size()) {
+            return null;
+        }
+        return endpoint.getChain().get(position);
+    }
+    
+    private void recordCheckDuration(SslCertificateInfo sslInfo) {
+        checkDurations.record(sslInfo.getDomain(),
+            domain -> Tags.of("domain", domain),
+            sslInfo.getCheckDurationNanos());
+    }
+    
     private double getStatusValue(SslCertificateInfo sslInfo) {
         if (sslInfo.getStatus() == null) {
             return 3.0; // ERROR
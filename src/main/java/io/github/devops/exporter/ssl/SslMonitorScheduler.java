@@ -1,15 +1,19 @@
 package io.github.devops.exporter.ssl;
 
+import io.github.devops.exporter.common.CheckCycleTracker;
+import io.github.devops.exporter.common.TimingWheelScheduler;
 import io.github.devops.exporter.config.SslMonitorProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 @Component
@@ -20,71 +24,102 @@ public class SslMonitorScheduler {
     private final SslMonitorProperties properties;
     private final SslCheckService sslCheckService;
     private final SslMetricsService metricsService;
+    private final TimingWheelScheduler timingWheel;
+    private final CheckCycleTracker cycleTracker;
     
     public SslMonitorScheduler(SslMonitorProperties properties,
                               SslCheckService sslCheckService,
-                              SslMetricsService metricsService) {
+                              SslMetricsService metricsService,
+                              TimingWheelScheduler timingWheel,
+                              MeterRegistry meterRegistry) {
         this.properties = properties;
         this.sslCheckService = sslCheckService;
         this.metricsService = metricsService;
+        this.timingWheel = timingWheel;
+        this.cycleTracker = new CheckCycleTracker("ssl", meterRegistry);
     }
     
     @EventListener(ApplicationReadyEvent.class)
     public void onApplicationReady() {
         if (properties.isEnabled()) {
-            logger.info("SSL monitor is enabled, starting initial check...");
-            checkAllSslCertificates();
+            logger.info("SSL monitor is enabled, scheduling checks...");
+            scheduleChecks();
         } else {
             logger.info("SSL monitor is disabled");
         }
     }
     
-    @Scheduled(fixedRateString = "#{${ssl.monitor.check-interval} * 1000}")
-    public void scheduledCheck() {
-        if (properties.isEnabled()) {
-            logger.info("Starting scheduled SSL certificate check...");
-            checkAllSslCertificates();
+    private void scheduleChecks() {
+        List<String> domains = properties.getDomains();
+        if (domains == null || domains.isEmpty()) {
+            logger.warn("No domains configured for SSL monitoring");
+            return;
+        }
+        
+        // 每个目标按自己的间隔和相位独立调度，把检查均匀分散到整个周期内
+        for (String domain : domains) {
+            timingWheel.schedule("ssl", domain, Duration.ofSeconds(properties.getIntervalFor(domain)),
+                () -> cycleTracker.runTarget(domain, true, () -> checkSslCertificate(domain, false)));
         }
+        logger.info("Scheduled {} SSL certificates across their check intervals", domains.size());
     }
     
-    @Async
-    public void checkAllSslCertificates() {
+    public CompletableFuture<Void> checkAllSslCertificates() {
         List<String> domains = properties.getDomains();
         if (domains == null || domains.isEmpty()) {
             logger.warn("No domains configured for SSL monitoring");
-            return;
+            return CompletableFuture.completedFuture(null);
         }
         
-        logger.info("Checking SSL certificates for {} domains", domains.size());
-        
-        List<CompletableFuture<Void>> futures = domains.stream()
-            .map(domain -> 
-                sslCheckService.checkSslAsync(domain)
-                    .thenAccept(sslInfo -> {
-                        metricsService.updateSslMetrics(sslInfo);
-                        logSslStatus(sslInfo);
-                    })
-                    .exceptionally(throwable -> {
-                        logger.error("Error checking SSL for domain {}: {}", 
-                            domain, throwable.getMessage());
-                        
-                        // 创建错误状态的 SslCertificateInfo
-                        SslCertificateInfo errorInfo = new SslCertificateInfo(domain);
-                        errorInfo.setStatus("ERROR");
-                        errorInfo.setError(throwable.getMessage());
-                        errorInfo.setDaysUntilExpiration(-999);
-                        metricsService.updateSslMetrics(errorInfo);
-                        
-                        return null;
-                    })
-            )
-            .toList();
-        
-        // 等待所有检查完成
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-            .thenRun(() -> logger.info("SSL certificate check completed"))
+        // 定时检查、启动检查和手动触发共用一个在途周期，不会重复探测同一目标
+        return cycleTracker.runCycle(() -> {
+            logger.info("Checking SSL certificates for {} domains", domains.size());
+            evictRemovedDomains(domains);
+            
+            List<CompletableFuture<Void>> futures = domains.stream()
+                .map(domain -> cycleTracker.runTarget(domain, false, () -> checkSslCertificate(domain, true)))
+                .toList();
+            
+            // 等待所有检查完成
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenRun(() -> logger.info("SSL certificate check completed"))
+                .exceptionally(throwable -> {
+                    logger.error("Error during SSL certificate check: {}", throwable.getMessage());
+                    return null;
+                });
+        });
+    }
+    
+    private void evictRemovedDomains(List<String> domains) {
+        // 从配置中删除的域名：丢弃缓存的握手状态和它们的指标，文件证书由扫描器自己清理
+        sslCheckService.retainDomains(domains);
+        Set<String> configured = new HashSet<>(domains);
+        metricsService.getSslInfoCache().forEach((key, sslInfo) -> {
+            if (SslCertificateInfo.SOURCE_ENDPOINT.equals(sslInfo.getSource()) && !configured.contains(key)) {
+                logger.info("SSL domain {} is no longer configured, removing its metrics", key);
+                metricsService.removeSslMetrics(key);
+            }
+        });
+    }
+    
+    // 定时检查在证书缓存未到期时跳过握手，手动触发总是重新握手
+    private CompletableFuture<Void> checkSslCertificate(String domain, boolean force) {
+        return sslCheckService.checkSslAsync(domain, force)
+            .thenAccept(sslInfo -> {
+                metricsService.updateSslMetrics(sslInfo);
+                logSslStatus(sslInfo);
+            })
             .exceptionally(throwable -> {
-                logger.error("Error during SSL certificate check: {}", throwable.getMessage());
+                logger.error("Error checking SSL for domain {}: {}", 
+                    domain, throwable.getMessage());
+                
+                // 创建错误状态的 SslCertificateInfo
+                SslCertificateInfo errorInfo = new SslCertificateInfo(domain);
+                errorInfo.setStatus("ERROR");
+                errorInfo.setError(throwable.getMessage());
+                errorInfo.setDaysUntilExpiration(-999);
+                metricsService.updateSslMetrics(errorInfo);
+                
                 return null;
             });
     }
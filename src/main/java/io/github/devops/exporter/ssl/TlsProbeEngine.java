@@ -0,0 +1,756 @@
+package io.github.devops.exporter.ssl;
+
+import io.github.devops.exporter.config.SslMonitorProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509ExtendedTrustManager;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// 非阻塞 TLS 探测：NIO 连接 + SSLEngine 握手，一次握手拿到证书链；
+// 信任校验只记录结果不中断握手，过期、自签名的证书也能读到。
+// 开启会话恢复探测时，完整握手后再建一条连接用拿到的会话恢复握手，确认会话缓存 / 会话票据可用并计时
+@Component
+public class TlsProbeEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(TlsProbeEngine.class);
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+    // TLS 1.3 的会话票据在握手完成后才发送，最多等待这么久，没收到就直接尝试恢复（结果为未恢复）
+    private static final long TICKET_WAIT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final SslMonitorProperties properties;
+    private final Executor callbackExecutor;
+    private final CapturingTrustManager trustManager;
+    private final SSLContext sslContext;
+    // 握手中的 SSLEngine -> 探测，信任管理器通过它找到要记录结果的探测
+    private final Map<SSLEngine, PendingProbe> handshaking = new ConcurrentHashMap<>();
+    private final AtomicInteger nextLoop = new AtomicInteger();
+    private volatile SelectorLoop[] loops;
+
+    public TlsProbeEngine(SslMonitorProperties properties,
+                          @Qualifier("sslCheckExecutor") Executor callbackExecutor,
+                          MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.callbackExecutor = callbackExecutor;
+        this.trustManager = createTrustManager();
+        this.sslContext = newContext();
+
+        // selector 上正在连接或握手的探测数
+        Gauge.builder("ssl_probe_in_flight", this, TlsProbeEngine::getInFlight)
+            .description("Number of non-blocking TLS probes currently connecting or handshaking")
+            .register(meterRegistry);
+    }
+
+    private CapturingTrustManager createTrustManager() {
+        try {
+            TrustManagerFactory factory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            factory.init((KeyStore) null);
+            X509ExtendedTrustManager defaultTrustManager = null;
+            for (TrustManager trustManager : factory.getTrustManagers()) {
+                if (trustManager instanceof X509ExtendedTrustManager extended) {
+                    defaultTrustManager = extended;
+                    break;
+                }
+            }
+            if (defaultTrustManager == null) {
+                throw new IllegalStateException("No X509 trust manager available");
+            }
+            return new CapturingTrustManager(defaultTrustManager);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialize TLS context for SSL checks", e);
+        }
+    }
+
+    private SSLContext newContext() {
+        try {
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, new TrustManager[] {trustManager}, null);
+            return context;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialize TLS context for SSL checks", e);
+        }
+    }
+
+    public CompletableFuture<TlsProbeResult> probe(String serverName, InetSocketAddress address) {
+        return probe(serverName, address, false);
+    }
+
+    public CompletableFuture<TlsProbeResult> probe(String serverName, InetSocketAddress address, boolean resumption) {
+        PendingProbe pending = new PendingProbe(serverName, address, resumption,
+            TimeUnit.MILLISECONDS.toNanos(properties.getConnectionTimeout()),
+            TimeUnit.MILLISECONDS.toNanos(properties.getReadTimeout()));
+        try {
+            // 会话缓存按 主机名:端口 区分，恢复探测用独立的 SSLContext，同一域名不同地址之间不会互相恢复
+            pending.context = resumption ? newContext() : sslContext;
+            SelectorLoop[] current = getLoops();
+            current[Math.floorMod(nextLoop.getAndIncrement(), current.length)].submit(pending);
+        } catch (IOException | IllegalStateException e) {
+            pending.future.completeExceptionally(e);
+        }
+        return pending.future;
+    }
+
+    private SelectorLoop[] getLoops() throws IOException {
+        SelectorLoop[] current = loops;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (loops == null) {
+                int threads = Math.max(1, properties.getSelectorThreads());
+                int perLoopLimit = Math.max(1, properties.getMaxInFlight() / threads);
+                SelectorLoop[] created = new SelectorLoop[threads];
+                for (int i = 0; i < threads; i++) {
+                    created[i] = new SelectorLoop("ssl-nio-selector-" + i, perLoopLimit);
+                    created[i].start();
+                }
+                loops = created;
+                logger.info("TLS probe engine started with {} selector thread(s), max {} in-flight probes",
+                    threads, perLoopLimit * threads);
+            }
+            return loops;
+        }
+    }
+
+    public int getInFlight() {
+        SelectorLoop[] current = loops;
+        if (current == null) {
+            return 0;
+        }
+        int total = 0;
+        for (SelectorLoop loop : current) {
+            total += loop.inFlight;
+        }
+        return total;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        SelectorLoop[] current = loops;
+        if (current != null) {
+            for (SelectorLoop loop : current) {
+                loop.shutdown();
+            }
+        }
+    }
+
+    private static final class PendingProbe {
+        private final String serverName;
+        private final InetSocketAddress address;
+        private final boolean resumption;
+        private final long connectTimeoutNanos;
+        private final long handshakeTimeoutNanos;
+        private final CompletableFuture<TlsProbeResult> future = new CompletableFuture<>();
+        private final TlsProbeResult result = new TlsProbeResult();
+        private SSLContext context;
+        private SocketChannel channel;
+        private SelectionKey key;
+        private SSLEngine engine;
+        private ByteBuffer netIn;
+        private ByteBuffer netOut;
+        private ByteBuffer appIn;
+        private long startNanos;
+        private long connectedNanos;
+        private long deadlineNanos;
+        private boolean done;
+        private boolean verified; // 本次握手调用过信任管理器，即服务端发送了证书（完整握手）
+        private boolean awaitingTicket;
+        private boolean ticketReceived; // 已处理票据记录，票据的握手任务完成后开始恢复握手
+        private boolean resuming; // 第二次连接，尝试恢复第一次握手的会话
+
+        private PendingProbe(String serverName, InetSocketAddress address, boolean resumption,
+                             long connectTimeoutNanos, long handshakeTimeoutNanos) {
+            this.serverName = serverName;
+            this.address = address;
+            this.resumption = resumption;
+            this.connectTimeoutNanos = connectTimeoutNanos;
+            this.handshakeTimeoutNanos = handshakeTimeoutNanos;
+        }
+    }
+
+    // 截止时间的快照：连接成功后探测换成握手的截止时间，旧的条目过期时直接丢弃
+    private record Deadline(long atNanos, PendingProbe probe) {
+    }
+
+    private final class SelectorLoop implements Runnable {
+
+        private final Selector selector;
+        private final Thread thread;
+        private final int maxInFlight;
+        private final Queue<PendingProbe> submissions = new ConcurrentLinkedQueue<>();
+        // 线程池中完成的握手任务，回到 selector 线程继续握手
+        private final Queue<Runnable> selectorTasks = new ConcurrentLinkedQueue<>();
+        // 仅由 selector 线程访问
+        private final PriorityQueue<Deadline> deadlines = new PriorityQueue<>(Comparator.comparingLong(Deadline::atNanos));
+        // 仅由 selector 线程写入
+        private volatile int inFlight;
+        private volatile boolean running = true;
+
+        private SelectorLoop(String name, int maxInFlight) throws IOException {
+            this.selector = Selector.open();
+            this.maxInFlight = maxInFlight;
+            this.thread = new Thread(this, name);
+            this.thread.setDaemon(true);
+        }
+
+        private void start() {
+            thread.start();
+        }
+
+        private void submit(PendingProbe pending) {
+            if (!running) {
+                pending.future.completeExceptionally(new IllegalStateException("TLS probe engine is shut down"));
+                return;
+            }
+            submissions.add(pending);
+            selector.wakeup();
+        }
+
+        private void shutdown() {
+            running = false;
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    startSubmitted();
+                    runSelectorTasks();
+                    selector.select(nextSelectTimeoutMs());
+
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        handle((PendingProbe) key.attachment());
+                    }
+
+                    expireDeadlines();
+                }
+            } catch (IOException | ClosedSelectorException e) {
+                logger.error("TLS selector loop {} terminated: {}", thread.getName(), e.getMessage());
+            } finally {
+                running = false;
+                closeAll();
+            }
+        }
+
+        private void startSubmitted() {
+            // 超过并发上限的探测留在队列中，等待已有探测完成
+            while (inFlight < maxInFlight) {
+                PendingProbe pending = submissions.poll();
+                if (pending == null) {
+                    return;
+                }
+                startConnect(pending);
+            }
+        }
+
+        private void startConnect(PendingProbe pending) {
+            inFlight++;
+            connect(pending);
+        }
+
+        private void connect(PendingProbe pending) {
+            pending.startNanos = System.nanoTime();
+            setDeadline(pending, pending.startNanos + pending.connectTimeoutNanos);
+
+            try {
+                pending.channel = SocketChannel.open();
+                pending.channel.configureBlocking(false);
+                if (pending.channel.connect(pending.address)) {
+                    pending.key = pending.channel.register(selector, 0, pending);
+                    startHandshake(pending);
+                    return;
+                }
+                pending.key = pending.channel.register(selector, SelectionKey.OP_CONNECT, pending);
+            } catch (IOException | RuntimeException e) {
+                fail(pending, e.getMessage());
+            }
+        }
+
+        private void handle(PendingProbe pending) {
+            if (pending.done) {
+                return;
+            }
+            if (pending.awaitingTicket) {
+                readTicket(pending);
+                return;
+            }
+            try {
+                if (pending.engine == null) {
+                    if (pending.channel.finishConnect()) {
+                        startHandshake(pending);
+                    }
+                    return;
+                }
+                handshake(pending);
+            } catch (IOException | RuntimeException e) {
+                fail(pending, e.getMessage());
+            }
+        }
+
+        private void startHandshake(PendingProbe pending) throws IOException {
+            pending.connectedNanos = System.nanoTime();
+            if (!pending.resuming) {
+                pending.result.setConnectNanos(pending.connectedNanos - pending.startNanos);
+            }
+            pending.key.interestOps(0); // 不再关心 OP_CONNECT，握手过程按需注册读写
+            setDeadline(pending, pending.connectedNanos + pending.handshakeTimeoutNanos);
+
+            // 带主机名创建 SSLEngine 才会发送 SNI；开启主机名校验，不匹配记为不受信任
+            SSLEngine engine = pending.context.createSSLEngine(pending.serverName, pending.address.getPort());
+            engine.setUseClientMode(true);
+            SSLParameters parameters = engine.getSSLParameters();
+            parameters.setEndpointIdentificationAlgorithm("HTTPS");
+            engine.setSSLParameters(parameters);
+
+            SSLSession session = engine.getSession();
+            pending.netIn = ByteBuffer.allocate(session.getPacketBufferSize());
+            pending.netOut = ByteBuffer.allocate(session.getPacketBufferSize());
+            pending.netOut.flip(); // 读模式，没有待发送的数据
+            pending.appIn = ByteBuffer.allocate(session.getApplicationBufferSize());
+            pending.engine = engine;
+            handshaking.put(engine, pending);
+
+            engine.beginHandshake();
+            handshake(pending);
+        }
+
+        private void handshake(PendingProbe pending) throws IOException {
+            SSLEngine engine = pending.engine;
+            // 先把上一轮没写完的数据发出去
+            if (!flush(pending)) {
+                return;
+            }
+            while (true) {
+                SSLEngineResult.HandshakeStatus status = engine.getHandshakeStatus();
+                switch (status) {
+                    case NEED_WRAP -> {
+                        pending.netOut.clear();
+                        SSLEngineResult result = engine.wrap(EMPTY, pending.netOut);
+                        pending.netOut.flip();
+                        if (result.getStatus() == SSLEngineResult.Status.CLOSED) {
+                            throw new SSLException("Connection closed during TLS handshake");
+                        }
+                        if (!flush(pending)) {
+                            return;
+                        }
+                    }
+                    case NEED_UNWRAP, NEED_UNWRAP_AGAIN -> {
+                        pending.netIn.flip();
+                        SSLEngineResult result = engine.unwrap(pending.netIn, pending.appIn);
+                        pending.netIn.compact();
+                        switch (result.getStatus()) {
+                            case BUFFER_UNDERFLOW -> {
+                                if (!pending.netIn.hasRemaining()) {
+                                    pending.netIn = enlarge(pending.netIn, engine.getSession().getPacketBufferSize());
+                                }
+                                int read = pending.channel.read(pending.netIn);
+                                if (read < 0) {
+                                    throw new SSLException("Connection closed by peer during TLS handshake");
+                                }
+                                if (read == 0) {
+                                    pending.key.interestOps(SelectionKey.OP_READ);
+                                    return;
+                                }
+                            }
+                            case BUFFER_OVERFLOW -> pending.appIn = enlarge(pending.appIn,
+                                engine.getSession().getApplicationBufferSize());
+                            case CLOSED -> throw new SSLException("Connection closed during TLS handshake");
+                            default -> pending.appIn.clear(); // 握手期间没有应用数据，丢弃即可
+                        }
+                    }
+                    case NEED_TASK -> {
+                        if (runDelegatedTasks(pending)) {
+                            return; // 任务完成后由 selector 线程继续握手
+                        }
+                    }
+                    default -> {
+                        succeed(pending);
+                        return;
+                    }
+                }
+            }
+        }
+
+        // 证书链校验、密钥交换等耗 CPU 的任务交给 SSL 检查线程池执行，selector 线程继续处理其他探测的连接和握手；
+        // 返回 true 表示任务已提交，完成后回到 selector 线程继续这个探测，返回 false 表示没有任务或已在当前线程执行完
+        private boolean runDelegatedTasks(PendingProbe pending) {
+            SSLEngine engine = pending.engine;
+            Runnable first = engine.getDelegatedTask();
+            if (first == null) {
+                return false;
+            }
+            pending.key.interestOps(0);
+            try {
+                callbackExecutor.execute(() -> {
+                    try {
+                        runTasks(engine, first);
+                    } finally {
+                        // 任务期间探测可能已超时或换成了恢复握手的连接，这时丢弃
+                        selectorTasks.add(() -> {
+                            if (!pending.done && pending.engine == engine) {
+                                handle(pending);
+                            }
+                        });
+                        selector.wakeup();
+                    }
+                });
+                return true;
+            } catch (RejectedExecutionException e) {
+                runTasks(engine, first); // 线程池已满时在 selector 线程执行
+                return false;
+            }
+        }
+
+        private void runTasks(SSLEngine engine, Runnable first) {
+            Runnable task = first;
+            do {
+                task.run();
+            } while ((task = engine.getDelegatedTask()) != null);
+        }
+
+        private void runSelectorTasks() {
+            Runnable task;
+            while ((task = selectorTasks.poll()) != null) {
+                task.run();
+            }
+        }
+
+        // 返回 false 表示发送缓冲区已满，等待 OP_WRITE
+        private boolean flush(PendingProbe pending) throws IOException {
+            while (pending.netOut.hasRemaining()) {
+                if (pending.channel.write(pending.netOut) == 0) {
+                    pending.key.interestOps(SelectionKey.OP_WRITE);
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private ByteBuffer enlarge(ByteBuffer buffer, int size) {
+            ByteBuffer enlarged = ByteBuffer.allocate(Math.max(size, buffer.capacity() * 2));
+            buffer.flip();
+            enlarged.put(buffer);
+            return enlarged;
+        }
+
+        private void setDeadline(PendingProbe pending, long deadlineNanos) {
+            pending.deadlineNanos = deadlineNanos;
+            deadlines.add(new Deadline(deadlineNanos, pending));
+        }
+
+        private void expireDeadlines() {
+            long now = System.nanoTime();
+            Deadline head;
+            while ((head = deadlines.peek()) != null && (isStale(head) || head.atNanos() - now <= 0)) {
+                deadlines.poll();
+                if (isStale(head)) {
+                    continue;
+                }
+                if (head.probe().awaitingTicket) {
+                    restartForResumption(head.probe());
+                } else {
+                    fail(head.probe(), head.probe().engine == null ? "connect timed out" : "TLS handshake timed out");
+                }
+            }
+        }
+
+        private boolean isStale(Deadline deadline) {
+            return deadline.probe().done || deadline.probe().deadlineNanos != deadline.atNanos();
+        }
+
+        private long nextSelectTimeoutMs() {
+            // 等待到最近的超时时间点，0 表示无限等待
+            Deadline head;
+            while ((head = deadlines.peek()) != null && isStale(head)) {
+                deadlines.poll();
+            }
+            if (head == null) {
+                return 0;
+            }
+            long remainingNanos = head.atNanos() - System.nanoTime();
+            return Math.max(1, TimeUnit.NANOSECONDS.toMillis(remainingNanos) + 1);
+        }
+
+        private void succeed(PendingProbe pending) {
+            SSLSession session = pending.engine.getSession();
+            TlsProbeResult result = pending.result;
+            long handshakeNanos = System.nanoTime() - pending.connectedNanos;
+            if (pending.resuming) {
+                // 恢复握手不会再校验证书：信任管理器没有被调用说明服务端接受了会话票据或会话 ID
+                result.setResumed(!pending.verified);
+                result.setResumedHandshakeNanos(handshakeNanos);
+                finish(pending);
+                complete(pending, () -> result);
+                return;
+            }
+
+            result.setHandshakeNanos(handshakeNanos);
+            result.setProtocol(session.getProtocol());
+            result.setCipherSuite(session.getCipherSuite());
+            if (result.getChain() == null) {
+                try {
+                    result.setChain((X509Certificate[]) session.getPeerCertificates());
+                } catch (IOException | ClassCastException e) {
+                    logger.debug("No peer certificates for {}: {}", pending.serverName, e.getMessage());
+                }
+            }
+            if (pending.resumption) {
+                if ("TLSv1.3".equals(session.getProtocol())) {
+                    awaitTicket(pending);
+                } else {
+                    restartForResumption(pending); // TLS 1.2 握手完成时会话已经进入缓存
+                }
+                return;
+            }
+            // 完整握手的会话不留在共享缓存中，下一次探测仍然是完整握手并重新拿到证书链
+            session.invalidate();
+            finish(pending);
+            complete(pending, () -> result);
+        }
+
+        private void awaitTicket(PendingProbe pending) {
+            pending.awaitingTicket = true;
+            setDeadline(pending, System.nanoTime() + Math.min(TICKET_WAIT_NANOS, pending.handshakeTimeoutNanos));
+            readTicket(pending);
+        }
+
+        private void readTicket(PendingProbe pending) {
+            // 票据跟在握手之后作为单独的记录到达，处理掉一条记录就尝试恢复
+            if (pending.ticketReceived) {
+                restartForResumption(pending);
+                return;
+            }
+            try {
+                while (true) {
+                    pending.netIn.flip();
+                    SSLEngineResult result = pending.engine.unwrap(pending.netIn, pending.appIn);
+                    pending.netIn.compact();
+                    pending.appIn.clear();
+                    if (result.getStatus() == SSLEngineResult.Status.CLOSED || result.bytesConsumed() > 0) {
+                        pending.ticketReceived = true;
+                    }
+                    if (runDelegatedTasks(pending)) {
+                        return;
+                    }
+                    if (pending.ticketReceived) {
+                        restartForResumption(pending);
+                        return;
+                    }
+                    if (result.getStatus() == SSLEngineResult.Status.BUFFER_OVERFLOW) {
+                        pending.appIn = enlarge(pending.appIn, pending.engine.getSession().getApplicationBufferSize());
+                        continue;
+                    }
+                    if (!pending.netIn.hasRemaining()) {
+                        pending.netIn = enlarge(pending.netIn, pending.engine.getSession().getPacketBufferSize());
+                    }
+                    int read = pending.channel.read(pending.netIn);
+                    if (read < 0) {
+                        restartForResumption(pending);
+                        return;
+                    }
+                    if (read == 0) {
+                        pending.key.interestOps(SelectionKey.OP_READ);
+                        return;
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.debug("Error reading session ticket from {} ({}): {}", pending.serverName, pending.address, e.getMessage());
+                restartForResumption(pending);
+            }
+        }
+
+        private void restartForResumption(PendingProbe pending) {
+            // 关闭第一条连接，用同一个 SSLContext 重新连接，客户端会带上缓存的会话
+            pending.awaitingTicket = false;
+            pending.ticketReceived = false;
+            handshaking.remove(pending.engine);
+            pending.engine.closeOutbound();
+            closeQuietly(pending.channel);
+            pending.engine = null;
+            pending.channel = null;
+            pending.key = null;
+            pending.verified = false;
+            pending.resuming = true;
+            connect(pending);
+        }
+
+        private void fail(PendingProbe pending, String failure) {
+            if (pending.done) {
+                return;
+            }
+            finish(pending);
+            String message = failure != null ? failure : "TLS probe failed";
+            if (pending.resuming) {
+                // 恢复握手失败不影响第一次握手拿到的证书和计时
+                logger.debug("TLS resumption probe failed for {} ({}): {}", pending.serverName, pending.address, message);
+                pending.result.setResumed(false);
+                pending.result.setResumptionError(message);
+                complete(pending, () -> pending.result);
+                return;
+            }
+            logger.debug("TLS probe failed for {} ({}): {}", pending.serverName, pending.address, message);
+            complete(pending, () -> {
+                throw new IllegalStateException(message);
+            });
+        }
+
+        private void finish(PendingProbe pending) {
+            pending.done = true;
+            inFlight--;
+            if (pending.engine != null) {
+                handshaking.remove(pending.engine);
+                // 只为拿证书，不发送 close_notify，直接关闭连接
+                pending.engine.closeOutbound();
+            }
+            closeQuietly(pending.channel);
+        }
+
+        private void complete(PendingProbe pending, Supplier<TlsProbeResult> outcome) {
+            // 回调交给 SSL 检查线程池执行，避免阻塞 selector 线程
+            try {
+                pending.future.completeAsync(outcome, callbackExecutor);
+            } catch (RejectedExecutionException e) {
+                try {
+                    pending.future.complete(outcome.get());
+                } catch (RuntimeException failure) {
+                    pending.future.completeExceptionally(failure);
+                }
+            }
+        }
+
+        private void closeAll() {
+            PendingProbe pending;
+            while ((pending = submissions.poll()) != null) {
+                pending.future.completeExceptionally(new IllegalStateException("TLS probe engine is shut down"));
+            }
+            for (SelectionKey key : selector.keys()) {
+                PendingProbe registered = (PendingProbe) key.attachment();
+                if (registered != null && !registered.done) {
+                    finish(registered);
+                    registered.future.completeExceptionally(new IllegalStateException("TLS probe engine is shut down"));
+                }
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                logger.debug("Error closing selector: {}", e.getMessage());
+            }
+        }
+
+        private void closeQuietly(SocketChannel channel) {
+            if (channel == null) {
+                return;
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Error closing channel: {}", e.getMessage());
+            }
+        }
+    }
+
+    // 记录服务端证书链和默认信任库的校验结果，但从不拒绝握手
+    private final class CapturingTrustManager extends X509ExtendedTrustManager {
+
+        private final X509ExtendedTrustManager delegate;
+
+        private CapturingTrustManager(X509ExtendedTrustManager delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+            PendingProbe pending = handshaking.get(engine);
+            String trustError = null;
+            try {
+                delegate.checkServerTrusted(chain, authType, engine);
+            } catch (CertificateException e) {
+                trustError = e.getMessage();
+            }
+            if (pending == null) {
+                return;
+            }
+            pending.verified = true;
+            if (!pending.resuming) {
+                pending.result.setChain(chain.clone());
+                pending.result.setTrusted(trustError == null);
+                pending.result.setTrustError(trustError);
+            }
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, Socket socket)
+            throws CertificateException {
+            delegate.checkServerTrusted(chain, authType, socket);
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) throws CertificateException {
+            delegate.checkServerTrusted(chain, authType);
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, SSLEngine engine)
+            throws CertificateException {
+            delegate.checkClientTrusted(chain, authType, engine);
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, Socket socket)
+            throws CertificateException {
+            delegate.checkClientTrusted(chain, authType, socket);
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) throws CertificateException {
+            delegate.checkClientTrusted(chain, authType);
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return delegate.getAcceptedIssuers();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.devops.exporter.ssl;
+
+import java.security.cert.X509Certificate;
+
+public class TlsProbeResult {
+    private X509Certificate[] chain; // 服务端发送的证书链，叶子证书在前；不论是否受信任都会保留
+    private boolean trusted;
+    private String trustError; // 默认信任库校验失败的原因（过期、自签名、主机名不匹配等）
+    private String protocol;
+    private String cipherSuite;
+    private long connectNanos;
+    private long handshakeNanos; // 完整握手耗时（TCP 连接建立之后）
+    private Boolean resumed; // 第二次握手是否恢复了会话，未做恢复探测时为 null
+    private long resumedHandshakeNanos;
+    private String resumptionError;
+
+    public X509Certificate getLeaf() {
+        return chain != null && chain.length > 0 ? chain[0] : null;
+    }
+
+    // Getters and Setters
+    public X509Certificate[] getChain() {
+        return chain;
+    }
+
+    public void setChain(X509Certificate[] chain) {
+        this.chain = chain;
+    }
+
+    public boolean isTrusted() {
+        return trusted;
+    }
+
+    public void setTrusted(boolean trusted) {
+        this.trusted = trusted;
+    }
+
+    public String getTrustError() {
+        return trustError;
+    }
+
+    public void setTrustError(String trustError) {
+        this.trustError = trustError;
+    }
+
+    public String getProtocol() {
+        return protocol;
+    }
+
+    public void setProtocol(String protocol) {
+        this.protocol = protocol;
+    }
+
+    public String getCipherSuite() {
+        return cipherSuite;
+    }
+
+    public void setCipherSuite(String cipherSuite) {
+        this.cipherSuite = cipherSuite;
+    }
+
+    public long getConnectNanos() {
+        return connectNanos;
+    }
+
+    public void setConnectNanos(long connectNanos) {
+        this.connectNanos = connectNanos;
+    }
+
+    public long getHandshakeNanos() {
+        return handshakeNanos;
+    }
+
+    public void setHandshakeNanos(long handshakeNanos) {
+        this.handshakeNanos = handshakeNanos;
+    }
+
+    public Boolean getResumed() {
+        return resumed;
+    }
+
+    public void setResumed(Boolean resumed) {
+        this.resumed = resumed;
+    }
+
+    public long getResumedHandshakeNanos() {
+        return resumedHandshakeNanos;
+    }
+
+    public void setResumedHandshakeNanos(long resumedHandshakeNanos) {
+        this.resumedHandshakeNanos = resumedHandshakeNanos;
+    }
+
+    public String getResumptionError() {
+        return resumptionError;
+    }
+
+    public void setResumptionError(String resumptionError) {
+        this.resumptionError = resumptionError;
+    }
+}
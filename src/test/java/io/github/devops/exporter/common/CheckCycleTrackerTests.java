@@ -0,0 +1,76 @@
+package io.github.devops.exporter.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CheckCycleTrackerTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CheckCycleTracker tracker = new CheckCycleTracker("test", meterRegistry);
+
+    @Test
+    void overlappingTriggersJoinTheInFlightCheck() {
+        AtomicInteger started = new AtomicInteger();
+        CompletableFuture<Void> check = new CompletableFuture<>();
+
+        CompletableFuture<Void> first = tracker.runTarget("a", true, () -> {
+            started.incrementAndGet();
+            return check;
+        });
+        CompletableFuture<Void> manual = tracker.runTarget("a", false, () -> {
+            started.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        });
+        CompletableFuture<Void> scheduled = tracker.runTarget("a", true, () -> {
+            started.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        assertEquals(1, started.get());
+        assertSame(first, manual);
+        assertSame(first, scheduled);
+        assertEquals(2.0, meterRegistry.get("check_cycle_skipped").tag("scope", "target").counter().count());
+        assertEquals(1.0, meterRegistry.get("check_cycle_overruns").counter().count());
+
+        // 在途检查结束后可以重新开始
+        check.complete(null);
+        assertTrue(first.isDone());
+        tracker.runTarget("a", true, () -> {
+            started.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        });
+        assertEquals(2, started.get());
+    }
+
+    @Test
+    void manualCycleJoinsRunningCycle() {
+        CompletableFuture<Void> cycle = new CompletableFuture<>();
+        CompletableFuture<Void> first = tracker.runCycle(() -> cycle);
+        CompletableFuture<Void> second = tracker.runCycle(() -> CompletableFuture.completedFuture(null));
+
+        assertSame(first, second);
+        assertEquals(1.0, meterRegistry.get("check_cycle_skipped").tag("scope", "cycle").counter().count());
+
+        cycle.complete(null);
+        assertEquals(1, meterRegistry.get("check_cycle_duration").timer().count());
+    }
+
+    @Test
+    void failedCheckReleasesTheTarget() {
+        CompletableFuture<Void> failed = tracker.runTarget("a", true, () -> {
+            throw new IllegalStateException("boom");
+        });
+        assertTrue(failed.isCompletedExceptionally());
+
+        CompletableFuture<Void> next = tracker.runTarget("a", true, () -> CompletableFuture.completedFuture(null));
+        assertTrue(next.isDone() && !next.isCompletedExceptionally());
+    }
+}
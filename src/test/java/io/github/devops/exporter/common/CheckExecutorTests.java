@@ -0,0 +1,50 @@
+package io.github.devops.exporter.common;
+
+import io.github.devops.exporter.config.ExecutorProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CheckExecutorTests {
+
+    @Test
+    void queuedChecksFailWhenExecutorShutsDown() throws Exception {
+        CheckExecutor executor = new CheckExecutor("test", new ExecutorProperties(1));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = executor.supplyAsync(() -> {
+            started.countDown();
+            await(release);
+            return "done";
+        });
+        CompletableFuture<String> queued = executor.supplyAsync(() -> "never");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(1, executor.getQueueDepth());
+
+        executor.shutdown();
+        // 排队中的检查立即失败，不会永远挂起
+        CompletionException failure = assertThrows(CompletionException.class, queued::join);
+        assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+        assertEquals(0, executor.getQueueDepth());
+
+        release.countDown();
+        assertEquals("done", running.get(5, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
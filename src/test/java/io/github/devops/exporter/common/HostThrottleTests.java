@@ -0,0 +1,143 @@
+package io.github.devops.exporter.common;
+
+import io.github.devops.exporter.config.DnsCacheProperties;
+import io.github.devops.exporter.config.ExecutorProperties;
+import io.github.devops.exporter.config.HostLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HostThrottleTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DnsCache dnsCache = new DnsCache(new DnsCacheProperties(), meterRegistry);
+    private final CheckExecutor checkExecutor = new CheckExecutor("test", new ExecutorProperties(4));
+
+    @AfterEach
+    void tearDown() {
+        checkExecutor.shutdown();
+        dnsCache.shutdown();
+    }
+
+    @Test
+    void concurrencyCapQueuesChecksWithoutBlocking() {
+        HostLimitProperties hostLimit = new HostLimitProperties();
+        hostLimit.setMaxConcurrency(2);
+        HostThrottle throttle = new HostThrottle("test", hostLimit, new HostLimitProperties(),
+            dnsCache, checkExecutor, meterRegistry);
+
+        AtomicInteger started = new AtomicInteger();
+        List<CompletableFuture<Void>> checks = new ArrayList<>();
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            CompletableFuture<Void> check = new CompletableFuture<>();
+            checks.add(check);
+            results.add(throttle.run("example.com", () -> {
+                started.incrementAndGet();
+                return check;
+            }));
+        }
+        assertEquals(2, started.get());
+        assertEquals(3.0, meterRegistry.get("check_throttled").tag("reason", "concurrency").counter().count());
+
+        // 每完成一个检查放行一个排队的检查
+        checks.get(0).complete(null);
+        assertEquals(3, started.get());
+        checks.forEach(check -> check.complete(null));
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).join();
+        assertEquals(5, started.get());
+
+        // 其他主机不受影响
+        AtomicInteger other = new AtomicInteger();
+        throttle.run("other.example.com", () -> {
+            other.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        }).join();
+        assertEquals(1, other.get());
+    }
+
+    @Test
+    void tokenBucketSpacesChecks() {
+        HostLimitProperties hostLimit = new HostLimitProperties();
+        hostLimit.setRate(20);
+        hostLimit.setBurst(2);
+        HostThrottle throttle = new HostThrottle("test", hostLimit, new HostLimitProperties(),
+            dnsCache, checkExecutor, meterRegistry);
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            results.add(throttle.run("example.com", () -> CompletableFuture.completedFuture(null)));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).join();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // 突发 2 个，其余 4 个按 50ms 间隔放行
+        assertTrue(elapsedMillis >= 190, "elapsed " + elapsedMillis + "ms");
+        assertEquals(4.0, meterRegistry.get("check_throttled").tag("reason", "rate").counter().count());
+        assertEquals(4, meterRegistry.get("check_throttle_wait").timer().count());
+    }
+
+    @Test
+    void immediatelyFailingChecksDrainQueueWithoutRecursion() {
+        HostLimitProperties hostLimit = new HostLimitProperties();
+        hostLimit.setMaxConcurrency(1);
+        HostThrottle.Limiter limiter = new HostThrottle.Limiter("test", "host", hostLimit, meterRegistry);
+
+        CompletableFuture<Void> first = new CompletableFuture<>();
+        limiter.run("example.com", () -> first);
+        // 检查线程池过载时排队的检查一放行就返回失败的 future
+        AtomicInteger started = new AtomicInteger();
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            results.add(limiter.run("example.com", () -> {
+                started.incrementAndGet();
+                return CompletableFuture.failedFuture(new IllegalStateException("rejected"));
+            }));
+        }
+
+        first.complete(null);
+        assertEquals(50_000, started.get());
+        assertTrue(results.stream().allMatch(CompletableFuture::isCompletedExceptionally));
+        assertEquals(0.0, meterRegistry.get("check_throttle_waiting").gauge().value());
+    }
+
+    @Test
+    void idleBucketsArePurgedWithoutContention() {
+        HostLimitProperties hostLimit = new HostLimitProperties();
+        hostLimit.setMaxConcurrency(2);
+        HostThrottle.Limiter limiter = new HostThrottle.Limiter("test", "ip", hostLimit, meterRegistry);
+
+        // 每个 key 只检查一次，从不排队
+        for (int i = 0; i < 5 * HostThrottle.Limiter.PURGE_THRESHOLD; i++) {
+            limiter.run("10.0." + (i >> 8) + "." + (i & 0xFF), () -> CompletableFuture.completedFuture(null)).join();
+        }
+        assertTrue(limiter.bucketCount() <= HostThrottle.Limiter.PURGE_THRESHOLD + 1,
+            "buckets " + limiter.bucketCount());
+    }
+
+    @Test
+    void nullHostBypassesThrottle() {
+        HostLimitProperties hostLimit = new HostLimitProperties();
+        hostLimit.setMaxConcurrency(1);
+        HostThrottle throttle = new HostThrottle("test", hostLimit, new HostLimitProperties(),
+            dnsCache, checkExecutor, meterRegistry);
+
+        AtomicInteger started = new AtomicInteger();
+        throttle.run(null, () -> {
+            started.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        }).join();
+        assertEquals(1, started.get());
+    }
+}
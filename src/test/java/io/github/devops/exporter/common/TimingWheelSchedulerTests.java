@@ -0,0 +1,144 @@
+package io.github.devops.exporter.common;
+
+import io.github.devops.exporter.config.SchedulerProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelSchedulerTests {
+
+    private static final long TICK_MILLIS = 100;
+    // 对齐到刻度的墙钟起点，方便按刻度判断是否提前或延迟
+    private static final long START_WALL_MILLIS = 1_700_000_000_000L;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private long nanos = 5_000_000_000L;
+    private long wallMillis = START_WALL_MILLIS;
+
+    // 每层 16 槽：第 0 层覆盖 1.6 秒，第 1 层 25.6 秒，第 2 层 409.6 秒，少量刻度就能跨过层级边界
+    private TimingWheelScheduler scheduler(Duration initialSpread) {
+        SchedulerProperties properties = new SchedulerProperties();
+        properties.setTickDuration(Duration.ofMillis(TICK_MILLIS));
+        properties.setWheelSize(16);
+        properties.setInitialSpread(initialSpread);
+        return new TimingWheelScheduler(properties, meterRegistry, () -> nanos, () -> wallMillis, false);
+    }
+
+    private void advance(TimingWheelScheduler scheduler, Duration duration) {
+        for (long i = 0; i < duration.toMillis() / TICK_MILLIS; i++) {
+            nanos += TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS);
+            wallMillis += TICK_MILLIS;
+            scheduler.tick();
+        }
+    }
+
+    @Test
+    void highLevelItemsCascadeDownWithoutFiringEarlyOrGettingLost() {
+        TimingWheelScheduler scheduler = scheduler(Duration.ZERO);
+        long intervalMillis = 300_000; // 3000 个刻度，放在第 2 层
+        long phase = TimingWheelScheduler.phase("slow", intervalMillis);
+        List<Long> fired = new ArrayList<>();
+        scheduler.schedule("test", "slow", Duration.ofMillis(intervalMillis), () -> fired.add(wallMillis));
+
+        advance(scheduler, Duration.ofMillis(intervalMillis * 4));
+
+        // 没有启动窗口时首轮在下一个刻度执行，之后每个周期在相位点之后的第一个刻度执行
+        assertEquals(START_WALL_MILLIS + TICK_MILLIS, fired.get(0));
+        for (int i = 1; i < fired.size(); i++) {
+            assertAligned(fired.get(i), intervalMillis, phase);
+        }
+        for (int i = 2; i < fired.size(); i++) {
+            assertEquals(intervalMillis, fired.get(i) - fired.get(i - 1));
+        }
+        assertTrue(fired.size() >= 4 && fired.size() <= 5, "fired " + fired.size());
+    }
+
+    @Test
+    void firstRunIsCompressedIntoInitialSpread() {
+        TimingWheelScheduler scheduler = scheduler(Duration.ofSeconds(10));
+        long intervalMillis = 60_000;
+        long phase = TimingWheelScheduler.phase("api", intervalMillis);
+        List<Long> fired = new ArrayList<>();
+        scheduler.schedule("test", "api", Duration.ofMillis(intervalMillis), () -> fired.add(wallMillis));
+
+        advance(scheduler, Duration.ofMinutes(3));
+
+        // 首轮按相位等比例压缩到 10 秒的启动窗口内
+        long firstDelay = phase * 10_000 / intervalMillis;
+        long first = fired.get(0) - START_WALL_MILLIS;
+        assertTrue(first >= firstDelay && first < firstDelay + TICK_MILLIS, "first run after " + first + "ms");
+        // 之后回到对齐的相位，离首轮不少于半个周期
+        assertAligned(fired.get(1), intervalMillis, phase);
+        assertTrue(fired.get(1) - fired.get(0) >= intervalMillis / 2);
+        for (int i = 2; i < fired.size(); i++) {
+            assertEquals(intervalMillis, fired.get(i) - fired.get(i - 1));
+        }
+    }
+
+    @Test
+    void manyTargetsStayOnScheduleAcrossLevelBoundaries() {
+        TimingWheelScheduler scheduler = scheduler(Duration.ofSeconds(30));
+        Map<String, List<Long>> fired = new TreeMap<>();
+        Map<String, Long> intervals = new TreeMap<>();
+        long[] choices = {1_000, 1_500, 7_000, 25_600, 30_000, 61_000, 409_600, 500_000};
+        for (int i = 0; i < 80; i++) {
+            String key = "target-" + i;
+            long intervalMillis = choices[i % choices.length];
+            List<Long> times = new ArrayList<>();
+            fired.put(key, times);
+            intervals.put(key, intervalMillis);
+            scheduler.schedule("test", key, Duration.ofMillis(intervalMillis), () -> times.add(wallMillis));
+        }
+
+        Duration window = Duration.ofMinutes(20);
+        advance(scheduler, window);
+        long end = START_WALL_MILLIS + window.toMillis();
+
+        fired.forEach((key, times) -> {
+            long intervalMillis = intervals.get(key);
+            long phase = TimingWheelScheduler.phase(key, intervalMillis);
+            assertTrue(times.get(0) - START_WALL_MILLIS <= 30_000 + TICK_MILLIS, key + " first run " + times);
+            for (int i = 1; i < times.size(); i++) {
+                assertAligned(times.get(i), intervalMillis, phase);
+            }
+            for (int i = 2; i < times.size(); i++) {
+                assertEquals(intervalMillis, times.get(i) - times.get(i - 1), key + " " + times);
+            }
+            // 最后一次执行距窗口结束不超过一个周期，说明任务没有在某一层丢失
+            assertTrue(end - times.get(times.size() - 1) <= intervalMillis + TICK_MILLIS, key + " " + times);
+        });
+    }
+
+    @Test
+    void cancelledChecksStopFiring() {
+        TimingWheelScheduler scheduler = scheduler(Duration.ZERO);
+        List<Long> fired = new ArrayList<>();
+        TimingWheelScheduler.ScheduledCheck check = scheduler.schedule("test", "gone", Duration.ofSeconds(2),
+            () -> fired.add(wallMillis));
+
+        advance(scheduler, Duration.ofSeconds(5));
+        int runs = fired.size();
+        assertTrue(runs >= 2, "fired " + runs);
+        check.cancel();
+        advance(scheduler, Duration.ofSeconds(10));
+
+        assertEquals(runs, fired.size());
+        assertEquals(0.0, meterRegistry.get("check_scheduler_targets").gauge().value());
+    }
+
+    // 在相位点之后的第一个刻度执行：不提前，也不晚于一个刻度
+    private static void assertAligned(long firedWallMillis, long intervalMillis, long phase) {
+        long offset = Math.floorMod(firedWallMillis - phase, intervalMillis);
+        assertTrue(offset < TICK_MILLIS, "fired " + offset + "ms after its phase");
+    }
+}
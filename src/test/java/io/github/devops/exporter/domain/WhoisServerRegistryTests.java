@@ -0,0 +1,103 @@
+package io.github.devops.exporter.domain;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WhoisServerRegistryTests {
+
+    private static final String COM_RECORD = """
+        % IANA WHOIS server
+
+        refer:        whois.verisign-grs.com
+
+        domain:       COM
+        whois:        whois.verisign-grs.com
+        """;
+
+    @TempDir
+    Path directory;
+
+    private final List<String> queries = new ArrayList<>();
+
+    private WhoisServerRegistry registry(Path cacheFile, Map<String, String> answers) {
+        return new WhoisServerRegistry("whois.iana.org", cacheFile, Duration.ofDays(7), Duration.ofDays(1),
+            (server, text) -> {
+                queries.add(server + " " + text);
+                return answers.getOrDefault(text, "");
+            });
+    }
+
+    @Test
+    void parsesReferralsAndTlds() {
+        assertEquals("whois.verisign-grs.com", WhoisServerRegistry.refer(COM_RECORD));
+        assertEquals("whois.nic.example", WhoisServerRegistry.refer("domain: EXAMPLE\nwhois: whois://whois.nic.example/\n"));
+        assertNull(WhoisServerRegistry.refer("domain: NONE\n"));
+
+        assertEquals("whois.markmonitor.com", WhoisServerRegistry.registrarReferral(
+            "   Domain Name: GOOGLE.COM\n   Registrar WHOIS Server: whois.markmonitor.com\n"));
+        assertNull(WhoisServerRegistry.registrarReferral("   Registrar WHOIS Server: \n"));
+
+        assertEquals("com", WhoisServerRegistry.tldOf("www.Example.COM"));
+        assertEquals("uk", WhoisServerRegistry.tldOf("example.co.uk."));
+    }
+
+    @Test
+    void discoversOncePerTldAndPersistsAcrossRestarts() throws Exception {
+        Path cacheFile = directory.resolve("data/whois-servers.txt");
+        WhoisServerRegistry first = registry(cacheFile, Map.of("com", COM_RECORD, "none", "domain:       NONE\n"));
+
+        assertEquals("whois.verisign-grs.com", first.serverFor("a.com"));
+        assertEquals("whois.verisign-grs.com", first.serverFor("b.com"));
+        // 真正的 TLD 记录里没有 refer: 才缓存为"没有 WHOIS 服务"
+        assertNull(first.serverFor("c.none"));
+        assertEquals(List.of("whois.iana.org com", "whois.iana.org none"), queries);
+
+        List<String> lines = Files.readAllLines(cacheFile);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("com whois.verisign-grs.com "));
+        assertTrue(lines.get(1).startsWith("none - "));
+
+        // 重启后直接从文件加载，不再向 IANA 查询
+        queries.clear();
+        WhoisServerRegistry restarted = registry(cacheFile, Map.of());
+        assertEquals("whois.verisign-grs.com", restarted.serverFor("d.com"));
+        assertNull(restarted.serverFor("e.none"));
+        assertTrue(queries.isEmpty());
+    }
+
+    @Test
+    void unusableIanaReplyIsNotCachedAsMissing() throws Exception {
+        Path cacheFile = directory.resolve("whois-servers.txt");
+        WhoisServerRegistry registry = registry(cacheFile, Map.of(
+            "org", "% Rate limit exceeded, try again later\n",
+            "io", "% 0 objects\n"));
+
+        // 限流提示、空结果退回内置表或默认服务器，不写入文件
+        assertEquals("whois.pir.org", registry.serverFor("example.org"));
+        assertEquals("whois.internic.net", registry.serverFor("example.io"));
+        assertEquals("whois.internic.net", registry.serverFor("example.xyz"));
+        assertFalse(Files.exists(cacheFile));
+    }
+
+    @Test
+    void registrarReferralsAreCachedPerDomain() {
+        WhoisServerRegistry registry = registry(null, Map.of());
+        assertNull(registry.registrarFor("example.com"));
+        registry.rememberRegistrar("Example.com", "whois.registrar.test");
+        assertEquals("whois.registrar.test", registry.registrarFor("example.com"));
+        registry.forgetRegistrar("example.com");
+        assertNull(registry.registrarFor("example.com"));
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.devops.exporter.http;
+
+import io.github.devops.exporter.config.HttpBodyCheckProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BodyAssertionTests {
+
+    @Test
+    void substringMatchesAcrossReadBoundaries() {
+        HttpBodyCheckProperties properties = new HttpBodyCheckProperties();
+        properties.setContains("\"status\":\"UP\"");
+
+        BodyAssertion.Matcher matcher = feedInChunks(properties, "{\"status\":\"UP\",\"rest\":\"" + "x".repeat(10000) + "\"}", 1);
+
+        assertTrue(matcher.isMatched());
+        // 找到子串后立即停止，不会读完整个响应体
+        assertEquals(14, matcher.getBytesInspected());
+    }
+
+    @Test
+    void regexSurvivesWindowSlides() {
+        HttpBodyCheckProperties properties = new HttpBodyCheckProperties();
+        properties.setRegex("version: \\d+\\.\\d+");
+        properties.setRegexWindow(256);
+
+        BodyAssertion.Matcher matcher = feedInChunks(properties, "a".repeat(1000) + "version: 12.34" + "b".repeat(1000), 100);
+
+        assertTrue(matcher.isMatched());
+    }
+
+    @Test
+    void jsonPointerComparesScalarValue() {
+        HttpBodyCheckProperties properties = new HttpBodyCheckProperties();
+        properties.setJsonPointer("/checks/1/status");
+        properties.setJsonEquals("UP");
+
+        String body = "{\"checks\":[{\"status\":\"DOWN\"},{\"status\":\"UP\"}],\"padding\":\"" + "x".repeat(5000) + "\"}";
+        assertTrue(feedInChunks(properties, body, 7).isMatched());
+
+        properties.setJsonEquals("DOWN");
+        BodyAssertion.Matcher mismatch = feedInChunks(properties, body, 7);
+        assertFalse(mismatch.isMatched());
+        assertEquals("JSON pointer /checks/1/status is 'UP', expected 'DOWN'", mismatch.getFailureMessage());
+    }
+
+    @Test
+    void missingContentFailsAtEndOfBody() {
+        HttpBodyCheckProperties properties = new HttpBodyCheckProperties();
+        properties.setContains("healthy");
+
+        BodyAssertion.Matcher matcher = feedInChunks(properties, "<html>502 Bad Gateway</html>", 8);
+
+        assertFalse(matcher.isMatched());
+        assertEquals("Body does not contain 'healthy'", matcher.getFailureMessage());
+    }
+
+    @Test
+    void maxSizeStopsReading() {
+        HttpBodyCheckProperties properties = new HttpBodyCheckProperties();
+        properties.setMaxSize(DataSize.ofBytes(1024));
+
+        BodyAssertion.Matcher matcher = feedInChunks(properties, "x".repeat(100_000), 512);
+        assertFalse(matcher.isMatched());
+        assertEquals(1536, matcher.getBytesInspected());
+
+        // Content-Length 已知时不读响应体就能得出结论
+        BodyAssertion.Matcher known = BodyAssertion.compile(properties).newMatcher(512);
+        assertTrue(known.isMatched());
+    }
+
+    private static BodyAssertion.Matcher feedInChunks(HttpBodyCheckProperties properties, String body, int chunkSize) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        BodyAssertion.Matcher matcher = BodyAssertion.compile(properties).newMatcher(-1);
+        for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+            if (matcher.feed(bytes, offset, Math.min(chunkSize, bytes.length - offset))) {
+                return matcher;
+            }
+        }
+        matcher.finish();
+        return matcher;
+    }
+}
\ No newline at end of file
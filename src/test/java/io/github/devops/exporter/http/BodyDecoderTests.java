@@ -0,0 +1,72 @@
+package io.github.devops.exporter.http;
+
+import io.github.devops.exporter.config.HttpBodyCheckProperties;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BodyDecoderTests {
+
+    private static final String BODY = "{\"status\":\"UP\",\"padding\":\"" + "x".repeat(20000) + "\"}";
+
+    @Test
+    void gzipIsDecodedAcrossReadBoundaries() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(BODY.getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] wire = compressed.toByteArray();
+
+        // 每次只给 3 个字节，gzip 头也会被拆开
+        BodyDecoder decoder = new BodyDecoder("gzip", null);
+        for (int offset = 0; offset < wire.length; offset += 3) {
+            assertFalse(decoder.feed(wire, offset, Math.min(3, wire.length - offset)));
+        }
+        decoder.finish();
+
+        assertEquals(wire.length, decoder.getWireBytes());
+        assertEquals(BODY.length(), decoder.getDecodedBytes());
+        assertTrue(decoder.getWireBytes() < decoder.getDecodedBytes());
+    }
+
+    @Test
+    void rawAndZlibDeflateBothFeedTheMatcher() throws IOException {
+        HttpBodyCheckProperties properties = new HttpBodyCheckProperties();
+        properties.setContains("\"status\":\"UP\"");
+        BodyAssertion assertion = BodyAssertion.compile(properties);
+
+        for (boolean nowrap : new boolean[] {false, true}) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (DeflaterOutputStream deflate = new DeflaterOutputStream(compressed, new Deflater(6, nowrap))) {
+                deflate.write(BODY.getBytes(StandardCharsets.UTF_8));
+            }
+            byte[] wire = compressed.toByteArray();
+
+            BodyDecoder decoder = new BodyDecoder("deflate", assertion.newMatcher(-1));
+            assertTrue(decoder.feed(wire, 0, wire.length));
+            assertTrue(decoder.getMatcher().isMatched());
+        }
+    }
+
+    @Test
+    void corruptBodyReportsDecodeError() {
+        byte[] wire = "definitely not gzip".getBytes(StandardCharsets.UTF_8);
+        BodyDecoder decoder = new BodyDecoder("gzip", null);
+        decoder.feed(wire, 0, wire.length);
+        decoder.finish();
+
+        assertNotNull(decoder.getError());
+        assertEquals(-1, decoder.getDecodedBytes());
+        assertEquals(wire.length, decoder.getWireBytes());
+    }
+}
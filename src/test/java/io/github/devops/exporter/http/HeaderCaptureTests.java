@@ -0,0 +1,47 @@
+package io.github.devops.exporter.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class HeaderCaptureTests {
+
+    private final Map<String, List<String>> headers = new LinkedHashMap<>();
+
+    HeaderCaptureTests() {
+        headers.put(null, List.of("HTTP/1.1 200 OK"));
+        headers.put(":status", List.of("200"));
+        headers.put("Content-Type", List.of("text/html"));
+        headers.put("Cache-Control", List.of("no-cache", "no-store"));
+        headers.put("Server", List.of("nginx"));
+    }
+
+    @Test
+    void capturesNothingByDefault() {
+        assertNull(new HeaderCapture(List.of()).capture(headers));
+    }
+
+    @Test
+    void capturesOnlyAllowlistedHeaders() {
+        HeaderCapture capture = new HeaderCapture(List.of("cache-control", "X-Missing"));
+
+        assertEquals(Map.of("cache-control", "no-cache, no-store"), capture.capture(headers));
+    }
+
+    @Test
+    void wildcardSkipsStatusLineAndPseudoHeaders() {
+        HeaderCapture capture = new HeaderCapture(List.of("*"));
+
+        Map<String, String> captured = capture.capture(headers);
+        assertEquals(3, captured.size());
+        assertEquals("nginx", captured.get("server"));
+        // 重复的值共享同一个实例
+        assertSame(captured.get("server"), capture.capture(Map.of("Server", List.of(new String("nginx")))).get("server"));
+    }
+}
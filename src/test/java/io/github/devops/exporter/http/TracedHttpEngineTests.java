@@ -0,0 +1,149 @@
+package io.github.devops.exporter.http;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.devops.exporter.common.DnsCache;
+import io.github.devops.exporter.config.DnsCacheProperties;
+import io.github.devops.exporter.config.HttpBodyCheckProperties;
+import io.github.devops.exporter.config.HttpMonitorProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TracedHttpEngineTests {
+
+    private static final String BODY = "{\"status\":\"UP\",\"padding\":\"" + "x".repeat(5000) + "\"}";
+
+    private final HttpMonitorProperties properties = new HttpMonitorProperties();
+    private DnsCache dnsCache;
+    private HttpServer server;
+    private TracedHttpEngine engine;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+        server = HttpServer.create(new InetSocketAddress(loopback, 0), 16);
+        server.createContext("/fixed", exchange -> {
+            sleep(50); // 让首字节时间可以稳定地测出来
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/chunked", exchange -> {
+            // 长度为 0 时 HttpServer 使用分块编码；分几次写出，块长度跨过一位和多位十六进制
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                int[] sizes = {9, 300, 4096};
+                int offset = 0;
+                for (int size : sizes) {
+                    out.write(body, offset, size);
+                    out.flush();
+                    offset += size;
+                }
+                out.write(body, offset, body.length - offset);
+            }
+        });
+        server.createContext("/old", exchange -> redirect(exchange, "/older"));
+        server.createContext("/older", exchange -> redirect(exchange, "/fixed"));
+        server.start();
+        baseUrl = "http://" + loopback.getHostAddress() + ":" + server.getAddress().getPort();
+
+        dnsCache = new DnsCache(new DnsCacheProperties(), new SimpleMeterRegistry());
+        engine = new TracedHttpEngine(properties, dnsCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        dnsCache.shutdown();
+    }
+
+    @Test
+    void contentLengthResponseIsTimedPerPhase() throws IOException {
+        HttpInfo httpInfo = engine.check(baseUrl + "/fixed", HttpProbe.get());
+
+        assertEquals(200, httpInfo.getStatusCode());
+        assertEquals("OK", httpInfo.getStatusMessage());
+        assertEquals("application/json", httpInfo.getContentType());
+        assertEquals(BODY.length(), httpInfo.getContentLength());
+        assertEquals(BODY.length(), httpInfo.getBodyDecodedBytes());
+        assertTrue(httpInfo.getBytesReceived() > BODY.length());
+        // 默认不保留响应头
+        assertNull(httpInfo.getResponseHeaders());
+
+        HttpTimings timings = httpInfo.getTimings();
+        assertTrue(timings.getDnsNanos() > 0);
+        assertTrue(timings.getConnectNanos() > 0);
+        assertEquals(0, timings.getTlsNanos());
+        // 服务端收到请求后等待 50ms，计时起点在请求写完之后，留出余量
+        assertTrue(timings.getTtfbNanos() >= TimeUnit.MILLISECONDS.toNanos(40), "ttfb " + timings.getTtfbNanos());
+        assertEquals(0, timings.getRedirectNanos());
+        assertTrue(timings.getTotalNanos() >= timings.getDnsNanos() + timings.getConnectNanos()
+            + timings.getTtfbNanos() + timings.getTransferNanos());
+    }
+
+    @Test
+    void chunkedResponseIsDecoded() throws IOException {
+        HttpBodyCheckProperties bodyCheck = new HttpBodyCheckProperties();
+        bodyCheck.setContains("x\"}");
+        HttpProbe probe = HttpProbe.get();
+        probe.setBodyAssertion(BodyAssertion.compile(bodyCheck));
+
+        HttpInfo httpInfo = engine.check(baseUrl + "/chunked", probe);
+
+        assertEquals(200, httpInfo.getStatusCode());
+        assertEquals(-1, httpInfo.getContentLength());
+        assertEquals(BODY.length(), httpInfo.getBodyDecodedBytes());
+        // 结尾只在最后一块里，说明各块按长度拼接完整
+        assertEquals(Boolean.TRUE, httpInfo.getBodyMatched());
+    }
+
+    @Test
+    void redirectHopsAreSummedIntoRedirectPhase() throws IOException {
+        HttpInfo httpInfo = engine.check(baseUrl + "/old", HttpProbe.get());
+
+        assertEquals(200, httpInfo.getStatusCode());
+        assertEquals(baseUrl + "/fixed", httpInfo.getFinalUrl());
+        List<RedirectHop> chain = httpInfo.getRedirectChain();
+        assertEquals(3, chain.size());
+        assertEquals(302, chain.get(0).getStatusCode());
+        assertEquals("/older", chain.get(0).getLocation());
+        assertNull(chain.get(2).getLocation());
+
+        // 前两跳计入 redirect，阶段耗时只保留最后一跳
+        HttpTimings timings = httpInfo.getTimings();
+        assertEquals(chain.get(0).getDurationNanos() + chain.get(1).getDurationNanos(), timings.getRedirectNanos());
+        assertTrue(timings.getTtfbNanos() >= TimeUnit.MILLISECONDS.toNanos(40));
+        assertTrue(timings.getTotalNanos() >= timings.getRedirectNanos() + timings.getTtfbNanos());
+    }
+
+    private static void redirect(com.sun.net.httpserver.HttpExchange exchange, String location) throws IOException {
+        exchange.getResponseHeaders().add("Location", location);
+        exchange.sendResponseHeaders(302, -1);
+        exchange.close();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
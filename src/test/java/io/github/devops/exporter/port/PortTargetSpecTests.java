@@ -0,0 +1,62 @@
+package io.github.devops.exporter.port;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PortTargetSpecTests {
+
+    @Test
+    void singleTargetIsNotARange() {
+        PortTargetSpec spec = PortTargetSpec.parse("google.com:443");
+        assertFalse(spec.isRange());
+        assertEquals(1, spec.getTargetCount());
+        assertEquals(List.of("google.com:443"), collect(spec.iterator()));
+    }
+
+    @Test
+    void expandsCidrAndPortListLazily() {
+        PortTargetSpec spec = PortTargetSpec.parse("10.20.0.0/30:22,8000-8001");
+        assertTrue(spec.isRange());
+        assertEquals(2, spec.getAddressCount()); // 跳过网络地址和广播地址
+        assertEquals(3, spec.getPortCount());
+        assertEquals(List.of(
+            "10.20.0.1:22", "10.20.0.2:22",
+            "10.20.0.1:8000", "10.20.0.2:8000",
+            "10.20.0.1:8001", "10.20.0.2:8001"), collect(spec.iterator()));
+    }
+
+    @Test
+    void countsLargeRangesWithoutExpanding() {
+        PortTargetSpec spec = PortTargetSpec.parse("10.20.0.0/16:22,80,8000-8100");
+        assertEquals(65534L * 103, spec.getTargetCount());
+        assertEquals("10.20.0.1:22", spec.iterator().next());
+    }
+
+    @Test
+    void hostWithPortRange() {
+        PortTargetSpec spec = PortTargetSpec.parse("example.com:80-82");
+        assertEquals(List.of("example.com:80", "example.com:81", "example.com:82"), collect(spec.iterator()));
+    }
+
+    @Test
+    void rejectsInvalidSpecs() {
+        assertThrows(IllegalArgumentException.class, () -> PortTargetSpec.parse("10.0.0.0/33:22"));
+        assertThrows(IllegalArgumentException.class, () -> PortTargetSpec.parse("10.0.0.0/8:0"));
+        assertThrows(IllegalArgumentException.class, () -> PortTargetSpec.parse("host:90-80"));
+        assertThrows(IllegalArgumentException.class, () -> PortTargetSpec.parse("no-port"));
+    }
+
+    private static List<String> collect(Iterator<String> iterator) {
+        List<String> targets = new ArrayList<>();
+        iterator.forEachRemaining(targets::add);
+        return targets;
+    }
+}
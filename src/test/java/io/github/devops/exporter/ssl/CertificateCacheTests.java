@@ -0,0 +1,175 @@
+package io.github.devops.exporter.ssl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CertificateCacheTests {
+
+    private static final Duration MIN = Duration.ofHours(1);
+    private static final Duration MAX = Duration.ofHours(24);
+    private static final Duration WARNING = Duration.ofDays(30);
+
+    @TempDir
+    Path fixtures;
+
+    private final CertificateCache cache = new CertificateCache(MAX, WARNING);
+    private X509Certificate first;
+    private X509Certificate second;
+    private Instant now;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // 两张 90 天有效期的自签名证书，模拟续期前后的叶子证书
+        first = generate("first");
+        second = generate("second");
+        now = Instant.now();
+    }
+
+    @Test
+    void intervalDoublesWhileFingerprintIsStable() {
+        Instant notAfter = now.plus(Duration.ofDays(90));
+
+        assertEquals(MIN, cache.nextInterval(notAfter, 0, MIN, now));
+        assertEquals(Duration.ofHours(2), cache.nextInterval(notAfter, 1, MIN, now));
+        assertEquals(Duration.ofHours(16), cache.nextInterval(notAfter, 4, MIN, now));
+    }
+
+    @Test
+    void intervalIsCappedAtMaxRecheckInterval() {
+        Instant notAfter = now.plus(Duration.ofDays(90));
+
+        assertEquals(MAX, cache.nextInterval(notAfter, 5, MIN, now));
+        assertEquals(MAX, cache.nextInterval(notAfter, 1000, MIN, now));
+        // 最长间隔小于调度间隔时按调度间隔
+        assertEquals(Duration.ofDays(2), cache.nextInterval(notAfter, 3, Duration.ofDays(2), now));
+    }
+
+    @Test
+    void intervalIsClampedToStartOfWarningWindow() {
+        // 5 小时后进入预警期：翻倍后的 8 小时被截到 5 小时
+        Instant notAfter = now.plus(WARNING).plus(Duration.ofHours(5));
+        assertEquals(Duration.ofHours(5), cache.nextInterval(notAfter, 3, MIN, now));
+
+        // 已经在预警期内按最短间隔
+        assertEquals(MIN, cache.nextInterval(now.plus(Duration.ofDays(10)), 10, MIN, now));
+        assertEquals(MIN, cache.nextInterval(now.minus(Duration.ofDays(1)), 10, MIN, now));
+    }
+
+    @Test
+    void stableObservationsBackOffAndServeFromCache() {
+        CertificateCache.HostState state = cache.observe("example.test", List.of(ok(first)), MIN, now);
+        assertEquals(0, state.getStableProbes());
+        assertFalse(state.isChanged());
+        assertEquals(now, state.getHandshakeAt());
+        // 提前半个调度间隔到期
+        assertEquals(now.plus(MIN).minus(MIN.dividedBy(2)), state.getNextProbeAt());
+
+        Instant later = now.plus(MIN);
+        state = cache.observe("example.test", List.of(ok(first), ok(first)), MIN, later);
+        assertEquals(1, state.getStableProbes());
+        assertEquals(later.plus(Duration.ofHours(2)).minus(MIN.dividedBy(2)), state.getNextProbeAt());
+
+        assertNotNull(cache.cached("example.test", later.plus(Duration.ofMinutes(80))));
+        assertNull(cache.cached("example.test", state.getNextProbeAt()));
+        assertEquals(later, cache.cached("example.test", later.plus(Duration.ofMinutes(1))).getHandshakeAt());
+    }
+
+    @Test
+    void fingerprintChangeResetsBackoffAndPurgesOldCertificate() {
+        cache.observe("example.test", List.of(ok(first)), MIN, now);
+        cache.observe("example.test", List.of(ok(first)), MIN, now.plus(MIN));
+        CertificateCache.HostState state = cache.observe("example.test", List.of(ok(first)), MIN, now.plus(MIN.multipliedBy(3)));
+        assertEquals(2, state.getStableProbes());
+
+        state = cache.observe("example.test", List.of(ok(second)), MIN, now.plus(MIN.multipliedBy(7)));
+        assertTrue(state.isChanged());
+        assertEquals(0, state.getStableProbes());
+        assertEquals(now.plus(MIN.multipliedBy(8)).minus(MIN.dividedBy(2)), state.getNextProbeAt());
+        // 没有域名再引用第一张证书
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void failedAddressResetsBackoffWithoutReportingRotation() {
+        cache.observe("example.test", List.of(ok(first), ok(first)), MIN, now);
+        cache.observe("example.test", List.of(ok(first), ok(first)), MIN, now.plus(MIN));
+
+        Instant failedAt = now.plus(MIN.multipliedBy(3));
+        CertificateCache.HostState state = cache.observe("example.test", List.of(ok(first), failed()), MIN, failedAt);
+        assertEquals(0, state.getStableProbes());
+        assertFalse(state.isChanged());
+        // 下一次调度立即重新握手
+        assertEquals(failedAt, state.getNextProbeAt());
+        assertNull(cache.cached("example.test", failedAt));
+
+        // 失败的地址恢复后返回同一张证书，不算轮换
+        state = cache.observe("example.test", List.of(ok(first), ok(first)), MIN, failedAt.plus(MIN));
+        assertFalse(state.isChanged());
+        assertEquals(1, state.getStableProbes());
+    }
+
+    @Test
+    void removedHostsAreEvicted() {
+        cache.observe("a.example.test", List.of(ok(first)), MIN, now);
+        cache.observe("b.example.test", List.of(ok(second)), MIN, now);
+        assertEquals(2, cache.size());
+
+        cache.retain(List.of("b.example.test"));
+
+        assertNull(cache.cached("a.example.test", now));
+        assertNotNull(cache.cached("b.example.test", now));
+        assertEquals(1, cache.size());
+    }
+
+    private SslEndpointInfo ok(X509Certificate certificate) {
+        SslEndpointInfo endpoint = new SslEndpointInfo("192.0.2.1");
+        endpoint.setStatus("OK");
+        endpoint.setChain(List.of(cache.parse(certificate)));
+        return endpoint;
+    }
+
+    private static SslEndpointInfo failed() {
+        SslEndpointInfo endpoint = new SslEndpointInfo("192.0.2.2");
+        endpoint.setStatus("ERROR");
+        endpoint.setError("Connection refused");
+        return endpoint;
+    }
+
+    private X509Certificate generate(String alias) throws Exception {
+        Path store = fixtures.resolve(alias + ".p12");
+        Path pem = fixtures.resolve(alias + ".pem");
+        keytool("-genkeypair", "-alias", alias, "-keyalg", "EC", "-dname", "CN=" + alias + ".test", "-validity", "90",
+            "-storetype", "PKCS12", "-keystore", store.toString(), "-storepass", "changeit");
+        keytool("-exportcert", "-alias", alias, "-rfc", "-keystore", store.toString(), "-storepass", "changeit",
+            "-file", pem.toString());
+        try (InputStream in = Files.newInputStream(pem)) {
+            return (X509Certificate) CertificateFactory.getInstance("X.509").generateCertificate(in);
+        }
+    }
+
+    private static void keytool(String... arguments) throws IOException, InterruptedException {
+        String[] command = new String[arguments.length + 1];
+        command[0] = Path.of(System.getProperty("java.home"), "bin", "keytool").toString();
+        System.arraycopy(arguments, 0, command, 1, arguments.length);
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes());
+        assertEquals(0, process.waitFor(), output);
+    }
+}
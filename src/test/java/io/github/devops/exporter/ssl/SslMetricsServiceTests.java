@@ -0,0 +1,58 @@
+package io.github.devops.exporter.ssl;
+
+import io.github.devops.exporter.config.SslMonitorProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SslMetricsServiceTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SslMetricsService metricsService = new SslMetricsService(meterRegistry, new SslMonitorProperties());
+
+    @Test
+    void removesSeriesForRotatedAddressesAndCiphers() {
+        metricsService.updateSslMetrics(result(endpoint("192.0.2.1", "TLS_AES_128_GCM_SHA256"),
+            endpoint("192.0.2.2", "TLS_AES_128_GCM_SHA256")));
+        assertEquals(2, meterRegistry.find("ssl_endpoint_up").gauges().size());
+        assertEquals(2, meterRegistry.find("ssl_handshake_duration").timers().size());
+
+        // CDN 轮换了一个地址，另一个地址换了密码套件
+        metricsService.updateSslMetrics(result(endpoint("192.0.2.2", "TLS_AES_256_GCM_SHA384"),
+            endpoint("192.0.2.3", "TLS_AES_128_GCM_SHA256")));
+
+        assertNull(meterRegistry.find("ssl_endpoint_up").tag("ip", "192.0.2.1").gauge());
+        assertNull(meterRegistry.find("ssl_endpoint_session_resumed").tag("ip", "192.0.2.1").gauge());
+        assertNull(meterRegistry.find("ssl_handshake_duration").tag("ip", "192.0.2.1").timer());
+        assertEquals(2, meterRegistry.find("ssl_endpoint_up").gauges().size());
+        assertEquals(2, meterRegistry.find("ssl_endpoint_tls_negotiated").gauges().size());
+        assertEquals(1.0, meterRegistry.get("ssl_endpoint_tls_negotiated")
+            .tags("ip", "192.0.2.2", "cipher", "TLS_AES_256_GCM_SHA384").gauge().value());
+
+        metricsService.removeSslMetrics("example.test");
+        assertTrue(meterRegistry.find("ssl_endpoint_up").gauges().isEmpty());
+        assertTrue(meterRegistry.find("ssl_endpoint_tls_negotiated").gauges().isEmpty());
+        assertTrue(meterRegistry.find("ssl_handshake_duration").timers().isEmpty());
+    }
+
+    private static SslCertificateInfo result(SslEndpointInfo... endpoints) {
+        SslCertificateInfo info = new SslCertificateInfo("example.test");
+        info.setEndpoints(List.of(endpoints));
+        return info;
+    }
+
+    private static SslEndpointInfo endpoint(String ip, String cipherSuite) {
+        SslEndpointInfo endpoint = new SslEndpointInfo(ip);
+        endpoint.setStatus("OK");
+        endpoint.setProtocol("TLSv1.3");
+        endpoint.setCipherSuite(cipherSuite);
+        endpoint.setHandshakeNanos(5_000_000);
+        return endpoint;
+    }
+}
@@ -0,0 +1,128 @@
+package io.github.devops.exporter.ssl;
+
+import io.github.devops.exporter.config.SslMonitorProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLServerSocket;
+import javax.net.ssl.SSLSocket;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TlsProbeEngineTests {
+
+    @TempDir
+    Path fixtures;
+
+    private TlsProbeEngine engine;
+
+    @AfterEach
+    void tearDown() {
+        if (engine != null) {
+            engine.shutdown();
+        }
+    }
+
+    @Test
+    void silentServerHitsHandshakeDeadline() throws Exception {
+        SslMonitorProperties properties = new SslMonitorProperties();
+        properties.setReadTimeout(300);
+        engine = new TlsProbeEngine(properties, Runnable::run, new SimpleMeterRegistry());
+
+        // 接受连接但从不回应 ServerHello
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            long start = System.nanoTime();
+            CompletionException failure = assertThrows(CompletionException.class, () -> engine.probe("localhost",
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getLocalPort())).join());
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertEquals("TLS handshake timed out", failure.getCause().getMessage());
+            assertTrue(elapsedMillis >= 250 && elapsedMillis < 5000, "elapsed " + elapsedMillis + "ms");
+            try (Socket ignored = server.accept()) {
+                assertEquals(0, engine.getInFlight());
+            }
+        }
+    }
+
+    @Test
+    void handshakeTasksRunOnCallbackExecutor() throws Exception {
+        // keytool 生成 CN=localhost 的自签名证书，本地 TLS 服务端用它完成握手
+        Path store = fixtures.resolve("server.p12");
+        keytool("-genkeypair", "-alias", "server", "-keyalg", "EC", "-dname", "CN=localhost", "-validity", "30",
+            "-storetype", "PKCS12", "-keystore", store.toString(), "-storepass", "changeit");
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(store)) {
+            keyStore.load(in, "changeit".toCharArray());
+        }
+        KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(keyStore, "changeit".toCharArray());
+        SSLContext serverContext = SSLContext.getInstance("TLS");
+        serverContext.init(keyManagers.getKeyManagers(), null, null);
+
+        // 证书校验等握手任务和结果回调都提交到这个线程池，而不是在 selector 线程上执行
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        AtomicInteger submitted = new AtomicInteger();
+        engine = new TlsProbeEngine(new SslMonitorProperties(), task -> {
+            submitted.incrementAndGet();
+            pool.execute(task);
+        }, new SimpleMeterRegistry());
+
+        try (SSLServerSocket server = (SSLServerSocket) serverContext.getServerSocketFactory()
+            .createServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            // 开启会话恢复探测：第一条连接完整握手，第二条连接恢复会话
+            Thread acceptor = new Thread(() -> {
+                for (int i = 0; i < 2; i++) {
+                    try (SSLSocket socket = (SSLSocket) server.accept()) {
+                        socket.startHandshake();
+                        socket.getInputStream().read();
+                    } catch (IOException ignored) {
+                        // 探测拿到证书后直接断开
+                    }
+                }
+            });
+            acceptor.start();
+
+            TlsProbeResult result = engine.probe("localhost",
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getLocalPort()), true).join();
+
+            assertEquals("CN=localhost", result.getLeaf().getSubjectX500Principal().getName());
+            assertFalse(result.isTrusted());
+            assertTrue(result.getResumed(), String.valueOf(result.getResumptionError()));
+            assertTrue(submitted.get() >= 2, "submitted " + submitted.get());
+            assertEquals(0, engine.getInFlight());
+            acceptor.join(5000);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void keytool(String... arguments) throws IOException, InterruptedException {
+        String[] command = new String[arguments.length + 1];
+        command[0] = Path.of(System.getProperty("java.home"), "bin", "keytool").toString();
+        System.arraycopy(arguments, 0, command, 1, arguments.length);
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes());
+        assertEquals(0, process.waitFor(), output);
+    }
+}